@@ -2,6 +2,7 @@ package com.bryan.platform.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.web.client.RestTemplate;
 
 /**
@@ -10,6 +11,7 @@ import org.springframework.web.client.RestTemplate;
  * @author Bryan Long
  */
 @Configuration
+@EnableScheduling
 public class AppConfig {
 
     @Bean
@@ -1,18 +1,29 @@
 package com.bryan.platform.config;
 
+import com.bryan.platform.domain.entity.moment.Moment;
 import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostComment;
+import com.mongodb.client.result.UpdateResult;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.EnableCaching;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.data.mongodb.config.EnableMongoAuditing;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.aggregation.ArrayOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.index.IndexOperations;
 import org.springframework.data.mongodb.core.index.TextIndexDefinition;
 import org.springframework.data.mongodb.core.index.TextIndexDefinition.TextIndexDefinitionBuilder;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.event.EventListener;
 import org.springframework.boot.context.event.ApplicationReadyEvent;
 
+import java.util.Collections;
+
 /**
  * MongoConfig MongoDB 配置类，用于创建文本索引和启用审计功能。
  *
@@ -21,7 +32,6 @@ import org.springframework.boot.context.event.ApplicationReadyEvent;
 @Slf4j
 @Configuration
 @EnableMongoAuditing // 启用 Spring Data MongoDB 的审计功能，自动填充 @CreatedDate 和 @LastModifiedDate
-@EnableCaching // 启用 Spring Cache，如果你想在这里统一配置缓存，也可以在主启动类上
 public class MongoConfig {
 
     // 自动注入 Spring Boot 自动配置的 MongoTemplate
@@ -50,5 +60,88 @@ public class MongoConfig {
 
         // 可以在这里添加日志，确认索引是否已创建或存在
          log.info("MongoDB text index for Post collection ensured.");
+
+        // 动态内容文本索引，供动态全文搜索使用
+        mongoTemplate.indexOps(Moment.class).createIndex(new TextIndexDefinitionBuilder()
+                .onField("content")
+                .build());
+        log.info("MongoDB text index for Moment collection ensured.");
+    }
+
+    /**
+     * 确保博文与动态的游标分页索引存在：按 (创建时间, _id) 倒序定位，避免深分页 skip。
+     * 索引键使用存储字段名（博文为 createAt，动态为 created_at）。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureKeysetIndexes() {
+        IndexOperations postIndexOps = mongoTemplate.indexOps(Post.class);
+        postIndexOps.createIndex(new Index()
+                .on("status", Sort.Direction.ASC)
+                .on("createAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("idx_posts_status_created"));
+        postIndexOps.createIndex(new Index()
+                .on("authorId", Sort.Direction.ASC)
+                .on("createAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("idx_posts_author_created"));
+
+        IndexOperations momentIndexOps = mongoTemplate.indexOps(Moment.class);
+        momentIndexOps.createIndex(new Index()
+                .on("created_at", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("idx_moments_created"));
+        momentIndexOps.createIndex(new Index()
+                .on("authorId", Sort.Direction.ASC)
+                .on("created_at", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("idx_moments_author_created"));
+        log.info("MongoDB keyset pagination indexes for posts and moments ensured.");
+    }
+
+    /**
+     * 确保博文 slug 唯一索引存在。slug 分配依赖该索引拒绝并发冲突，已有重复数据时创建失败只记录错误。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureSlugIndex() {
+        try {
+            mongoTemplate.indexOps(Post.class).createIndex(new Index()
+                    .on("slug", Sort.Direction.ASC)
+                    .unique()
+                    .named("slug"));
+            log.info("MongoDB unique slug index for Post collection ensured.");
+        } catch (RuntimeException e) {
+            log.error("博文 slug 唯一索引创建失败，请先清理重复 slug", e);
+        }
+    }
+
+    /**
+     * 确保评论集合的分页索引存在：按博文过滤后以 (createdAt, _id) 倒序游标翻页。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensurePostCommentIndexes() {
+        mongoTemplate.indexOps(PostComment.class).createIndex(new Index()
+                .on("postId", Sort.Direction.ASC)
+                .on("createdAt", Sort.Direction.DESC)
+                .on("_id", Sort.Direction.DESC)
+                .named("idx_post_comments_post_created"));
+        log.info("MongoDB indexes for post_comments collection ensured.");
+    }
+
+    /**
+     * 为尚无 commentCount 字段的历史博文回填评论数（按内嵌评论数组长度），之后由评论新增/删除原子维护。
+     * 仅匹配缺少该字段的文档，重复执行无副作用。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillPostCommentCount() {
+        AggregationUpdate update = AggregationUpdate.update()
+                .set("commentCount")
+                .toValue(ArrayOperators.Size.lengthOfArray(
+                        ConditionalOperators.ifNull("comments").then(Collections.emptyList())));
+        UpdateResult result = mongoTemplate.updateMulti(
+                Query.query(Criteria.where("commentCount").exists(false)), update, Post.class);
+        if (result.getModifiedCount() > 0) {
+            log.info("已为 {} 篇历史博文回填 commentCount", result.getModifiedCount());
+        }
     }
 }
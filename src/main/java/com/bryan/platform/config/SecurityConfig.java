@@ -1,6 +1,8 @@
 package com.bryan.platform.config;
 
+import com.bryan.platform.config.properties.PasswordHashingProperties;
 import com.bryan.platform.filter.JwtAuthenticationFilter;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.method.configuration.EnableMethodSecurity;
@@ -18,6 +20,7 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
  *
  * @author Bryan Long
  */
+@Slf4j
 @Configuration
 @EnableWebSecurity
 @EnableMethodSecurity
@@ -31,7 +34,7 @@ public class SecurityConfig {
         http
                 .csrf(AbstractHttpConfigurer::disable)
                 .authorizeHttpRequests(auth -> auth
-                        .requestMatchers("/api/auth/login", "/api/auth/register").permitAll()
+                        .requestMatchers("/api/auth/login", "/api/auth/register", "/api/auth/refresh").permitAll()
                         .requestMatchers("/api/posts").permitAll()
                         .anyRequest().authenticated()
                 )
@@ -40,8 +43,38 @@ public class SecurityConfig {
         return http.build();
     }
 
+    /**
+     * BCrypt 编码器。未配置固定强度时，启动时在当前硬件上校准：
+     * 选取单次哈希耗时不超过目标耗时的最大强度（强度每加 1 耗时翻倍），并限制在配置的上下限之间。
+     * 强度写在哈希值中，调整强度不影响已有密码的校验。
+     */
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(PasswordHashingProperties properties) {
+        int strength = properties.getStrength() != null
+                ? properties.getStrength()
+                : calibrateStrength(properties);
+        log.info("BCrypt 强度: {}", strength);
+        return new BCryptPasswordEncoder(strength);
+    }
+
+    private static int calibrateStrength(PasswordHashingProperties properties) {
+        long targetNanos = properties.getTargetLatency().toNanos();
+        int min = properties.getMinStrength();
+        int max = properties.getMaxStrength();
+
+        // 以下限强度测量单次耗时（先预热一次），再按翻倍规律推算
+        int strength = min;
+        BCryptPasswordEncoder probe = new BCryptPasswordEncoder(min);
+        probe.encode("calibration");
+        long start = System.nanoTime();
+        probe.encode("calibration");
+        long elapsed = System.nanoTime() - start;
+        while (strength < max && elapsed * 2 <= targetNanos) {
+            strength++;
+            elapsed *= 2;
+        }
+        log.info("BCrypt 强度校准完成: strength={}, 预计单次耗时 {} ms, 目标 {} ms",
+                strength, elapsed / 1_000_000, properties.getTargetLatency().toMillis());
+        return strength;
     }
 }
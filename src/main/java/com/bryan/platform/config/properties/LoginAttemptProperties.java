@@ -0,0 +1,32 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * LoginAttemptProperties 登录失败限流配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.auth.login-attempt")
+@Getter
+@Setter
+public class LoginAttemptProperties {
+
+    /** 滑动窗口长度 */
+    private Duration window = Duration.ofMinutes(15);
+
+    /** 窗口内同一用户名允许的失败次数，达到后锁定账号 */
+    private int maxUserFailures = 5;
+
+    /** 窗口内同一 IP 允许的失败次数，达到后拒绝该 IP 的登录请求 */
+    private int maxIpFailures = 50;
+
+    /** 账号锁定时长，应与 SysUser#isAccountNonLocked 中的锁定时长一致 */
+    private Duration lockDuration = Duration.ofHours(1);
+}
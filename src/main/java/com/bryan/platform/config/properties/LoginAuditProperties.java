@@ -0,0 +1,29 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * LoginAuditProperties 登录审计异步写入配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.auth.login-audit")
+@Getter
+@Setter
+public class LoginAuditProperties {
+
+    /** 缓冲区容量，写满时丢弃最早的事件 */
+    private int bufferCapacity = 10_000;
+
+    /** 单批最大写入条数 */
+    private int batchSize = 500;
+
+    /** 后台写入间隔 */
+    private Duration flushInterval = Duration.ofSeconds(1);
+}
@@ -0,0 +1,41 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * PasswordHashingProperties 密码哈希线程池与 BCrypt 强度配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.auth.password-hashing")
+@Getter
+@Setter
+public class PasswordHashingProperties {
+
+    /** 哈希线程数，默认等于 CPU 核数 */
+    private int threads = Runtime.getRuntime().availableProcessors();
+
+    /** 等待队列容量，队列满时立即以 429 拒绝 */
+    private int queueCapacity = 64;
+
+    /** 请求线程等待哈希结果的最长时间，超时同样以 429 拒绝 */
+    private Duration waitTimeout = Duration.ofSeconds(3);
+
+    /** 固定 BCrypt 强度；为空时启动时按目标耗时自动校准 */
+    private Integer strength;
+
+    /** 自动校准的目标单次哈希耗时 */
+    private Duration targetLatency = Duration.ofMillis(100);
+
+    /** 自动校准的强度下限 */
+    private int minStrength = 10;
+
+    /** 自动校准的强度上限 */
+    private int maxStrength = 14;
+}
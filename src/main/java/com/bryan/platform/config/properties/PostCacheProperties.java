@@ -0,0 +1,32 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * PostCacheProperties 博文详情缓存配置（本地 L1 + Redis L2）
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.post.cache")
+@Getter
+@Setter
+public class PostCacheProperties {
+
+    /** 本地缓存最大条目数（按 ID 缓存的博文数，slug 映射同此上限） */
+    private long maximumSize = 10_000;
+
+    /** 本地缓存存活时间 */
+    private Duration localTtl = Duration.ofMinutes(1);
+
+    /** 是否启用 Redis 二级缓存 */
+    private boolean redisEnabled = true;
+
+    /** Redis 二级缓存存活时间 */
+    private Duration redisTtl = Duration.ofMinutes(10);
+}
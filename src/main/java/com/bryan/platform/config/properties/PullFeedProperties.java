@@ -0,0 +1,33 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * PullFeedProperties 关注博文拉取式读取（按作者游标归并）配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.feed.pull")
+@Getter
+@Setter
+public class PullFeedProperties {
+
+    /** 并行读取各作者博文的线程数 */
+    private int parallelism = 8;
+
+    /** 读取任务队列容量，队列满时由请求线程直接读取 */
+    private int queueCapacity = 1_000;
+
+    /** 单次读取同时提交到线程池（排队或执行中）的作者读取任务上限，避免一次读取占满共享线程池 */
+    private int maxInFlightPerRead = 8;
+
+    /** 每位作者每次读取的博文数（首批并行读取，某作者耗尽后按需续读） */
+    private int chunkSize = 5;
+
+    /** 参与归并的最大关注用户数 */
+    private int maxFollowees = 2_000;
+}
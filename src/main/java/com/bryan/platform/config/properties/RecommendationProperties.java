@@ -0,0 +1,38 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * RecommendationProperties 相关博文推荐配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.post.recommendation")
+@Getter
+@Setter
+public class RecommendationProperties {
+
+    /** 每篇博文保存的相似博文数 */
+    private int neighbours = 10;
+
+    /** 全量重算间隔 */
+    private Duration rebuildInterval = Duration.ofHours(1);
+
+    /** 全量重算的并行度，0 表示使用 CPU 核数的一半 */
+    private int parallelism = 0;
+
+    /** 每篇博文向量保留的最大词项数（按权重取前 N） */
+    private int maxTermsPerPost = 200;
+
+    /** 文档频率超过该比例的词项视为停用词，不参与相似度计算 */
+    private double maxDocFrequencyRatio = 0.5;
+
+    /** 标签相对正文词项的权重倍数 */
+    private double tagWeight = 3.0;
+}
@@ -0,0 +1,38 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * SearchProperties 全文搜索分页、结果缓存与进程内倒排索引配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.search")
+@Getter
+@Setter
+public class SearchProperties {
+
+    /** 结果页缓存最大条目数（关键词 + 页位置为一条） */
+    private long cacheMaximumSize = 1_000;
+
+    /** 结果页缓存存活时间，博文更新广播丢失时最迟在此时间后失效 */
+    private Duration cacheTtl = Duration.ofSeconds(60);
+
+    /** 允许翻到的最大偏移量，超出后不再返回下一页游标 */
+    private int maxOffset = 1_000;
+
+    /** 是否启用进程内倒排索引；关闭或索引尚未就绪时回退到 MongoDB 文本索引 */
+    private boolean indexEnabled = true;
+
+    /** 倒排索引快照目录 */
+    private String snapshotDir = "data/search-index";
+
+    /** 倒排索引快照间隔（索引有变化时才写出） */
+    private Duration snapshotInterval = Duration.ofMinutes(10);
+}
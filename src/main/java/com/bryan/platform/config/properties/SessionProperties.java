@@ -0,0 +1,21 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * SessionProperties 多设备登录会话配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.auth.session")
+@Getter
+@Setter
+public class SessionProperties {
+
+    /** 单个用户同时保留的最大会话数，超出时淘汰最早创建的会话 */
+    private int maxSessions = 10;
+}
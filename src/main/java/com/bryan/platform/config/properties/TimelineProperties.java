@@ -0,0 +1,53 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * TimelineProperties 关注时间线（推拉结合）配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.feed.timeline")
+@Getter
+@Setter
+public class TimelineProperties {
+
+    /** 每个用户时间线保留的最大条目数，超出后淘汰最旧条目 */
+    private int capacity = 800;
+
+    /** 时间线存活时间，每次读取时续期；过期后下次读取时重建 */
+    private Duration ttl = Duration.ofDays(7);
+
+    /** 推送时每批读取的粉丝数（每批一次 Redis 往返） */
+    private int fanoutBatchSize = 500;
+
+    /** 推送线程数 */
+    private int fanoutThreads = 2;
+
+    /** 推送任务队列容量 */
+    private int fanoutQueueCapacity = 10_000;
+
+    /** 队列满时发布线程等待入队的最长时间，超时则放弃推送（粉丝时间线重建时补齐） */
+    private Duration fanoutOfferTimeout = Duration.ofMillis(100);
+
+    /** 重建时间线时最多回源读取近期条目的关注用户数（关注列表本身完整写入，大 V 查找不受此限制） */
+    private int rebuildMaxFollowees = 2_000;
+
+    /** 粉丝数达到该值的作者视为大 V：发布时不推送，由读者读取时从其近期条目中拉取合并 */
+    private long celebrityThreshold = 10_000;
+
+    /** 每位作者保留的近期条目数（大 V 拉取合并的来源） */
+    private int authorRecentSize = 200;
+
+    /** 大 V 最后一次以大 V 身份发布后，其近期条目仍参与读取合并的时长（粉丝数回落后的过渡期） */
+    private Duration celebrityRetention = Duration.ofDays(30);
+
+    /** 本地缓存大 V 名单的刷新间隔 */
+    private Duration celebrityRefreshInterval = Duration.ofSeconds(30);
+}
@@ -0,0 +1,26 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * TokenCacheProperties Token 校验本地缓存配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.auth.token-cache")
+@Getter
+@Setter
+public class TokenCacheProperties {
+
+    /** 本地缓存最大条目数 */
+    private long maximumSize = 50_000;
+
+    /** 单条缓存最长存活时间，实际存活时间不超过 Token 剩余有效期 */
+    private Duration maxTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,26 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * TokenVersionProperties Token 版本号本地缓存配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.auth.token-version")
+@Getter
+@Setter
+public class TokenVersionProperties {
+
+    /** 本地缓存最大条目数 */
+    private long maximumSize = 100_000;
+
+    /** 本地缓存存活时间，广播丢失时版本变更最迟在此时间后生效 */
+    private Duration localTtl = Duration.ofSeconds(30);
+}
@@ -0,0 +1,41 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * TrendingProperties 热门博文排行（时间衰减得分）配置
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.post.trending")
+@Getter
+@Setter
+public class TrendingProperties {
+
+    /** 得分半衰期：一次互动的贡献每经过该时长减半 */
+    private Duration halfLife = Duration.ofHours(24);
+
+    /** 浏览的得分权重 */
+    private double viewWeight = 1.0;
+
+    /** 点赞的得分权重 */
+    private double likeWeight = 5.0;
+
+    /** 评论的得分权重 */
+    private double commentWeight = 6.0;
+
+    /** 分享的得分权重 */
+    private double shareWeight = 8.0;
+
+    /** 本地累计的得分增量写入 Redis 的间隔 */
+    private Duration flushInterval = Duration.ofSeconds(5);
+
+    /** 排行榜保留的最大博文数，超出部分按得分从低到高淘汰 */
+    private int maxSize = 10_000;
+}
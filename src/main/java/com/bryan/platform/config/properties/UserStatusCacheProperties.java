@@ -0,0 +1,32 @@
+package com.bryan.platform.config.properties;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * UserStatusCacheProperties 用户状态缓存配置（本地 L1 + Redis L2）
+ *
+ * @author Bryan Long
+ */
+@Component
+@ConfigurationProperties(prefix = "platform.auth.user-status-cache")
+@Getter
+@Setter
+public class UserStatusCacheProperties {
+
+    /** 本地缓存最大条目数 */
+    private long maximumSize = 100_000;
+
+    /** 本地缓存存活时间 */
+    private Duration localTtl = Duration.ofMinutes(1);
+
+    /** 是否启用 Redis 二级缓存 */
+    private boolean redisEnabled = true;
+
+    /** Redis 二级缓存存活时间 */
+    private Duration redisTtl = Duration.ofMinutes(30);
+}
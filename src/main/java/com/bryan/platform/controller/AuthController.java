@@ -3,16 +3,22 @@ package com.bryan.platform.controller;
 import com.bryan.platform.domain.entity.user.SysUser;
 import com.bryan.platform.domain.response.Result;
 import com.bryan.platform.domain.request.auth.LoginRequest;
+import com.bryan.platform.domain.request.auth.RefreshTokenRequest;
 import com.bryan.platform.domain.request.auth.RegisterRequest;
+import com.bryan.platform.domain.vo.TokenVO;
+import com.bryan.platform.domain.vo.UserSessionVO;
 import com.bryan.platform.service.user.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
+
 /**
  * 控制器：认证与授权接口
  * 提供用户注册、登录、当前用户信息获取及 Token 校验等接口。
@@ -47,15 +53,26 @@ public class AuthController {
      * 用户登录接口
      *
      * @param loginRequest 用户登录信息，包括用户名和密码
-     * @return 登录成功后生成的 JWT Token 字符串封装在统一响应结构中
+     * @return 登录成功后生成的访问 Token 与刷新 Token 封装在统一响应结构中
      */
     @PostMapping("/login")
-    public Result<String> login(@RequestBody @Valid LoginRequest loginRequest) {
+    public Result<TokenVO> login(@RequestBody @Valid LoginRequest loginRequest) {
         // 1. 调用认证服务进行登录验证
-        String token = authService.login(loginRequest);
+        TokenVO tokens = authService.login(loginRequest);
 
-        // 2. 返回生成的 JWT Token
-        return Result.success(token);
+        // 2. 返回生成的 Token 对
+        return Result.success(tokens);
+    }
+
+    /**
+     * 刷新 Token 接口：使用刷新 Token 换取新的 Token 对，旧刷新 Token 随即失效
+     *
+     * @param request 刷新请求，包含刷新 Token
+     * @return 新的访问 Token 与刷新 Token
+     */
+    @PostMapping("/refresh")
+    public Result<TokenVO> refresh(@RequestBody @Valid RefreshTokenRequest request) {
+        return Result.success(authService.refresh(request.getRefreshToken()));
     }
 
     /**
@@ -82,6 +99,49 @@ public class AuthController {
         return authService.logout();
     }
 
+    /**
+     * 退出所有设备，当前用户此前签发的 Token 全部失效
+     *
+     * @return boolean 是否退出登录
+     */
+    @PostMapping("/logout/all")
+    public Result<Boolean> logoutAll() {
+        return Result.success(authService.logoutAll());
+    }
+
+    /**
+     * 吊销全部用户的 Token，所有用户需重新登录（密钥轮换等场景）
+     *
+     * @return 新的全局 Token 版本号
+     */
+    @PostMapping("/tokens/revoke-all")
+    @PreAuthorize("hasRole('ADMIN')")
+    public Result<Long> revokeAllTokens() {
+        return Result.success(authService.revokeAllTokens());
+    }
+
+    /**
+     * 列出当前用户的所有登录会话（设备）
+     *
+     * @return 会话列表，current 标记发起本次请求的会话
+     */
+    @GetMapping("/sessions")
+    public Result<List<UserSessionVO>> listSessions() {
+        return Result.success(authService.listSessions());
+    }
+
+    /**
+     * 撤销当前用户的指定会话，对应设备的 Token 立即失效
+     *
+     * @param sessionId 会话 ID
+     * @return 操作结果
+     */
+    @DeleteMapping("/sessions/{sessionId}")
+    public Result<String> revokeSession(@PathVariable String sessionId) {
+        authService.revokeSession(sessionId);
+        return Result.success("会话已撤销");
+    }
+
     /**
      * 验证 Token 合法性及用户状态
      *
@@ -1,9 +1,10 @@
 package com.bryan.platform.controller;
 
-import com.bryan.platform.domain.entity.user.SysUser;
 import com.bryan.platform.domain.enums.HttpStatus;
 import com.bryan.platform.domain.entity.moment.Moment;
+import com.bryan.platform.domain.response.CursorPageResult;
 import com.bryan.platform.domain.response.Result;
+import com.bryan.platform.domain.vo.SearchHitVO;
 import com.bryan.platform.service.moment.MomentService;
 import com.bryan.platform.service.user.AuthService;
 import lombok.RequiredArgsConstructor;
@@ -41,17 +42,14 @@ public class MomentController {
      */
     @PostMapping
     public Result<Moment> createMoment(@RequestBody Moment moment) {
-        // 1. 获取当前用户信息
-        SysUser currentUser = authService.getCurrentUser();
+        // 1. 设置作者信息（直接读取请求级认证主体，无需查询数据库）
+        moment.setAuthorId(authService.getCurrentUserId());
+        moment.setAuthorName(authService.getCurrentUsername());
 
-        // 2. 设置作者信息
-        moment.setAuthorId(currentUser.getId());
-        moment.setAuthorName(currentUser.getUsername());
-
-        // 3. 执行业务逻辑
+        // 2. 执行业务逻辑
         Moment savedMoment = momentService.save(moment);
 
-        // 4. 返回成功响应
+        // 3. 返回成功响应
         return Result.success(savedMoment);
     }
 
@@ -83,6 +81,20 @@ public class MomentController {
         return Result.success(moments);
     }
 
+    /**
+     * 游标分页查询所有动态（公开接口，按创建时间倒序）
+     *
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size 每页数量（默认10）
+     * @return 游标分页结果
+     */
+    @GetMapping("/cursor")
+    public Result<CursorPageResult<Moment>> getAllMomentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return Result.success(momentService.findAll(cursor, size));
+    }
+
     /**
      * 获取动态详情（公开接口）
      *
@@ -121,6 +133,22 @@ public class MomentController {
         return Result.success(moments);
     }
 
+    /**
+     * 游标分页获取用户动态列表（公开接口，按创建时间倒序）
+     *
+     * @param userId 用户ID
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size 每页数量（默认10）
+     * @return 游标分页结果
+     */
+    @GetMapping("/user/{userId}/cursor")
+    public Result<CursorPageResult<Moment>> getUserMomentsByCursor(
+            @PathVariable Long userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return Result.success(momentService.findByUserId(userId, cursor, size));
+    }
+
     /**
      * 获取当前用户动态列表（需登录）
      *
@@ -163,6 +191,20 @@ public class MomentController {
         return Result.success(momentService.findFollowingMoments(currentUserId, pageable));
     }
 
+    /**
+     * 游标分页获取好友动态流（需登录，关注时间线，按创建时间倒序）
+     *
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size 每页数量（默认10）
+     * @return 游标分页结果
+     */
+    @GetMapping("/following/cursor")
+    public Result<CursorPageResult<Moment>> getFollowingMomentsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return Result.success(momentService.findFollowingMoments(authService.getCurrentUserId(), cursor, size));
+    }
+
     /**
      * 批量获取动态（公开接口）
      *
@@ -208,24 +250,25 @@ public class MomentController {
     }
 
     /**
-     * 搜索动态内容（公开接口）
+     * 搜索动态内容（公开接口，按相关度排序，游标分页）
      *
      * @param keyword 搜索关键词
-     * @return 匹配结果列表
-     * @throws IllegalArgumentException 如果关键词为空
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size 每页数量（默认10）
+     * @return 命中项游标分页结果
      */
     @GetMapping("/search")
-    public Result<List<Moment>> searchMoments(@RequestParam String keyword) {
+    public Result<CursorPageResult<SearchHitVO<Moment>>> searchMoments(
+            @RequestParam String keyword,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
         // 1. 参数校验
         if (keyword == null || keyword.trim().isEmpty()) {
             return Result.error(HttpStatus.BAD_REQUEST, "搜索关键词不能为空");
         }
 
         // 2. 执行搜索
-        List<Moment> moments = momentService.searchByContent(keyword);
-
-        // 3. 返回结果
-        return Result.success(moments);
+        return Result.success(momentService.search(keyword, cursor, size));
     }
 
     /**
@@ -3,9 +3,21 @@ package com.bryan.platform.controller;
 import com.bryan.platform.domain.response.Result;
 import com.bryan.platform.domain.entity.Comment;
 import com.bryan.platform.domain.entity.post.Post;
-import com.bryan.platform.domain.entity.user.SysUser;
+import com.bryan.platform.domain.entity.post.PostComment;
+import com.bryan.platform.domain.entity.post.PostSummary;
+import com.bryan.platform.domain.response.CursorPageResult;
+import com.bryan.platform.domain.enums.HttpStatus;
+import com.bryan.platform.domain.vo.CommentResultVO;
+import com.bryan.platform.domain.vo.ReactionResultVO;
+import com.bryan.platform.domain.vo.RelatedPostVO;
+import com.bryan.platform.domain.vo.SearchHitVO;
+import com.bryan.platform.service.feed.PullFeedService;
 import com.bryan.platform.service.user.AuthService;
+import com.bryan.platform.service.post.PostCommentService;
+import com.bryan.platform.service.post.PostReactionService;
+import com.bryan.platform.service.post.PostSearchService;
 import com.bryan.platform.service.post.PostService;
+import com.bryan.platform.util.page.CursorUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
@@ -17,6 +29,7 @@ import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Map;
 
 /**
  * 控制器：博文管理接口
@@ -30,6 +43,10 @@ import java.util.List;
 public class PostController {
 
     private final PostService postService;
+    private final PostCommentService postCommentService;
+    private final PostSearchService postSearchService;
+    private final PostReactionService postReactionService;
+    private final PullFeedService pullFeedService;
     private final AuthService authService;
 
     /**
@@ -40,10 +57,8 @@ public class PostController {
      */
     @PostMapping("/post")
     public Result<Post> createPost(@RequestBody Post post) {
-        // 1. 获取当前用户信息
-        SysUser currentUser = authService.getCurrentUser();
-        // 2. 创建博文
-        return Result.success(postService.createPost(post, currentUser.getId(), currentUser.getUsername()));
+        // 1. 创建博文（作者信息直接读取请求级认证主体）
+        return Result.success(postService.createPost(post, authService.getCurrentUserId(), authService.getCurrentUsername()));
     }
 
     /**
@@ -57,7 +72,7 @@ public class PostController {
      */
     @GetMapping("/admin/all")
     @PreAuthorize("hasRole('ADMIN')")
-    public Result<Page<Post>> getAllPosts(
+    public Result<Page<PostSummary>> getAllPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -78,7 +93,7 @@ public class PostController {
      * @return 分页博文列表
      */
     @GetMapping
-    public Result<Page<Post>> getAllPublishedPosts(
+    public Result<Page<PostSummary>> getAllPublishedPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -89,6 +104,20 @@ public class PostController {
         return Result.success(postService.getPublishedPosts(pageable));
     }
 
+    /**
+     * 游标分页获取已发布博文（按创建时间倒序，翻页代价与深度无关）。
+     *
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size   每页大小，默认 10
+     * @return 博文摘要游标分页数据
+     */
+    @GetMapping("/cursor")
+    public Result<CursorPageResult<PostSummary>> getPublishedPostsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return Result.success(postService.getPublishedPosts(cursor, size));
+    }
+
     /**
      * 根据博文 ID 获取详情。
      *
@@ -101,6 +130,83 @@ public class PostController {
         return Result.success(postService.getPostById(id));
     }
 
+    /**
+     * 获取热门博文列表（按时间衰减热度降序，游标分页）。
+     *
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size 每页数量（默认10）
+     * @return 博文摘要游标分页结果
+     */
+    @GetMapping("/trending")
+    public Result<CursorPageResult<PostSummary>> getTrendingPosts(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return Result.success(postService.getTrendingPosts(cursor, size));
+    }
+
+    /**
+     * 点赞博文（幂等）。
+     *
+     * @param id 博文 ID
+     * @return 点赞状态与最新点赞数
+     */
+    @PostMapping("/{id}/like")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Result<ReactionResultVO> likePost(@PathVariable String id) {
+        return Result.success(postReactionService.like(id, authService.getCurrentUserId()));
+    }
+
+    /**
+     * 取消点赞（幂等）。
+     *
+     * @param id 博文 ID
+     * @return 点赞状态与最新点赞数
+     */
+    @DeleteMapping("/{id}/like")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Result<ReactionResultVO> unlikePost(@PathVariable String id) {
+        return Result.success(postReactionService.unlike(id, authService.getCurrentUserId()));
+    }
+
+    /**
+     * 查询当前用户是否已点赞博文。
+     *
+     * @param id 博文 ID
+     * @return 已点赞返回 true
+     */
+    @GetMapping("/{id}/like")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Result<Boolean> isPostLiked(@PathVariable String id) {
+        return Result.success(postReactionService.isLiked(id, authService.getCurrentUserId()));
+    }
+
+    /**
+     * 批量查询当前用户是否已点赞一组博文（供列表页使用）。
+     *
+     * @param ids 博文 ID 列表
+     * @return 博文 ID → 是否已点赞
+     */
+    @GetMapping("/liked")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Result<Map<String, Boolean>> getLikedPosts(@RequestParam List<String> ids) {
+        if (ids.size() > CursorUtils.MAX_PAGE_SIZE) {
+            return Result.error(HttpStatus.BAD_REQUEST, "单次最多查询 " + CursorUtils.MAX_PAGE_SIZE + " 篇博文");
+        }
+        return Result.success(postReactionService.likedByUser(ids, authService.getCurrentUserId()));
+    }
+
+    /**
+     * 分享博文，同一用户多次分享只计一次。
+     *
+     * @param id 博文 ID
+     * @return 分享状态与最新分享数
+     */
+    @PostMapping("/{id}/share")
+    @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
+    public Result<ReactionResultVO> sharePost(@PathVariable String id) {
+        return Result.success(postReactionService.share(id, authService.getCurrentUserId()));
+    }
+
     /**
      * 根据 Slug 获取博文，并自动增加浏览量。
      *
@@ -112,7 +218,7 @@ public class PostController {
         // 1. 查询博文
         Post post = postService.getPostBySlug(slug);
         // 2. 增加浏览量
-        postService.incrementViews(post.getId());
+        postService.incrementViews(post);
         // 3. 返回结果
         return Result.success(post);
     }
@@ -128,7 +234,7 @@ public class PostController {
      * @return 作者发布的博文分页数据
      */
     @GetMapping("/author/{authorId}")
-    public Result<Page<Post>> getPostsByAuthorId(
+    public Result<Page<PostSummary>> getPostsByAuthorId(
             @PathVariable Long authorId,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
@@ -140,6 +246,22 @@ public class PostController {
         return Result.success(postService.getPostsByAuthorId(authorId, pageable));
     }
 
+    /**
+     * 游标分页获取指定作者的博文（按创建时间倒序）。
+     *
+     * @param authorId 作者用户 ID
+     * @param cursor   上一页返回的游标，第一页不传
+     * @param size     每页大小，默认 10
+     * @return 博文摘要游标分页数据
+     */
+    @GetMapping("/author/{authorId}/cursor")
+    public Result<CursorPageResult<PostSummary>> getPostsByAuthorIdByCursor(
+            @PathVariable Long authorId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return Result.success(postService.getPostsByAuthorId(authorId, cursor, size));
+    }
+
     /**
      * 获取当前登录用户的博文列表。
      *
@@ -151,7 +273,7 @@ public class PostController {
      */
     @GetMapping("/me")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public Result<Page<Post>> getMyPosts(
+    public Result<Page<PostSummary>> getMyPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -174,7 +296,7 @@ public class PostController {
      * @return 被关注用户的博文分页数据
      */
     @GetMapping("/following")
-    public Result<Page<Post>> getFollowingPosts(
+    public Result<Page<PostSummary>> getFollowingPosts(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -184,10 +306,38 @@ public class PostController {
         // 2. 构造分页对象
         Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.fromString(sortDir), sortBy));
         // 3. 获取关注博文
-        Page<Post> posts = postService.getFollowingPosts(currentUserId, pageable);
+        Page<PostSummary> posts = postService.getFollowingPosts(currentUserId, pageable);
         return Result.success(posts);
     }
 
+    /**
+     * 游标分页获取关注用户发布的博文（关注时间线，按创建时间倒序）。
+     *
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size   每页大小
+     * @return 博文摘要游标分页结果
+     */
+    @GetMapping("/following/cursor")
+    public Result<CursorPageResult<PostSummary>> getFollowingPostsByCursor(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return Result.success(postService.getFollowingPosts(authService.getCurrentUserId(), cursor, size));
+    }
+
+    /**
+     * 游标分页获取关注用户发布的博文（拉取式读取：按作者游标 k 路归并，按创建时间倒序）。
+     *
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size   每页大小
+     * @return 博文摘要游标分页结果
+     */
+    @GetMapping("/following/pull")
+    public Result<CursorPageResult<PostSummary>> getFollowingPostsByPull(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        return Result.success(pullFeedService.read(authService.getCurrentUserId(), cursor, size));
+    }
+
     /**
      * 更新博文。
      *
@@ -229,24 +379,39 @@ public class PostController {
         return Result.success(null);
     }
 
+    /**
+     * 游标分页获取指定博文的评论（按创建时间倒序）。
+     *
+     * @param postId 博文 ID
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size   每页大小
+     * @return 评论分页数据
+     */
+    @GetMapping("/{postId}/comments")
+    public Result<CursorPageResult<PostComment>> getComments(
+            @PathVariable String postId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        return Result.success(postCommentService.getComments(postId, cursor, size));
+    }
+
     /**
      * 添加评论到指定博文。
      *
      * @param postId  博文 ID
      * @param comment 评论内容
-     * @return 更新后的博文（含新评论）
+     * @return 新增的评论与博文最新评论数
      */
     @PostMapping("/{postId}/comments")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public Result<Post> addComment(
+    public Result<CommentResultVO> addComment(
             @PathVariable String postId,
             @RequestBody Comment comment) {
         // 1. 获取当前用户信息
-        SysUser currentUser = authService.getCurrentUser();
-        Long authorId = currentUser.getId();
-        String authorName = currentUser.getUsername();
+        Long authorId = authService.getCurrentUserId();
+        String authorName = authService.getCurrentUsername();
         // 2. 添加评论
-        return Result.success(postService.addComment(postId, comment, authorId, authorName));
+        return Result.success(postCommentService.addComment(postId, comment, authorId, authorName));
     }
 
     /**
@@ -255,11 +420,11 @@ public class PostController {
      * @param postId    博文 ID
      * @param commentId 评论 ID
      * @param userDetails 当前用户信息
-     * @return 更新后的博文
+     * @return 被删除的评论与博文最新评论数
      */
     @DeleteMapping("/{postId}/comments/{commentId}")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
-    public Result<Post> deleteComment(
+    public Result<CommentResultVO> deleteComment(
             @PathVariable String postId,
             @PathVariable String commentId,
             @AuthenticationPrincipal UserDetails userDetails) {
@@ -267,20 +432,28 @@ public class PostController {
         Long currentUserId = authService.getCurrentUserId();
         boolean isAdmin = authService.isAdmin(userDetails);
         // 2. 删除评论
-        Post updatedPost = postService.deleteComment(postId, commentId, currentUserId, isAdmin);
-        return Result.success(updatedPost);
+        return Result.success(postCommentService.deleteComment(postId, commentId, currentUserId, isAdmin));
     }
 
     /**
-     * 博文全文搜索。
+     * 博文全文搜索（按相关度排序，游标分页，返回摘要与高亮片段）。
      *
-     * @param query 搜索关键词
-     * @return 匹配结果列表
+     * @param query  搜索关键词
+     * @param cursor 上一页返回的游标，第一页不传
+     * @param size   每页大小，默认 10
+     * @return 命中项游标分页数据
      */
     @GetMapping("/search")
-    public Result<List<Post>> searchPosts(@RequestParam String query) {
-        // 1. 执行全文搜索
-        return Result.success(postService.fullTextSearch(query));
+    public Result<CursorPageResult<SearchHitVO<PostSummary>>> searchPosts(
+            @RequestParam String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "10") int size) {
+        // 1. 参数校验
+        if (query.isBlank()) {
+            return Result.error(HttpStatus.BAD_REQUEST, "搜索关键词不能为空");
+        }
+        // 2. 执行全文搜索
+        return Result.success(postSearchService.search(query, cursor, size));
     }
 
     /**
@@ -291,11 +464,11 @@ public class PostController {
      * @return 推荐结果列表
      */
     @GetMapping("/recommendations/{currentPostId}")
-    public Result<List<Post>> getRecommendations(
+    public Result<List<RelatedPostVO>> getRecommendations(
             @PathVariable String currentPostId,
             @RequestParam(defaultValue = "5") int limit) {
         // 1. 获取推荐博文
-        List<Post> recommendedPosts = postService.recommendPosts(currentPostId, limit);
+        List<RelatedPostVO> recommendedPosts = postService.recommendPosts(currentPostId, limit);
         return Result.success(recommendedPosts);
     }
 }
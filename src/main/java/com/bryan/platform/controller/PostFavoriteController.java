@@ -4,7 +4,7 @@ import com.bryan.platform.domain.response.Result;
 import com.bryan.platform.domain.enums.HttpStatus;
 import com.bryan.platform.service.user.AuthService;
 import com.bryan.platform.domain.request.post.PostFavoriteAddRequest;
-import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostSummary;
 import com.bryan.platform.service.post.PostFavoriteService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -66,7 +66,7 @@ public class PostFavoriteController {
      * @return 分页的收藏博文列表结果
      */
     @GetMapping("/{userId}")
-    public Result<Page<Post>> getFavoritesByUserId(
+    public Result<Page<PostSummary>> getFavoritesByUserId(
             @PathVariable Long userId,
             @PageableDefault(size = 10, sort = {"createdAt"}, direction = Sort.Direction.DESC) Pageable pageable) {
         // 1. 获取当前登录用户ID，进行权限校验
@@ -80,7 +80,7 @@ public class PostFavoriteController {
         log.info("用户ID: {} 请求获取用户ID: {} 的收藏列表，分页信息: {}", currentUserId, userId, pageable);
 
         // 3. 调用服务获取收藏列表
-        Page<Post> favoritePosts = postFavoriteService.getFavoritePostsByUserId(userId, pageable);
+        Page<PostSummary> favoritePosts = postFavoriteService.getFavoritePostsByUserId(userId, pageable);
 
         // 4. 返回成功结果
         return Result.success(favoritePosts);
@@ -1,10 +1,17 @@
 package com.bryan.platform.domain.converter;
 
+import com.bryan.platform.domain.dto.UserStatusDTO;
 import com.bryan.platform.domain.entity.user.SysUser;
 import com.bryan.platform.domain.entity.user.UserProfile;
+import com.bryan.platform.domain.entity.user.UserSession;
 import com.bryan.platform.domain.enums.UserStatusEnum;
 import com.bryan.platform.domain.vo.UserExportVO;
 import com.bryan.platform.domain.vo.UserProfileVO;
+import com.bryan.platform.domain.vo.UserSessionVO;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 
 /**
  * UserConvert
@@ -56,6 +63,55 @@ public class UserConverter {
                 .build();
     }
 
+    public static UserSessionVO toSessionVO(UserSession session, String currentSessionId) {
+        if (session == null) {
+            return null;
+        }
+
+        return UserSessionVO.builder()
+                .sessionId(session.getSessionId())
+                .os(session.getOs())
+                .browser(session.getBrowser())
+                .ip(session.getIp())
+                .createdAt(toLocalDateTime(session.getCreatedAt()))
+                .expiresAt(toLocalDateTime(session.getExpiresAt()))
+                .current(session.getSessionId().equals(currentSessionId))
+                .build();
+    }
+
+    public static UserStatusDTO toStatusDTO(SysUser user) {
+        if (user == null) {
+            return null;
+        }
+
+        return UserStatusDTO.builder()
+                .id(user.getId())
+                .username(user.getUsername())
+                .roles(user.getRoles())
+                .status(user.getStatus())
+                .lockedAt(user.getLockedAt())
+                .deleted(user.getDeleted())
+                .build();
+    }
+
+    /**
+     * 由状态快照构建认证主体用户（不含密码等敏感字段），供 Spring Security 上下文使用。
+     */
+    public static SysUser toPrincipalUser(UserStatusDTO status) {
+        if (status == null) {
+            return null;
+        }
+
+        return SysUser.builder()
+                .id(status.getId())
+                .username(status.getUsername())
+                .roles(status.getRoles())
+                .status(status.getStatus())
+                .lockedAt(status.getLockedAt())
+                .deleted(status.getDeleted())
+                .build();
+    }
+
     private static String convertStatus(UserStatusEnum status) {
         if (status == null) return "";
         return switch (status) {
@@ -71,4 +127,8 @@ public class UserConverter {
         if (deleted == null) return "";
         return deleted == 0 ? "未删除" : "已删除";
     }
+
+    private static LocalDateTime toLocalDateTime(long epochMilli) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMilli), ZoneId.systemDefault());
+    }
 }
@@ -0,0 +1,33 @@
+package com.bryan.platform.domain.dto;
+
+import com.bryan.platform.domain.enums.UserStatusEnum;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserStatusDTO 用户状态快照，仅包含认证过滤器校验账户状态所需的字段
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserStatusDTO {
+
+    private Long id;
+
+    private String username;
+
+    private String roles;
+
+    private UserStatusEnum status;
+
+    private LocalDateTime lockedAt;
+
+    private Integer deleted;
+}
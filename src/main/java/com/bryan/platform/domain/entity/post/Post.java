@@ -1,6 +1,5 @@
 package com.bryan.platform.domain.entity.post;
 
-import com.bryan.platform.domain.entity.Comment;
 import com.bryan.platform.domain.enums.PostStatusEnum;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -27,7 +26,7 @@ import java.util.List;
 @Data
 @Document(collection = "posts") // 映射到 MongoDB 的 'posts' 集合
 @CompoundIndex(def = "{'title': 'text', 'content': 'text'}") // MongoDB 全文索引定义
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 public class Post implements Serializable {
@@ -46,6 +45,10 @@ public class Post implements Serializable {
     @Field("content")
     private String content;
 
+    // 纯文本摘要，保存正文时预先生成，供列表页投影读取
+    @Field("excerpt")
+    private String excerpt;
+
 //    @DBRef // 引用用户文档，【已移除】
 //    private User author; // 作者，通过 @DBRef 引用用户集合中的文档
 
@@ -59,9 +62,9 @@ public class Post implements Serializable {
     @Field("tags")
     private List<String> tags = new ArrayList<>(); // 标签列表
 
-    // 评论列表，作为内嵌文档存储在 Post 文档中
-    @Field("comments")
-    private List<Comment> comments = new ArrayList<>();
+    // 评论数，随评论的新增/删除原子维护；评论本身存储在 post_comments 集合
+    @Field("commentCount")
+    private int commentCount;
 
     @Field("featuredImage")
     private String featuredImage; // 封面图片URL
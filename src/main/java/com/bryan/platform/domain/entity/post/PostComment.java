@@ -0,0 +1,43 @@
+package com.bryan.platform.domain.entity.post;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 博文评论，独立存储在 post_comments 集合中（不再内嵌在博文文档里）。
+ * 索引 (postId, createdAt, _id) 在 MongoConfig 中创建，支撑按博文的游标分页。
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "post_comments")
+public class PostComment implements Serializable {
+
+    @Id // 新评论由应用生成 UUID；迁移的历史评论沿用原内嵌评论 ID
+    private String id;
+
+    @Field("postId")
+    private String postId; // 所属博文ID
+
+    private String content;
+
+    @Field("authorId")
+    private Long authorId; // 存储 PostgreSQL 中的用户ID
+
+    @Field("authorName")
+    private String authorName; // 存储用户的显示名称（用户名）
+
+    @Field("createdAt")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,67 @@
+package com.bryan.platform.domain.entity.post;
+
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 博文摘要读模型，映射 posts 集合中列表页所需的字段（不含正文）。
+ * <p>
+ * 字段名与 {@link Post} 的存储字段一致，查询时通过字段投影只取回这些字段。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Data
+public class PostSummary implements Serializable {
+
+    /** 投影字段（Java 属性名，查询时映射为存储字段名） */
+    public static final String[] FIELDS = {
+            "slug", "title", "excerpt", "tags", "authorId", "authorName", "featuredImage",
+            "status", "stats", "commentCount", "createdAt", "updatedAt"
+    };
+
+    @Id
+    private String id;
+
+    @Field("slug")
+    private String slug;
+
+    @Field("title")
+    private String title;
+
+    @Field("excerpt")
+    private String excerpt; // 写入时预先生成的纯文本摘要
+
+    @Field("tags")
+    private List<String> tags;
+
+    @Field("authorId")
+    private Long authorId;
+
+    @Field("authorName")
+    private String authorName;
+
+    @Field("featuredImage")
+    private String featuredImage;
+
+    @Field("status")
+    private PostStatusEnum status;
+
+    @Field("stats")
+    private Post.PostStats stats;
+
+    @Field("commentCount")
+    private int commentCount;
+
+    @Field("createAt")
+    private LocalDateTime createdAt;
+
+    @Field("updateAt")
+    private LocalDateTime updatedAt;
+}
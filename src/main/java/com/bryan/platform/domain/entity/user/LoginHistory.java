@@ -0,0 +1,36 @@
+package com.bryan.platform.domain.entity.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * 登录历史实体
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoginHistory implements Serializable {
+
+    private Long id;
+
+    private Long userId; // 用户ID
+
+    private String username; // 用户名
+
+    private String ip; // 登录IP
+
+    private String os; // 操作系统
+
+    private String browser; // 浏览器
+
+    /** 登录时间 */
+    private LocalDateTime loginAt;
+}
@@ -0,0 +1,49 @@
+package com.bryan.platform.domain.entity.user;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * 用户登录会话，存储在 Redis Hash "auth:sessions:{userId}" 中，字段名为会话 ID（即 Token 的 jti）。
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSession implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /** 会话 ID（jti） */
+    private String sessionId;
+
+    /** 用户 ID */
+    private Long userId;
+
+    /** 当前有效访问 Token 的指纹，见 JwtUtils#fingerprint */
+    private String fingerprint;
+
+    /** 当前有效刷新 Token 的指纹，刷新时轮换 */
+    private String refreshFingerprint;
+
+    /** 登录设备操作系统 */
+    private String os;
+
+    /** 登录浏览器 */
+    private String browser;
+
+    /** 登录 IP */
+    private String ip;
+
+    /** 创建时间（毫秒时间戳） */
+    private long createdAt;
+
+    /** 过期时间（毫秒时间戳），与当前刷新 Token 的过期时间一致，每次刷新顺延 */
+    private long expiresAt;
+}
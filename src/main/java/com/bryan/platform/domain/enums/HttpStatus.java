@@ -37,6 +37,16 @@ public enum HttpStatus {
      */
     NOT_FOUND(404, "资源不存在"),
 
+    /**
+     * 请求过多，服务端资源饱和，客户端应稍后重试。
+     */
+    TOO_MANY_REQUESTS(429, "请求过多，请稍后重试"),
+
+    /**
+     * 依赖的服务暂不可用，客户端应稍后重试。
+     */
+    SERVICE_UNAVAILABLE(503, "服务暂不可用，请稍后重试"),
+
     /**
      * 服务器内部错误或未知异常。
      */
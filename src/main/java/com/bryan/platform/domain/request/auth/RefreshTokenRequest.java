@@ -0,0 +1,15 @@
+package com.bryan.platform.domain.request.auth;
+
+import jakarta.validation.constraints.NotBlank;
+import lombok.Getter;
+
+/**
+ * 刷新 Token 请求对象
+ *
+ * @author Bryan Long
+ */
+@Getter
+public class RefreshTokenRequest {
+    @NotBlank(message = "刷新Token不能为空")
+    private String refreshToken;
+}
@@ -0,0 +1,46 @@
+package com.bryan.platform.domain.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serial;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * CursorPageResult 通用游标分页返回对象
+ *
+ * @author Bryan Long
+ * @param <T> 数据类型
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorPageResult<T> implements Serializable {
+
+    @Serial
+    private static final long serialVersionUID = 1L;
+
+    /** 当前页数据 */
+    @Builder.Default
+    private List<T> rows = Collections.emptyList();
+
+    /** 下一页游标，没有更多数据时为 null */
+    private String nextCursor;
+
+    /** 是否还有更多数据 */
+    private boolean hasMore;
+
+    /** 快速构造 */
+    public static <T> CursorPageResult<T> of(List<T> rows, String nextCursor) {
+        return CursorPageResult.<T>builder()
+                .rows(rows)
+                .nextCursor(nextCursor)
+                .hasMore(nextCursor != null)
+                .build();
+    }
+}
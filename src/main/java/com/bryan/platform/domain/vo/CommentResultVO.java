@@ -0,0 +1,19 @@
+package com.bryan.platform.domain.vo;
+
+import com.bryan.platform.domain.entity.post.PostComment;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * CommentResultVO 评论新增/删除结果：受影响的评论与博文最新评论数
+ *
+ * @author Bryan Long
+ */
+@Data
+@AllArgsConstructor
+public class CommentResultVO {
+
+    private PostComment comment;
+
+    private int commentCount;
+}
@@ -0,0 +1,18 @@
+package com.bryan.platform.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * ReactionResultVO 点赞/分享操作结果：当前用户是否已点赞（分享）与博文最新计数
+ *
+ * @author Bryan Long
+ */
+@Data
+@AllArgsConstructor
+public class ReactionResultVO {
+
+    private boolean active;
+
+    private long count;
+}
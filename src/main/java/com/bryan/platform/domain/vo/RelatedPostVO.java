@@ -0,0 +1,27 @@
+package com.bryan.platform.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * RelatedPostVO 相关博文推荐项
+ *
+ * @author Bryan Long
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RelatedPostVO implements Serializable {
+
+    private String id;
+
+    private String slug;
+
+    private String title;
+
+    /** 与当前博文的余弦相似度，按标签兜底推荐时为 0 */
+    private double score;
+}
@@ -0,0 +1,27 @@
+package com.bryan.platform.domain.vo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+/**
+ * SearchHitVO 全文搜索命中项：摘要对象、相关度得分与高亮片段
+ *
+ * @author Bryan Long
+ * @param <T> 命中对象类型
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchHitVO<T> implements Serializable {
+
+    private T item;
+
+    /** 相关度得分，越大越相关 */
+    private double score;
+
+    /** 高亮片段（已做 HTML 转义，命中词以 &lt;em&gt; 包裹） */
+    private String highlight;
+}
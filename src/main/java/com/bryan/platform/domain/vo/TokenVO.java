@@ -0,0 +1,28 @@
+package com.bryan.platform.domain.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+/**
+ * TokenVO 登录/刷新返回的 Token 对
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class TokenVO {
+
+    /** 访问 Token，放在 Authorization: Bearer 头中访问接口 */
+    private String accessToken;
+
+    /** 刷新 Token，仅用于 /api/auth/refresh 换取新的 Token 对，使用一次即失效 */
+    private String refreshToken;
+
+    private String tokenType;
+
+    /** 访问 Token 有效期（秒） */
+    private long expiresIn;
+
+    /** 刷新 Token 有效期（秒） */
+    private long refreshExpiresIn;
+}
@@ -0,0 +1,31 @@
+package com.bryan.platform.domain.vo;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * UserSessionVO 登录会话列表项
+ *
+ * @author Bryan Long
+ */
+@Data
+@Builder
+public class UserSessionVO {
+
+    private String sessionId;
+
+    private String os;
+
+    private String browser;
+
+    private String ip;
+
+    private LocalDateTime createdAt;
+
+    private LocalDateTime expiresAt;
+
+    /** 是否为发起本次请求的会话 */
+    private boolean current;
+}
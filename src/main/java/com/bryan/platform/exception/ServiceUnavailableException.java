@@ -0,0 +1,34 @@
+package com.bryan.platform.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * ServiceUnavailableException 服务暂不可用异常类。
+ * 用于在校验所依赖的外部组件（例如 Redis）不可用、无法安全地做出判断时拒绝请求，提示客户端稍后重试。
+ * 通过 {@code @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)} 直接绑定 HTTP 状态码 503 (Service Unavailable)。
+ *
+ * @author Bryan Long
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE) // 将此异常直接映射到 HTTP 503 状态码
+public class ServiceUnavailableException extends RuntimeException {
+
+    /**
+     * 构造一个新的 ServiceUnavailableException 实例，并附带详细的错误信息。
+     *
+     * @param message 异常的详细信息。
+     */
+    public ServiceUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * 构造一个新的 ServiceUnavailableException 实例，附带详细的错误信息和导致此异常的根本原因。
+     *
+     * @param message 异常的详细信息。
+     * @param cause   导致此异常的 Throwable 对象。
+     */
+    public ServiceUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
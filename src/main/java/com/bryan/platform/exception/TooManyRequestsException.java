@@ -0,0 +1,34 @@
+package com.bryan.platform.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * TooManyRequestsException 请求过多异常类。
+ * 用于在服务端资源（例如密码哈希线程池）饱和时快速拒绝请求，提示客户端稍后重试。
+ * 通过 {@code @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)} 直接绑定 HTTP 状态码 429 (Too Many Requests)。
+ *
+ * @author Bryan Long
+ */
+@ResponseStatus(HttpStatus.TOO_MANY_REQUESTS) // 将此异常直接映射到 HTTP 429 状态码
+public class TooManyRequestsException extends RuntimeException {
+
+    /**
+     * 构造一个新的 TooManyRequestsException 实例，并附带详细的错误信息。
+     *
+     * @param message 异常的详细信息。
+     */
+    public TooManyRequestsException(String message) {
+        super(message);
+    }
+
+    /**
+     * 构造一个新的 TooManyRequestsException 实例，附带详细的错误信息和导致此异常的根本原因。
+     *
+     * @param message 异常的详细信息。
+     * @param cause   导致此异常的 Throwable 对象。
+     */
+    public TooManyRequestsException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -1,9 +1,15 @@
 package com.bryan.platform.filter;
 
 import com.bryan.platform.domain.response.Result;
-import com.bryan.platform.service.user.AuthService;
-import com.bryan.platform.service.redis.RedisStringService;
+import com.bryan.platform.domain.converter.UserConverter;
+import com.bryan.platform.domain.dto.UserStatusDTO;
+import com.bryan.platform.service.user.SessionService;
+import com.bryan.platform.service.user.TokenCacheService;
+import com.bryan.platform.service.user.TokenVersionService;
+import com.bryan.platform.service.user.UserStatusCacheService;
+import com.bryan.platform.util.jwt.JwtPrincipal;
 import com.bryan.platform.util.jwt.JwtUtils;
+import com.bryan.platform.util.jwt.JwtVerifyResult;
 import com.bryan.platform.domain.entity.user.SysUser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.servlet.FilterChain;
@@ -22,7 +28,6 @@ import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
 import java.io.IOException;
 import java.util.Collection;
-import java.util.List;
 import java.util.stream.Collectors;
 
 /**
@@ -34,9 +39,19 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
-    private final AuthService authService;
     private final ObjectMapper objectMapper;
-    private final RedisStringService redisStringService;
+    private final SessionService sessionService;
+    private final TokenCacheService tokenCacheService;
+    private final TokenVersionService tokenVersionService;
+    private final UserStatusCacheService userStatusCacheService;
+
+    /**
+     * 刷新接口使用请求体中的刷新 Token 认证，不校验 Authorization 头（此时访问 Token 通常已过期）。
+     */
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return "/api/auth/refresh".equals(request.getServletPath());
+    }
 
     @Override
     protected void doFilterInternal(
@@ -54,46 +69,54 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         token = token.substring(7); // 截取掉 "Bearer " 前缀
 
         try {
-            // Redis Token 验证
-            String username = JwtUtils.getUsernameFromToken(token);
-            String redisToken = redisStringService.get(username);
-
-            if (redisToken == null || !redisToken.equals(token)) {
-                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write(
-                        objectMapper.writeValueAsString(
-                                Result.error(HttpStatus.UNAUTHORIZED, "Token已失效，请重新登录")
-                        )
-                );
+            // 校验并解析 Token（本次请求内只解析这一次，失败不抛异常）
+            JwtVerifyResult result = JwtUtils.verify(token);
+            if (!result.isValid()) {
+                writeUnauthorized(response, "Token无效或已过期: " + result.getMessage());
                 return;
             }
+            if (result.getClaims().isRefreshToken()) {
+                writeUnauthorized(response, "刷新Token不能用于访问接口");
+                return;
+            }
+            JwtPrincipal principal = JwtPrincipal.of(result.getClaims(), token);
+
+            // 版本号校验：Token 签发后用户或全局版本号已递增则视为吊销（本地缓存，仅比较两个整数）
+            if (!tokenVersionService.isCurrent(principal.getUserId(),
+                    result.getClaims().getTokenVersion(), result.getClaims().getGlobalVersion())) {
+                writeUnauthorized(response, "Token已失效，请重新登录");
+                return;
+            }
+
+            // 会话验证（只读）：本地缓存命中则跳过 Redis 往返；未命中时对会话 ID 做一次 HGET 并比对 Token 指纹
+            String fingerprint = JwtUtils.fingerprint(token);
+            if (!tokenCacheService.isValid(fingerprint)) {
+                tokenCacheService.recordRedisLookup();
+                if (!sessionService.isActive(principal.getUserId(), principal.getSessionId(), fingerprint)) {
+                    writeUnauthorized(response, "Token已失效，请重新登录");
+                    return;
+                }
+                tokenCacheService.markValid(fingerprint, principal.getExpiresAt());
+            }
 
-            // 从 Token 的 Claims 中获取角色列表
-            List<String> roles = JwtUtils.getRolesFromToken(token);
             // 将角色字符串列表转换为 Spring Security 的 GrantedAuthority 列表
-            Collection<? extends GrantedAuthority> authorities = roles.stream()
+            Collection<? extends GrantedAuthority> authorities = principal.getRoles().stream()
                     .map(SimpleGrantedAuthority::new)
                     .collect(Collectors.toList());
 
-            // 这里不再需要 authService.getCurrentUser() 来获取角色，
-            // 权限信息直接从 Token 中获取，提高性能并符合JWT无状态原则。
-            // 但为了安全起见，通常还会从数据库加载用户主体（User对象），以验证用户状态等。
-            // 这里我们仍然从数据库加载用户，以确保用户是存在的且状态正常。
-            SysUser user = authService.getCurrentUser();
+            // 权限信息直接从 Token 中获取；用户状态走缓存校验，确保用户存在且状态正常。
+            UserStatusDTO status = userStatusCacheService.get(principal.getUserId());
+            SysUser user = UserConverter.toPrincipalUser(status);
             if (user == null || !user.isEnabled() || !user.isAccountNonLocked()) {
                 // 如果用户不存在或被禁用/锁定，则视为认证失败
-                response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-                response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-                response.getWriter().write(
-                        objectMapper.writeValueAsString(
-                                Result.error(HttpStatus.UNAUTHORIZED, "用户状态异常或不存在")
-                        )
-                );
+                writeUnauthorized(response, "用户状态异常或不存在");
                 return;
             }
 
-            // 构建认证对象，使用从 Token 和数据库验证后的权限
+            // 挂载请求级认证主体，后续 getCurrentUserId 等直接复用；完整用户实体在首次需要时再加载
+            request.setAttribute(JwtUtils.PRINCIPAL_ATTRIBUTE, principal);
+
+            // 构建认证对象，主体为不含敏感字段的状态快照用户，权限来自 Token
             UsernamePasswordAuthenticationToken authentication =
                     new UsernamePasswordAuthenticationToken(
                             user, null, authorities // 使用从 Token Claims 获取的权限
@@ -101,17 +124,24 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             SecurityContextHolder.getContext().setAuthentication(authentication);
 
         } catch (Exception e) {
-            // 处理 Token 无效或过期的情况
-            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
-            response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-            response.getWriter().write(
-                    objectMapper.writeValueAsString(
-                            Result.error(HttpStatus.UNAUTHORIZED, "Token无效或已过期: " + e.getMessage())
-                    )
-            );
+            // 处理其余异常（如 Redis / 数据库不可用）
+            writeUnauthorized(response, "Token无效或已过期: " + e.getMessage());
             return;
         }
 
         filterChain.doFilter(request, response);
     }
+
+    /**
+     * 以统一响应结构写出 401 错误。
+     */
+    private void writeUnauthorized(HttpServletResponse response, String message) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
+        response.getWriter().write(
+                objectMapper.writeValueAsString(
+                        Result.error(HttpStatus.UNAUTHORIZED, message)
+                )
+        );
+    }
 }
@@ -2,6 +2,8 @@ package com.bryan.platform.handler;
 
 import com.bryan.platform.exception.BusinessException;
 import com.bryan.platform.exception.ResourceNotFoundException;
+import com.bryan.platform.exception.ServiceUnavailableException;
+import com.bryan.platform.exception.TooManyRequestsException;
 import com.bryan.platform.exception.UnauthorizedException;
 import com.bryan.platform.domain.response.Result;
 import com.bryan.platform.domain.enums.HttpStatus;
@@ -10,6 +12,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 import java.util.stream.Collectors;
@@ -73,4 +76,24 @@ public class GlobalExceptionHandler {
         log.warn("未授权访问: {}", e.getMessage());
         return Result.error(HttpStatus.UNAUTHORIZED, e.getMessage());
     }
+
+    /**
+     * 处理请求过多异常（HTTP 429）
+     */
+    @ExceptionHandler(TooManyRequestsException.class)
+    @ResponseStatus(org.springframework.http.HttpStatus.TOO_MANY_REQUESTS)
+    public Result<String> handleTooManyRequestsException(TooManyRequestsException e) {
+        log.warn("请求被限流: {}", e.getMessage());
+        return Result.error(HttpStatus.TOO_MANY_REQUESTS, e.getMessage());
+    }
+
+    /**
+     * 处理服务暂不可用异常（HTTP 503）
+     */
+    @ExceptionHandler(ServiceUnavailableException.class)
+    @ResponseStatus(org.springframework.http.HttpStatus.SERVICE_UNAVAILABLE)
+    public Result<String> handleServiceUnavailableException(ServiceUnavailableException e) {
+        log.error("服务暂不可用: {}", e.getMessage(), e);
+        return Result.error(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+    }
 }
@@ -0,0 +1,18 @@
+package com.bryan.platform.mapper;
+
+import com.bryan.platform.domain.entity.user.LoginHistory;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Param;
+
+import java.util.List;
+
+/**
+ * LoginHistory 登录历史数据访问层
+ *
+ * @author Bryan Long
+ */
+@Mapper
+public interface LoginHistoryMapper {
+
+    int insertBatch(@Param("records") List<LoginHistory> records);
+}
@@ -35,4 +35,12 @@ public interface UserFollowMapper {
                                          @Param("followingId") Long followingId);
 
     long countByFollowingId(@Param("followingId") Long followingId);
+
+    List<Long> selectFollowerIdsAfter(@Param("followingId") Long followingId,
+                                      @Param("afterId") long afterId,
+                                      @Param("size") int size);
+
+    List<Long> selectFollowingIdsAfter(@Param("followerId") Long followerId,
+                                       @Param("afterId") long afterId,
+                                       @Param("size") int size);
 }
@@ -1,5 +1,6 @@
 package com.bryan.platform.mapper;
 
+import com.bryan.platform.domain.entity.user.LoginHistory;
 import com.bryan.platform.domain.entity.user.SysUser;
 import com.bryan.platform.domain.enums.UserStatusEnum;
 import com.bryan.platform.domain.request.user.UserExportRequest;
@@ -7,6 +8,7 @@ import com.bryan.platform.domain.request.user.UserSearchRequest;
 import org.apache.ibatis.annotations.Mapper;
 import org.apache.ibatis.annotations.Param;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -37,6 +39,13 @@ public interface UserMapper {
 
     int updateDeletedById(@Param("id") Long id, @Param("deleted") Integer deleted);
 
+    int updateLockById(@Param("id") Long id,
+                       @Param("status") UserStatusEnum status,
+                       @Param("lockedAt") LocalDateTime lockedAt,
+                       @Param("loginFailCount") Integer loginFailCount);
+
+    int updateLastLoginBatch(@Param("records") List<LoginHistory> records);
+
     long count(@Param("req") UserSearchRequest search,
                @Param("export") UserExportRequest export);
 }
@@ -31,10 +31,6 @@ public interface MomentRepository extends MongoRepository<Moment, String> {
     // 查询点赞数大于指定值的动态（热门动态）
     Page<Moment> findByLikeCountGreaterThanOrderByCreatedAtDesc(Integer minLikeCount, Pageable pageable);
 
-    // 3. 全文搜索（如果配置了全文索引）
-    @Query("{ '$text': { '$search': ?0 } }")
-    List<Moment> searchByContent(String keyword);
-
     // 4. 复杂条件查询
 
     // 查询包含图片的动态
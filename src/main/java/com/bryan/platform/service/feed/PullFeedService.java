@@ -0,0 +1,226 @@
+package com.bryan.platform.service.feed;
+
+import com.bryan.platform.config.properties.PullFeedProperties;
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostSummary;
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.domain.response.CursorPageResult;
+import com.bryan.platform.mapper.UserFollowMapper;
+import com.bryan.platform.service.post.PostViewCounter;
+import com.bryan.platform.util.page.CursorUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * 关注博文拉取式读取服务（读扩散）。
+ * <p>
+ * 不再以全部关注用户 ID 做一次大 $in 查询，而是为每位关注用户在 (authorId, createdAt, _id) 索引上打开一个小批量游标，
+ * 首批在有界线程池中并行读取（单次读取同时在途的任务数有上限，各读取请求的任务在共享线程池中交替执行），再以优先队列做 k 路归并，凑满一页即停止；某位作者的批次耗尽时才续读该作者。
+ * 归并顺序为 (createdAt, _id) 全序，因此最后输出条目的 (createdAt, _id) 即可精确恢复归并位置：
+ * 下一页各作者游标均从该位置之后开始，与其余游标分页接口使用同一游标格式。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class PullFeedService {
+
+    /** 归并顺序：创建时间倒序，同一时间按 ID 倒序（与 CursorUtils.seek 一致） */
+    private static final Comparator<PostSummary> ORDER =
+            Comparator.comparing(PostSummary::getCreatedAt, Comparator.nullsFirst(Comparator.naturalOrder()))
+                    .thenComparing(PostSummary::getId)
+                    .reversed();
+
+    private final UserFollowMapper userFollowMapper;
+    private final MongoTemplate mongoTemplate;
+    private final PostViewCounter postViewCounter;
+    private final PullFeedProperties properties;
+    private final ThreadPoolExecutor executor;
+    private final Timer readTimer;
+    private final DistributionSummary authorsPerRead;
+
+    public PullFeedService(UserFollowMapper userFollowMapper,
+                           MongoTemplate mongoTemplate,
+                           PostViewCounter postViewCounter,
+                           PullFeedProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.userFollowMapper = userFollowMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.postViewCounter = postViewCounter;
+        this.properties = properties;
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getParallelism(), properties.getParallelism(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "feed-pull-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.readTimer = Timer.builder("feed.pull.read")
+                .description("拉取式读取关注博文一页的耗时")
+                .register(meterRegistry);
+        this.authorsPerRead = DistributionSummary.builder("feed.pull.authors")
+                .description("每次拉取式读取参与归并的作者数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 关闭线程池：已入队的读取任务继续执行完毕（shutdownNow 会丢弃队列中的任务，使等待它们的请求永远阻塞），
+     * 之后提交的读取由请求线程直接执行。
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        executor.shutdown();
+        if (!executor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("关注博文读取任务未在 10 秒内结束");
+        }
+    }
+
+    /**
+     * 游标分页读取关注用户的已发布博文摘要（按创建时间倒序）。
+     *
+     * @param userId 当前用户 ID
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size   每页条数
+     * @return 博文摘要游标分页结果
+     */
+    public CursorPageResult<PostSummary> read(Long userId, String cursor, int size) {
+        return readTimer.record(() -> doRead(userId, cursor, size));
+    }
+
+    private CursorPageResult<PostSummary> doRead(Long userId, String cursor, int size) {
+        int limit = CursorUtils.limitOf(size);
+        CursorUtils.decode(cursor); // 提前校验游标格式，避免在各作者读取任务中重复抛出
+        List<Long> authorIds = followees(userId);
+        authorsPerRead.record(authorIds.size());
+        if (authorIds.isEmpty()) {
+            return CursorPageResult.of(List.of(), null);
+        }
+
+        // 1. 并行读取每位作者游标之后的首批博文：以滑动窗口提交，同时在途的任务不超过上限，
+        //    前一批任务完成一个才提交下一位作者，不会一次向共享队列压入上千个任务而挤占其他读取请求
+        int chunk = Math.min(limit, properties.getChunkSize());
+        Semaphore inFlight = new Semaphore(properties.getMaxInFlightPerRead());
+        List<CompletableFuture<AuthorStream>> futures = new ArrayList<>(authorIds.size());
+        for (Long authorId : authorIds) {
+            inFlight.acquireUninterruptibly();
+            futures.add(open(authorId, chunk, cursor).whenComplete((stream, e) -> inFlight.release()));
+        }
+
+        // 2. 以各作者当前首条建堆
+        PriorityQueue<AuthorStream> heap = new PriorityQueue<>(authorIds.size(),
+                Comparator.comparing(AuthorStream::head, ORDER));
+        for (CompletableFuture<AuthorStream> future : futures) {
+            AuthorStream stream = future.join();
+            if (stream.head() != null) {
+                heap.add(stream);
+            }
+        }
+
+        // 3. k 路归并，多取一条判断是否还有下一页；某作者批次耗尽时从其最后一条之后续读
+        List<PostSummary> rows = new ArrayList<>(limit + 1);
+        while (!heap.isEmpty() && rows.size() <= limit) {
+            AuthorStream stream = heap.poll();
+            rows.add(stream.next());
+            if (stream.head() != null) {
+                heap.add(stream);
+            }
+        }
+        rows.forEach(postViewCounter::applyPendingViews);
+        return CursorUtils.page(rows, limit, PostSummary::getCreatedAt, PostSummary::getId);
+    }
+
+    /**
+     * 在线程池中读取作者首批博文；队列已满或线程池已关闭时在请求线程中直接读取，保证返回的 future 一定完成。
+     */
+    private CompletableFuture<AuthorStream> open(Long authorId, int chunk, String cursor) {
+        Supplier<AuthorStream> task = () -> {
+            AuthorStream stream = new AuthorStream(authorId, chunk);
+            stream.fill(cursor);
+            return stream;
+        };
+        try {
+            return CompletableFuture.supplyAsync(task, executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(task.get());
+        }
+    }
+
+    private List<Long> followees(Long userId) {
+        List<Long> ids = new ArrayList<>();
+        long afterId = 0;
+        while (ids.size() < properties.getMaxFollowees()) {
+            int batchSize = Math.min(1_000, properties.getMaxFollowees() - ids.size());
+            List<Long> batch = userFollowMapper.selectFollowingIdsAfter(userId, afterId, batchSize);
+            ids.addAll(batch);
+            if (batch.size() < batchSize) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1);
+        }
+        return ids;
+    }
+
+    /**
+     * 单个作者的博文游标：按批读取，批次内按位置前进，耗尽且仍有更多时从最后一条之后续读。
+     */
+    private final class AuthorStream {
+
+        private final Long authorId;
+        private final int chunk;
+        private List<PostSummary> buffer = List.of();
+        private int position;
+        private boolean exhausted;
+
+        AuthorStream(Long authorId, int chunk) {
+            this.authorId = authorId;
+            this.chunk = chunk;
+        }
+
+        PostSummary head() {
+            if (position == buffer.size() && !exhausted) {
+                PostSummary last = buffer.get(buffer.size() - 1);
+                fill(CursorUtils.encode(last.getCreatedAt(), last.getId()));
+            }
+            return position < buffer.size() ? buffer.get(position) : null;
+        }
+
+        PostSummary next() {
+            return buffer.get(position++);
+        }
+
+        void fill(String cursor) {
+            Criteria criteria = Criteria.where("authorId").is(authorId).and("status").is(PostStatusEnum.PUBLISHED);
+            Query query = CursorUtils.seek(criteria, cursor, chunk);
+            query.fields().include(PostSummary.FIELDS);
+            List<PostSummary> rows = mongoTemplate.find(query, PostSummary.class, mongoTemplate.getCollectionName(Post.class));
+            exhausted = rows.size() <= chunk;
+            buffer = exhausted ? rows : rows.subList(0, chunk);
+            position = 0;
+        }
+    }
+}
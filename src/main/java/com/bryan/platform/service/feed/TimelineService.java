@@ -0,0 +1,503 @@
+package com.bryan.platform.service.feed;
+
+import com.bryan.platform.config.properties.TimelineProperties;
+import com.bryan.platform.domain.entity.moment.Moment;
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.mapper.UserFollowMapper;
+import com.bryan.platform.service.redis.RedisSetService;
+import com.bryan.platform.service.redis.RedisStringService;
+import com.bryan.platform.service.redis.RedisZSetService;
+import com.bryan.platform.util.page.CursorUtils;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 关注时间线服务（推拉结合）。
+ * <p>
+ * 每个用户的博文、动态时间线各为一个 Redis 有序集合：成员为条目 ID，得分为创建时间（毫秒），容量有上限。
+ * 普通作者发布时由后台线程按粉丝 ID 分批读取粉丝，每批以一次 Lua 脚本写入所有粉丝的时间线并截断（写扩散）；
+ * 只写入已存在的时间线，过期或从未读取过的时间线在下次读取时按关注列表重建，避免为不活跃用户维护数据。
+ * 重建时时间线与关注列表都写入一个占位成员，没有关注或关注用户没有条目时键同样存在，不会在每次读取时重复重建，
+ * 推送也能写入这类时间线。
+ * </p>
+ * <p>
+ * 粉丝数达到阈值的大 V 发布时不推送，只写入其本人的近期条目集合（有上限的环形缓冲）并登记到大 V 名单；
+ * 读取时从读者关注的大 V 近期条目中按同一游标各取一页，与读者时间线做 k 路堆归并（读扩散）。
+ * 读取游标为 (创建时间, ID)，与其余游标分页接口一致；条目的删除或取消发布在读取时过滤。
+ * 推送任务在有界线程池中执行，队列满时发布线程至多短暂等待，仍满则放弃推送并计数，由粉丝时间线重建补齐。
+ * 推送耗时、每次推送的粉丝数、放弃的推送数与读取归并耗时、归并来源数均以 Micrometer 指标暴露。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class TimelineService {
+
+    /**
+     * 时间线类型
+     */
+    public enum Kind {
+
+        POST("timeline:post:", "feed:author:post:") {
+            @Override
+            Map<String, Double> recent(MongoTemplate mongoTemplate, List<Long> authorIds, int limit) {
+                Query query = recentQuery(Criteria.where("authorId").in(authorIds)
+                        .and("status").is(PostStatusEnum.PUBLISHED), limit);
+                Map<String, Double> entries = new HashMap<>();
+                mongoTemplate.find(query, Post.class).forEach(post ->
+                        entries.put(post.getId(), toScore(post.getCreatedAt())));
+                return entries;
+            }
+        },
+
+        MOMENT("timeline:moment:", "feed:author:moment:") {
+            @Override
+            Map<String, Double> recent(MongoTemplate mongoTemplate, List<Long> authorIds, int limit) {
+                Query query = recentQuery(Criteria.where("authorId").in(authorIds), limit);
+                Map<String, Double> entries = new HashMap<>();
+                mongoTemplate.find(query, Moment.class).forEach(moment ->
+                        entries.put(moment.getId(), toScore(moment.getCreatedAt())));
+                return entries;
+            }
+        };
+
+        private final String keyPrefix;
+        private final String authorKeyPrefix;
+
+        Kind(String keyPrefix, String authorKeyPrefix) {
+            this.keyPrefix = keyPrefix;
+            this.authorKeyPrefix = authorKeyPrefix;
+        }
+
+        String key(Long userId) {
+            return keyPrefix + userId;
+        }
+
+        String authorKey(String authorId) {
+            return authorKeyPrefix + authorId;
+        }
+
+        /**
+         * 查询一组作者最近的条目（ID → 得分），用于重建时间线
+         */
+        abstract Map<String, Double> recent(MongoTemplate mongoTemplate, List<Long> authorIds, int limit);
+
+        private static Query recentQuery(Criteria criteria, int limit) {
+            Query query = Query.query(criteria)
+                    .with(Sort.by(Sort.Direction.DESC, "createdAt", "_id"))
+                    .limit(limit);
+            query.fields().include("_id").include("createdAt");
+            return query;
+        }
+    }
+
+    /**
+     * 时间线的一页：按时间倒序的条目 ID 与下一页游标
+     */
+    public record TimelinePage(List<String> ids, String nextCursor) {
+    }
+
+    /** 用户关注列表（重建时间线时写入，读取时据此判断关注了哪些大 V） */
+    private static final String FOLLOWEES_KEY_PREFIX = "timeline:followees:";
+
+    /** 重建时每批读取的关注用户数 */
+    private static final int FOLLOWEE_BATCH_SIZE = 1_000;
+
+    /** 占位成员：保证重建后的时间线与关注列表即使为空也存在，读取时跳过 */
+    private static final String PLACEHOLDER = "";
+
+    /** 大 V 名单：成员为作者 ID，得分为最后一次以大 V 身份发布的时间 */
+    private static final String CELEBRITIES_KEY = "feed:celebrities";
+
+    /**
+     * KEYS 为一批粉丝的时间线；ARGV[1] 条目 ID，ARGV[2] 得分，ARGV[3] 容量。只写入已存在的时间线，返回写入数。
+     */
+    private static final RedisScript<Long> FANOUT_SCRIPT = new DefaultRedisScript<>(
+            "local written = 0 " +
+            "for _, key in ipairs(KEYS) do " +
+            "  if redis.call('EXISTS', key) == 1 then " +
+            "    redis.call('ZADD', key, ARGV[2], ARGV[1]) " +
+            "    redis.call('ZREMRANGEBYRANK', key, 0, -(tonumber(ARGV[3]) + 1)) " +
+            "    written = written + 1 " +
+            "  end " +
+            "end " +
+            "return written",
+            Long.class);
+
+    /** 时间线条目顺序：得分倒序，同分按 ID 倒序（与 ZREVRANGEBYSCORE 一致） */
+    private static final Comparator<ZSetOperations.TypedTuple<String>> ENTRY_ORDER =
+            Comparator.comparing((ZSetOperations.TypedTuple<String> tuple) -> tuple.getScore())
+                    .thenComparing(ZSetOperations.TypedTuple::getValue)
+                    .reversed();
+
+    private final UserFollowMapper userFollowMapper;
+    private final MongoTemplate mongoTemplate;
+    private final RedisStringService redisStringService;
+    private final RedisZSetService redisZSetService;
+    private final RedisSetService redisSetService;
+    private final TimelineProperties properties;
+    private final ThreadPoolExecutor fanoutExecutor;
+    private final MeterRegistry meterRegistry;
+    private final DistributionSummary mergeSources;
+    private final Timer mergeTimer;
+
+    /** 本地缓存的大 V 名单及其刷新时间 */
+    private volatile List<String> celebrities = List.of();
+    private volatile long celebritiesLoadedAt;
+
+    public TimelineService(UserFollowMapper userFollowMapper,
+                           MongoTemplate mongoTemplate,
+                           RedisStringService redisStringService,
+                           RedisZSetService redisZSetService,
+                           RedisSetService redisSetService,
+                           TimelineProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.userFollowMapper = userFollowMapper;
+        this.mongoTemplate = mongoTemplate;
+        this.redisStringService = redisStringService;
+        this.redisZSetService = redisZSetService;
+        this.redisSetService = redisSetService;
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.mergeSources = DistributionSummary.builder("feed.timeline.merge.sources")
+                .description("每次读取时间线参与归并的来源数（读者时间线 + 关注的大 V）")
+                .register(meterRegistry);
+        this.mergeTimer = Timer.builder("feed.timeline.merge")
+                .description("读取时间线（含大 V 近期条目归并）的耗时")
+                .register(meterRegistry);
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.fanoutExecutor = new ThreadPoolExecutor(
+                properties.getFanoutThreads(), properties.getFanoutThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getFanoutQueueCapacity()),
+                r -> {
+                    Thread thread = new Thread(r, "timeline-fanout-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        fanoutExecutor.shutdown();
+        if (!fanoutExecutor.awaitTermination(10, TimeUnit.SECONDS)) {
+            log.warn("时间线推送任务未在关闭前完成，未推送的条目将在时间线重建时补齐");
+        }
+    }
+
+    /**
+     * 作者发布条目后调用：写入作者近期条目，普通作者异步推送到所有粉丝的时间线，大 V 只登记到大 V 名单。
+     *
+     * @param kind      时间线类型
+     * @param authorId  作者 ID
+     * @param entryId   条目 ID
+     * @param createdAt 条目创建时间
+     */
+    public void publish(Kind kind, Long authorId, String entryId, LocalDateTime createdAt) {
+        double score = toScore(createdAt);
+        Runnable task = () -> {
+            try {
+                distribute(kind, authorId, entryId, score);
+            } catch (RuntimeException e) {
+                log.error("时间线推送失败，kind: {}, authorId: {}, entryId: {}", kind, authorId, entryId, e);
+            }
+        };
+        if (!submit(task)) {
+            meterRegistry.counter("feed.timeline.fanout.dropped", "kind", kind.name()).increment();
+            log.warn("时间线推送队列已满，放弃推送（粉丝时间线重建时补齐），kind: {}, authorId: {}, entryId: {}",
+                    kind, authorId, entryId);
+        }
+    }
+
+    /**
+     * 提交推送任务；队列满时至多等待 fanoutOfferTimeout，推送从不在发布线程中执行。
+     *
+     * @return 是否已提交
+     */
+    private boolean submit(Runnable task) {
+        try {
+            fanoutExecutor.execute(task);
+            return true;
+        } catch (RejectedExecutionException e) {
+            if (fanoutExecutor.isShutdown()) {
+                return false;
+            }
+            // 队列满说明核心线程均已启动，直接等待入队即可
+            try {
+                return fanoutExecutor.getQueue().offer(task,
+                        properties.getFanoutOfferTimeout().toMillis(), TimeUnit.MILLISECONDS);
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+        }
+    }
+
+    /**
+     * 关注关系变化后调用：删除用户的时间线，下次读取时按新的关注列表重建。
+     *
+     * @param userId 用户 ID
+     */
+    public void invalidate(Long userId) {
+        for (Kind kind : Kind.values()) {
+            redisStringService.delete(kind.key(userId));
+        }
+        redisStringService.delete(FOLLOWEES_KEY_PREFIX + userId);
+    }
+
+    /**
+     * 游标分页读取用户的时间线。
+     *
+     * @param kind   时间线类型
+     * @param userId 用户 ID
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size   每页条数
+     * @return 本页条目 ID（按时间倒序）与下一页游标
+     */
+    public TimelinePage read(Kind kind, Long userId, String cursor, int size) {
+        return mergeTimer.record(() -> doRead(kind, userId, cursor, size));
+    }
+
+    private TimelinePage doRead(Kind kind, Long userId, String cursor, int size) {
+        int limit = CursorUtils.limitOf(size);
+        String key = kind.key(userId);
+        String followeesKey = FOLLOWEES_KEY_PREFIX + userId;
+        if (!redisStringService.hasKey(key) || !redisStringService.hasKey(followeesKey)) {
+            rebuild(kind, userId);
+        }
+
+        // 1. 定位游标：得分不超过游标时间，同一时间内跳过 ID 不小于游标 ID 的条目
+        double max = Double.POSITIVE_INFINITY;
+        String afterId = null;
+        if (cursor != null && !cursor.isBlank()) {
+            CursorUtils.Cursor decoded = CursorUtils.decode(cursor);
+            max = decoded.epochMilli();
+            afterId = decoded.id();
+        }
+
+        // 2. 归并来源：读者时间线 + 关注的大 V 近期条目，每个来源各取游标之后的 limit + 1 条
+        List<List<ZSetOperations.TypedTuple<String>>> sources = new ArrayList<>();
+        sources.add(seek(key, max, afterId, limit + 1));
+        for (String celebrityId : followedCelebrities(followeesKey)) {
+            sources.add(seek(kind.authorKey(celebrityId), max, afterId, limit + 1));
+        }
+        mergeSources.record(sources.size());
+        long ttl = properties.getTtl().toSeconds();
+        redisStringService.setExpire(key, ttl);
+        redisStringService.setExpire(followeesKey, ttl);
+
+        // 3. k 路堆归并（得分倒序，同分按 ID 倒序），去重后多取一条判断是否还有下一页
+        List<ZSetOperations.TypedTuple<String>> rows = merge(sources, limit + 1);
+        boolean hasNext = rows.size() > limit;
+        List<ZSetOperations.TypedTuple<String>> page = hasNext ? rows.subList(0, limit) : rows;
+        List<String> ids = page.stream().map(ZSetOperations.TypedTuple::getValue).toList();
+        String nextCursor = null;
+        if (hasNext) {
+            ZSetOperations.TypedTuple<String> last = page.get(page.size() - 1);
+            nextCursor = CursorUtils.encode(last.getScore().longValue(), last.getValue());
+        }
+        return new TimelinePage(ids, nextCursor);
+    }
+
+    /**
+     * 发布后的分发：写入作者近期条目，再按粉丝数决定推送或登记为大 V。
+     */
+    private void distribute(Kind kind, Long authorId, String entryId, double score) {
+        String authorKey = kind.authorKey(authorId.toString());
+        redisZSetService.add(authorKey, entryId, score);
+        redisZSetService.removeRange(authorKey, 0, -(properties.getAuthorRecentSize() + 1L));
+
+        long followers = userFollowMapper.countByFollowingId(authorId);
+        if (followers >= properties.getCelebrityThreshold()) {
+            long now = System.currentTimeMillis();
+            redisZSetService.add(CELEBRITIES_KEY, authorId.toString(), now);
+            redisZSetService.removeRangeByScore(CELEBRITIES_KEY, Double.NEGATIVE_INFINITY,
+                    now - properties.getCelebrityRetention().toMillis());
+            meterRegistry.counter("feed.timeline.fanout.skipped", "kind", kind.name()).increment();
+            return;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        long recipients = fanOut(kind, authorId, entryId, score);
+        sample.stop(meterRegistry.timer("feed.timeline.fanout", "kind", kind.name()));
+        meterRegistry.summary("feed.timeline.fanout.recipients", "kind", kind.name()).record(recipients);
+    }
+
+    /**
+     * 读者关注的大 V：本地缓存的大 V 名单与读者关注列表求交（一条 SMISMEMBER 命令）。
+     */
+    private List<String> followedCelebrities(String followeesKey) {
+        List<String> candidates = celebrities();
+        if (candidates.isEmpty()) {
+            return List.of();
+        }
+        List<Boolean> followed = redisSetService.isMemberEach(followeesKey, candidates);
+        List<String> result = new ArrayList<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (followed.get(i)) {
+                result.add(candidates.get(i));
+            }
+        }
+        return result;
+    }
+
+    private List<String> celebrities() {
+        long now = System.currentTimeMillis();
+        if (now - celebritiesLoadedAt > properties.getCelebrityRefreshInterval().toMillis()) {
+            celebrities = redisZSetService.reverseRange(CELEBRITIES_KEY, 0, -1);
+            celebritiesLoadedAt = now;
+        }
+        return celebrities;
+    }
+
+    /**
+     * 从一个有序集合中读取游标之后（得分不超过 max，同分时 ID 小于 afterId）的至多 count 条。
+     */
+    private List<ZSetOperations.TypedTuple<String>> seek(String key, double max, String afterId, int count) {
+        List<ZSetOperations.TypedTuple<String>> rows = new ArrayList<>(count);
+        long offset = 0;
+        while (rows.size() < count) {
+            List<ZSetOperations.TypedTuple<String>> batch =
+                    redisZSetService.reverseRangeByScoreWithScores(key, max, offset, count);
+            for (ZSetOperations.TypedTuple<String> tuple : batch) {
+                if (PLACEHOLDER.equals(tuple.getValue())) {
+                    continue;
+                }
+                if (afterId != null && tuple.getScore() == max && tuple.getValue().compareTo(afterId) >= 0) {
+                    continue;
+                }
+                if (rows.size() < count) {
+                    rows.add(tuple);
+                }
+            }
+            offset += batch.size();
+            if (batch.size() < count) {
+                break;
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * k 路堆归并：各来源已按 (得分, ID) 倒序排列，堆中保存每个来源的当前位置，弹出最大者后推进该来源。
+     */
+    private static List<ZSetOperations.TypedTuple<String>> merge(List<List<ZSetOperations.TypedTuple<String>>> sources,
+                                                                 int count) {
+        if (sources.size() == 1) {
+            return sources.get(0);
+        }
+        Comparator<int[]> order = Comparator.comparing(
+                (int[] head) -> sources.get(head[0]).get(head[1]), ENTRY_ORDER);
+        PriorityQueue<int[]> heap = new PriorityQueue<>(sources.size(), order);
+        for (int i = 0; i < sources.size(); i++) {
+            if (!sources.get(i).isEmpty()) {
+                heap.add(new int[]{i, 0});
+            }
+        }
+
+        List<ZSetOperations.TypedTuple<String>> merged = new ArrayList<>(count);
+        Set<String> seen = new HashSet<>();
+        while (!heap.isEmpty() && merged.size() < count) {
+            int[] head = heap.poll();
+            List<ZSetOperations.TypedTuple<String>> source = sources.get(head[0]);
+            ZSetOperations.TypedTuple<String> tuple = source.get(head[1]);
+            if (seen.add(tuple.getValue())) {
+                merged.add(tuple);
+            }
+            if (++head[1] < source.size()) {
+                heap.add(head);
+            }
+        }
+        return merged;
+    }
+
+    private long fanOut(Kind kind, Long authorId, String entryId, double score) {
+        long recipients = 0;
+        long afterId = 0;
+        String[] args = {entryId, Double.toString(score), Integer.toString(properties.getCapacity())};
+        while (true) {
+            List<Long> followerIds = userFollowMapper.selectFollowerIdsAfter(
+                    authorId, afterId, properties.getFanoutBatchSize());
+            if (followerIds.isEmpty()) {
+                return recipients;
+            }
+            List<String> keys = followerIds.stream().map(kind::key).toList();
+            Long written = redisStringService.execute(FANOUT_SCRIPT, keys, args);
+            recipients += written != null ? written : 0;
+            if (followerIds.size() < properties.getFanoutBatchSize()) {
+                return recipients;
+            }
+            afterId = followerIds.get(followerIds.size() - 1);
+        }
+    }
+
+    /**
+     * 按关注列表重建时间线：读取关注用户最近的条目写入有序集合；两个键都带占位成员，空列表也会写入。
+     * 关注列表完整写入（大 V 查找不受上限影响），只有回源读取近期条目时限制为 rebuildMaxFollowees 位关注用户。
+     */
+    private void rebuild(Kind kind, Long userId) {
+        String followeesKey = FOLLOWEES_KEY_PREFIX + userId;
+        redisSetService.add(followeesKey, PLACEHOLDER);
+        List<Long> followeeIds = new ArrayList<>();
+        long afterId = 0;
+        while (true) {
+            List<Long> batch = userFollowMapper.selectFollowingIdsAfter(userId, afterId, FOLLOWEE_BATCH_SIZE);
+            if (!batch.isEmpty()) {
+                redisSetService.add(followeesKey, batch.stream().map(String::valueOf).toArray(String[]::new));
+            }
+            if (followeeIds.size() < properties.getRebuildMaxFollowees()) {
+                followeeIds.addAll(batch.subList(0, Math.min(batch.size(),
+                        properties.getRebuildMaxFollowees() - followeeIds.size())));
+            }
+            if (batch.size() < FOLLOWEE_BATCH_SIZE) {
+                break;
+            }
+            afterId = batch.get(batch.size() - 1);
+        }
+        redisStringService.setExpire(followeesKey, properties.getTtl().toSeconds());
+
+        Map<String, Double> entries = followeeIds.isEmpty()
+                ? new HashMap<>()
+                : kind.recent(mongoTemplate, followeeIds, properties.getCapacity());
+        entries.put(PLACEHOLDER, 0d);
+        String key = kind.key(userId);
+        redisZSetService.addAll(key, entries);
+        redisStringService.setExpire(key, properties.getTtl().toSeconds());
+    }
+
+    /**
+     * 得分即毫秒时间戳，与游标使用同一换算，游标与得分之间直接以时间戳往返，不经本地时间。
+     */
+    private static double toScore(LocalDateTime createdAt) {
+        return CursorUtils.toEpochMilli(createdAt != null ? createdAt : LocalDateTime.now());
+    }
+}
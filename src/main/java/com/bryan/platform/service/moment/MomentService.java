@@ -1,20 +1,40 @@
 package com.bryan.platform.service.moment;
 
+import com.bryan.platform.config.properties.SearchProperties;
 import com.bryan.platform.domain.entity.user.SysUser;
+import com.bryan.platform.domain.response.CursorPageResult;
 import com.bryan.platform.domain.response.PageResult;
+import com.bryan.platform.domain.vo.SearchHitVO;
 import com.bryan.platform.repository.MomentRepository;
 import com.bryan.platform.domain.entity.moment.Moment;
+import com.bryan.platform.service.feed.TimelineService;
+import com.bryan.platform.service.search.InvertedIndex;
+import com.bryan.platform.service.search.SearchIndexService;
 import com.bryan.platform.service.user.UserFollowService;
+import com.bryan.platform.util.page.CursorUtils;
+import com.bryan.platform.util.text.HighlightUtils;
 import lombok.RequiredArgsConstructor;
+import org.bson.Document;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /**
@@ -26,8 +46,15 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class MomentService {
 
+    /** 搜索高亮片段最大长度 */
+    private static final int HIGHLIGHT_LENGTH = 120;
+
     private final MomentRepository momentRepository;
     private final UserFollowService userFollowService;
+    private final MongoTemplate mongoTemplate;
+    private final SearchProperties searchProperties;
+    private final SearchIndexService searchIndexService;
+    private final TimelineService timelineService;
 
     /**
      * 保存动态信息
@@ -41,8 +68,13 @@ public class MomentService {
             throw new IllegalArgumentException("动态对象不能为空");
         }
 
-        // 2. 执行保存操作
-        return momentRepository.save(moment);
+        // 2. 执行保存操作并更新搜索索引
+        Moment saved = momentRepository.save(moment);
+        searchIndexService.momentChanged(saved.getId());
+
+        // 3. 推送到粉丝的关注时间线
+        timelineService.publish(TimelineService.Kind.MOMENT, saved.getAuthorId(), saved.getId(), saved.getCreatedAt());
+        return saved;
     }
 
     /**
@@ -73,6 +105,17 @@ public class MomentService {
         return momentRepository.findAll(pageable);
     }
 
+    /**
+     * 游标分页查询所有动态（按创建时间倒序，无总数）
+     *
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size   每页条数
+     * @return 动态游标分页数据
+     */
+    public CursorPageResult<Moment> findAll(String cursor, int size) {
+        return findByCursor(new Criteria(), cursor, size);
+    }
+
     /**
      * 根据ID删除动态
      *
@@ -92,8 +135,9 @@ public class MomentService {
             throw new RuntimeException("Unauthorized: You are not the author of this moment.");
         }
 
-        // 2. 执行删除操作
+        // 2. 执行删除操作并更新搜索索引
         momentRepository.deleteById(id);
+        searchIndexService.momentChanged(id);
     }
 
     /**
@@ -114,6 +158,25 @@ public class MomentService {
         return momentRepository.findByAuthorIdOrderByCreatedAtDesc(authorId, pageable);
     }
 
+    /**
+     * 根据用户ID游标分页查询动态（按创建时间倒序，无总数）
+     *
+     * @param authorId 用户ID
+     * @param cursor   上一页返回的游标，第一页传 null
+     * @param size     每页条数
+     * @return 用户动态游标分页数据
+     * @throws IllegalArgumentException 如果用户ID为空
+     */
+    public CursorPageResult<Moment> findByUserId(Long authorId, String cursor, int size) {
+        // 1. 参数校验
+        if (authorId == null) {
+            throw new IllegalArgumentException("用户ID不能为空");
+        }
+
+        // 2. 执行用户动态查询
+        return findByCursor(Criteria.where("authorId").is(authorId), cursor, size);
+    }
+
     public Page<Moment> findFollowingMoments(Long userId, Pageable pageable) {
         // 1. 获取关注的用户列表
         PageResult<SysUser> followingUsers = userFollowService.getFollowingUsers(
@@ -140,6 +203,29 @@ public class MomentService {
         );
     }
 
+    /**
+     * 游标分页获取好友动态流（关注时间线）：一次时间线区间读取 + 一次按 ID 批量读取
+     *
+     * @param userId 当前用户 ID
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size   每页条数
+     * @return 游标分页结果，已删除的动态被跳过
+     */
+    public CursorPageResult<Moment> findFollowingMoments(Long userId, String cursor, int size) {
+        TimelineService.TimelinePage page = timelineService.read(TimelineService.Kind.MOMENT, userId, cursor, size);
+        if (page.ids().isEmpty()) {
+            return CursorPageResult.of(List.of(), page.nextCursor());
+        }
+        Map<String, Moment> byId = mongoTemplate.find(Query.query(Criteria.where("_id").in(page.ids())), Moment.class)
+                .stream()
+                .collect(Collectors.toMap(Moment::getId, Function.identity()));
+        List<Moment> rows = page.ids().stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return CursorPageResult.of(rows, page.nextCursor());
+    }
+
     /**
      * 统计用户动态数量
      *
@@ -177,6 +263,7 @@ public class MomentService {
 
         // 3. 批量删除动态
         momentRepository.deleteAll(moments);
+        moments.forEach(moment -> searchIndexService.momentChanged(moment.getId()));
 
         // 4. 返回删除数量
         return moments.size();
@@ -201,20 +288,31 @@ public class MomentService {
     }
 
     /**
-     * 根据关键词搜索动态内容
+     * 按相关度分页搜索动态内容（不返回评论）
      *
      * @param keyword 搜索关键词
-     * @return 匹配的动态列表
+     * @param cursor  上一页返回的游标，第一页传 null
+     * @param size    每页条数
+     * @return 命中项游标分页结果
      * @throws IllegalArgumentException 如果关键词为空
      */
-    public List<Moment> searchByContent(String keyword) {
+    public CursorPageResult<SearchHitVO<Moment>> search(String keyword, String cursor, int size) {
         // 1. 参数校验
         if (keyword == null || keyword.trim().isEmpty()) {
             throw new IllegalArgumentException("搜索关键词不能为空");
         }
+        int offset = CursorUtils.decodeOffset(cursor);
+        int limit = CursorUtils.limitOf(size);
+        if (offset > searchProperties.getMaxOffset()) {
+            return CursorPageResult.of(List.of(), null);
+        }
 
-        // 2. 执行全文搜索
-        return momentRepository.searchByContent(keyword);
+        // 2. 优先使用进程内倒排索引，未就绪或查询切分不出词项时回退到 MongoDB 文本索引
+        Pattern terms = HighlightUtils.compile(keyword);
+        List<SearchHitVO<Moment>> hits = searchIndexService.isReady() && searchIndexService.isSearchable(keyword)
+                ? searchIndex(keyword, offset, limit + 1, terms)
+                : searchMongo(keyword, offset, limit + 1, terms);
+        return CursorUtils.offsetPage(hits, offset, limit, searchProperties.getMaxOffset());
     }
 
     /**
@@ -294,4 +392,52 @@ public class MomentService {
         // 2. 执行批量查询
         return momentRepository.findByIds(ids);
     }
+
+    private CursorPageResult<Moment> findByCursor(Criteria criteria, String cursor, int size) {
+        List<Moment> rows = mongoTemplate.find(CursorUtils.seek(criteria, cursor, size), Moment.class);
+        return CursorUtils.page(rows, size, Moment::getCreatedAt, Moment::getId);
+    }
+
+    private List<SearchHitVO<Moment>> searchIndex(String keyword, int offset, int count, Pattern terms) {
+        List<InvertedIndex.Hit> ranked = searchIndexService.searchMoments(keyword, offset + count);
+        if (ranked.size() <= offset) {
+            return List.of();
+        }
+        ranked = ranked.subList(offset, ranked.size());
+
+        // 按 ID 批量读取（不含评论），保持索引给出的相关度顺序
+        Query query = Query.query(Criteria.where("_id").in(ranked.stream().map(InvertedIndex.Hit::id).toList()));
+        query.fields().exclude("comments");
+        Map<String, Moment> moments = mongoTemplate.find(query, Moment.class).stream()
+                .collect(Collectors.toMap(Moment::getId, Function.identity()));
+
+        List<SearchHitVO<Moment>> hits = new ArrayList<>(ranked.size());
+        for (InvertedIndex.Hit hit : ranked) {
+            Moment moment = moments.get(hit.id());
+            if (moment != null) {
+                hits.add(toHit(moment, hit.score(), terms));
+            }
+        }
+        return hits;
+    }
+
+    private List<SearchHitVO<Moment>> searchMongo(String keyword, int offset, int count, Pattern terms) {
+        // 按 textScore 倒序执行全文搜索，排除评论字段
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(keyword))
+                .sortByScore()
+                .includeScore("score");
+        query.fields().exclude("comments");
+        query.with(Sort.by(Sort.Direction.DESC, "_id"));
+        query.skip(offset).limit(count);
+        List<Document> docs = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Moment.class));
+        return docs.stream()
+                .map(doc -> toHit(mongoTemplate.getConverter().read(Moment.class, doc),
+                        doc.get("score", Number.class).doubleValue(), terms))
+                .toList();
+    }
+
+    private SearchHitVO<Moment> toHit(Moment moment, double score, Pattern terms) {
+        moment.setComments(null);
+        return new SearchHitVO<>(moment, score, HighlightUtils.highlight(moment.getContent(), terms, HIGHLIGHT_LENGTH));
+    }
 }
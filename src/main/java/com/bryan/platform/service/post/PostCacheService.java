@@ -0,0 +1,245 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.config.properties.PostCacheProperties;
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.repository.PostRepository;
+import com.bryan.platform.service.redis.RedisPubSubService;
+import com.bryan.platform.service.redis.RedisStringService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * 博文详情缓存服务。
+ * <p>
+ * 按 ID 缓存博文文档，按 slug 缓存 slug → ID 映射，两者均为本地 L1（Caffeine）→ Redis L2（可选）→ 数据库。
+ * 博文编辑、删除或评论增删时调用 {@link #evict(String, String...)}，通过 Redis Pub/Sub 通知所有节点失效本地缓存。
+ * 浏览量、点赞数等计数字段以缓存时的值为准（浏览量另行合并未写回的增量），最多滞后一个缓存存活时间。
+ * 返回的博文为副本，调用方修改不会影响缓存。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class PostCacheService {
+
+    /** 跨节点失效广播频道，消息体为博文 ID，其后按行附带需要失效的 slug */
+    public static final String EVICT_CHANNEL = "post:cache:evict";
+
+    private static final String ID_KEY_PREFIX = "post:cache:id:";
+    private static final String SLUG_KEY_PREFIX = "post:cache:slug:";
+
+    private final PostRepository postRepository;
+    private final PostViewCounter postViewCounter;
+    private final RedisStringService redisStringService;
+    private final RedisPubSubService redisPubSubService;
+    private final ObjectMapper objectMapper;
+    private final PostCacheProperties properties;
+    private final Cache<String, Post> byId;
+    private final Cache<String, String> slugToId;
+    private final Counter redisHits;
+    private final Counter redisMisses;
+
+    public PostCacheService(PostRepository postRepository,
+                            PostViewCounter postViewCounter,
+                            RedisStringService redisStringService,
+                            RedisPubSubService redisPubSubService,
+                            ObjectMapper objectMapper,
+                            PostCacheProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.postRepository = postRepository;
+        this.postViewCounter = postViewCounter;
+        this.redisStringService = redisStringService;
+        this.redisPubSubService = redisPubSubService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .recordStats()
+                .build();
+        this.slugToId = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.byId, "post.by-id");
+        CaffeineCacheMetrics.monitor(meterRegistry, this.slugToId, "post.by-slug");
+        this.redisHits = Counter.builder("post.cache.redis")
+                .description("博文 Redis 二级缓存查询次数")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.redisMisses = Counter.builder("post.cache.redis")
+                .description("博文 Redis 二级缓存查询次数")
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribeEvictions() {
+        redisPubSubService.subscribe(EVICT_CHANNEL, message -> {
+            String[] keys = message.split("\n");
+            byId.invalidate(keys[0]);
+            slugToId.invalidateAll(Arrays.asList(keys).subList(1, keys.length));
+        });
+        // 本节点浏览量写回后，待写回增量清零，同步累加到本地缓存的博文上，避免读取到的浏览量回退
+        postViewCounter.addFlushListener((postId, delta) -> byId.asMap().computeIfPresent(postId, (id, post) -> {
+            Post updated = copyOf(post);
+            updated.getStats().setViews((int) (updated.getStats().getViews() + delta));
+            return updated;
+        }));
+    }
+
+    /**
+     * 按 ID 获取博文。
+     *
+     * @param id 博文 ID
+     * @return 博文副本（已合并未写回的浏览量）
+     */
+    public Optional<Post> getById(String id) {
+        Post post = byId.getIfPresent(id);
+        if (post == null) {
+            post = load(id);
+        }
+        return Optional.ofNullable(post).map(PostCacheService::copyOf).map(postViewCounter::applyPendingViews);
+    }
+
+    /**
+     * 按 slug 获取博文。
+     *
+     * @param slug 博文 slug
+     * @return 博文副本（已合并未写回的浏览量）
+     */
+    public Optional<Post> getBySlug(String slug) {
+        // 1. slug → ID：本地缓存 → Redis
+        String id = slugToId.getIfPresent(slug);
+        if (id == null && properties.isRedisEnabled()) {
+            id = redisStringService.get(SLUG_KEY_PREFIX + slug);
+            countRedis(id != null);
+        }
+
+        // 2. 按 ID 读取并校验 slug 仍然匹配（slug 被修改后旧映射可能尚未失效）
+        if (id != null) {
+            Optional<Post> post = getById(id);
+            if (post.isPresent() && slug.equals(post.get().getSlug())) {
+                slugToId.put(slug, id);
+                return post;
+            }
+            evictSlug(slug);
+        }
+
+        // 3. 回源数据库，同时回填 ID 与 slug 两级缓存
+        Optional<Post> loaded = postRepository.findBySlug(slug);
+        loaded.ifPresent(this::put);
+        return loaded.map(PostCacheService::copyOf).map(postViewCounter::applyPendingViews);
+    }
+
+    /**
+     * 使博文缓存在所有节点失效。
+     *
+     * @param id    博文 ID
+     * @param slugs 需要同时失效的 slug（如修改前后的 slug），仅内容或计数变化时可不传
+     */
+    public void evict(String id, String... slugs) {
+        String[] nonNullSlugs = Arrays.stream(slugs).filter(Objects::nonNull).distinct().toArray(String[]::new);
+        byId.invalidate(id);
+        if (properties.isRedisEnabled()) {
+            redisStringService.delete(ID_KEY_PREFIX + id);
+        }
+        for (String slug : nonNullSlugs) {
+            evictSlug(slug);
+        }
+        String message = nonNullSlugs.length == 0 ? id : id + "\n" + String.join("\n", nonNullSlugs);
+        if (!redisPubSubService.publish(EVICT_CHANNEL, message)) {
+            log.warn("博文缓存失效广播失败，其余节点将在本地缓存过期后自然失效，postId: {}", id);
+        }
+    }
+
+    private Post load(String id) {
+        // 1. Redis 二级缓存
+        Post post = getFromRedis(id);
+        if (post != null) {
+            byId.put(id, post);
+            return post;
+        }
+
+        // 2. 回源数据库并回填两级缓存
+        post = postRepository.findById(id).orElse(null);
+        if (post != null) {
+            put(post);
+        }
+        return post;
+    }
+
+    private void put(Post post) {
+        byId.put(post.getId(), post);
+        if (post.getSlug() != null) {
+            slugToId.put(post.getSlug(), post.getId());
+        }
+        if (!properties.isRedisEnabled()) {
+            return;
+        }
+        try {
+            long ttl = properties.getRedisTtl().toSeconds();
+            redisStringService.set(ID_KEY_PREFIX + post.getId(), objectMapper.writeValueAsString(post), ttl);
+            if (post.getSlug() != null) {
+                redisStringService.set(SLUG_KEY_PREFIX + post.getSlug(), post.getId(), ttl);
+            }
+        } catch (JsonProcessingException e) {
+            log.warn("博文缓存序列化失败，postId: {}", post.getId(), e);
+        }
+    }
+
+    private Post getFromRedis(String id) {
+        if (!properties.isRedisEnabled()) {
+            return null;
+        }
+        String json = redisStringService.get(ID_KEY_PREFIX + id);
+        countRedis(json != null);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, Post.class);
+        } catch (JsonProcessingException e) {
+            log.warn("博文缓存反序列化失败，postId: {}", id, e);
+            return null;
+        }
+    }
+
+    private void evictSlug(String slug) {
+        slugToId.invalidate(slug);
+        if (properties.isRedisEnabled()) {
+            redisStringService.delete(SLUG_KEY_PREFIX + slug);
+        }
+    }
+
+    private void countRedis(boolean hit) {
+        (hit ? redisHits : redisMisses).increment();
+    }
+
+    /**
+     * 复制博文（统计数据深拷贝），缓存中的对象不对外暴露
+     */
+    private static Post copyOf(Post post) {
+        Post.PostStats stats = new Post.PostStats();
+        if (post.getStats() != null) {
+            stats.setViews(post.getStats().getViews());
+            stats.setLikes(post.getStats().getLikes());
+            stats.setShares(post.getStats().getShares());
+        }
+        return post.toBuilder().stats(stats).build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostComment;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+/**
+ * 内嵌评论迁移：将博文文档中历史遗留的 comments 数组迁入 post_comments 集合。
+ * <p>
+ * 以游标流式读取仍带有内嵌评论的博文（只投影 _id 与 comments），每批博文的评论以 _id 为键批量 upsert，
+ * 写入成功后再 $unset 博文的 comments（缺少 commentCount 的博文按迁移条数补齐）。
+ * 中途失败时未 $unset 的博文会在下次启动时重新迁移，upsert 保证不会产生重复评论
+ * （没有 ID 的历史评论按博文 ID 与数组下标生成确定性 ID）。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostCommentMigration {
+
+    /** 每批处理的博文数 */
+    private static final int BATCH_SIZE = 100;
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateEmbeddedComments() {
+        Query query = Query.query(Criteria.where("comments.0").exists(true));
+        query.fields().include("_id").include("comments");
+        query.cursorBatchSize(BATCH_SIZE);
+
+        String collection = mongoTemplate.getCollectionName(Post.class);
+        List<Document> batch = new ArrayList<>(BATCH_SIZE);
+        long migrated = 0;
+        try (Stream<Document> posts = mongoTemplate.stream(query, Document.class, collection)) {
+            for (Document post : (Iterable<Document>) posts::iterator) {
+                batch.add(post);
+                if (batch.size() == BATCH_SIZE) {
+                    migrated += migrateBatch(batch);
+                    batch.clear();
+                }
+            }
+        }
+        if (!batch.isEmpty()) {
+            migrated += migrateBatch(batch);
+        }
+        if (migrated > 0) {
+            log.info("已将 {} 条内嵌评论迁移至 post_comments 集合", migrated);
+        }
+    }
+
+    private long migrateBatch(List<Document> posts) {
+        // 1. 评论按原 ID 幂等写入评论集合
+        BulkOperations commentOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, PostComment.class);
+        BulkOperations postOps = mongoTemplate.bulkOps(BulkOperations.BulkMode.ORDERED, Post.class);
+        long count = 0;
+        for (Document post : posts) {
+            Object postId = post.get("_id");
+            List<Document> comments = post.getList("comments", Document.class);
+            for (int i = 0; i < comments.size(); i++) {
+                Document comment = comments.get(i);
+                Object id = comment.get("_id");
+                Update update = new Update()
+                        .setOnInsert("postId", postId.toString())
+                        .setOnInsert("content", comment.get("content"))
+                        .setOnInsert("authorId", comment.get("authorId"))
+                        .setOnInsert("authorName", comment.get("authorName"))
+                        .setOnInsert("createdAt", comment.get("createdAt"));
+                commentOps.upsert(Query.query(Criteria.where("_id").is(id != null ? id : legacyId(postId, i))), update);
+            }
+            // 2. 评论写入成功后再移除内嵌数组；已由原子计数维护的 commentCount 保持不变
+            postOps.updateOne(
+                    Query.query(Criteria.where("_id").is(postId).and("commentCount").exists(false)),
+                    new Update().set("commentCount", comments.size())
+            );
+            postOps.updateOne(Query.query(Criteria.where("_id").is(postId)), new Update().unset("comments"));
+            count += comments.size();
+        }
+        if (count > 0) {
+            commentOps.execute();
+        }
+        postOps.execute();
+        return count;
+    }
+
+    /**
+     * 为没有 ID 的历史评论生成确定性 ID（博文 ID + 数组下标的名字 UUID），重复迁移时 upsert 命中同一条评论。
+     */
+    private static String legacyId(Object postId, int index) {
+        return UUID.nameUUIDFromBytes((postId + ":" + index).getBytes(StandardCharsets.UTF_8)).toString();
+    }
+}
@@ -0,0 +1,157 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.domain.entity.Comment;
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostComment;
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.domain.response.CursorPageResult;
+import com.bryan.platform.domain.vo.CommentResultVO;
+import com.bryan.platform.util.page.CursorUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 博文评论服务。
+ * <p>
+ * 评论存放在独立的 post_comments 集合，博文文档只维护反范式的 commentCount；
+ * 博文详情与列表不再携带评论数据，评论通过游标分页单独读取。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PostCommentService {
+
+    private final MongoTemplate mongoTemplate;
+    private final PostTrendingService postTrendingService;
+    private final PostCacheService postCacheService;
+
+    /**
+     * 游标分页获取博文评论（按创建时间倒序）。
+     *
+     * @param postId 博文 ID
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size   每页条数
+     * @return 评论分页结果
+     */
+    public CursorPageResult<PostComment> getComments(String postId, String cursor, int size) {
+        Query query = CursorUtils.seek(Criteria.where("postId").is(postId), cursor, size);
+        List<PostComment> rows = mongoTemplate.find(query, PostComment.class);
+        return CursorUtils.page(rows, size, PostComment::getCreatedAt, PostComment::getId);
+    }
+
+    /**
+     * 为博文添加评论：先原子递增博文评论数（同时校验博文存在），再写入评论集合。
+     *
+     * @param postId     博文 ID
+     * @param comment    评论内容（不包含作者信息）
+     * @param authorId   作者 ID
+     * @param authorName 作者名称
+     * @return 新增的评论与博文最新评论数
+     * @throws RuntimeException 如果博文不存在
+     */
+    public CommentResultVO addComment(String postId, Comment comment, Long authorId, String authorName) {
+        // 1. 递增评论数，只取回评论数与状态字段
+        Query postQuery = Query.query(Criteria.where("_id").is(postId));
+        postQuery.fields().include("commentCount").include("status");
+        Post updated = mongoTemplate.findAndModify(
+                postQuery,
+                new Update().inc("commentCount", 1),
+                FindAndModifyOptions.options().returnNew(true),
+                Post.class
+        );
+        if (updated == null) {
+            throw new RuntimeException("Post not found with id: " + postId);
+        }
+
+        // 2. 写入评论，失败时回滚评论数
+        PostComment postComment = PostComment.builder()
+                .id(UUID.randomUUID().toString())
+                .postId(postId)
+                .content(comment.getContent())
+                .authorId(authorId)
+                .authorName(authorName)
+                .createdAt(LocalDateTime.now())
+                .build();
+        try {
+            mongoTemplate.insert(postComment);
+        } catch (RuntimeException e) {
+            adjustCommentCount(postId, -1);
+            throw e;
+        }
+        postCacheService.evict(postId);
+        if (updated.getStatus() == PostStatusEnum.PUBLISHED) {
+            postTrendingService.record(postId, PostTrendingService.Event.COMMENT);
+        }
+        return new CommentResultVO(postComment, updated.getCommentCount());
+    }
+
+    /**
+     * 删除博文评论：权限条件并入删除条件，删除成功后递减博文评论数。
+     *
+     * @param postId        博文 ID
+     * @param commentId     评论 ID
+     * @param currentUserId 当前用户 ID
+     * @param isAdmin       是否为管理员
+     * @return 被删除的评论与博文最新评论数
+     * @throws RuntimeException 评论不存在或无权限
+     */
+    public CommentResultVO deleteComment(String postId, String commentId, Long currentUserId, boolean isAdmin) {
+        // 1. 非管理员只能删除自己发表的评论
+        Criteria criteria = Criteria.where("_id").is(commentId).and("postId").is(postId);
+        if (!isAdmin) {
+            criteria = criteria.and("authorId").is(currentUserId);
+        }
+        PostComment removed = mongoTemplate.findAndRemove(Query.query(criteria), PostComment.class);
+
+        // 2. 未匹配时区分"无权限"与"不存在"
+        if (removed == null) {
+            boolean exists = mongoTemplate.exists(
+                    Query.query(Criteria.where("_id").is(commentId).and("postId").is(postId)),
+                    PostComment.class
+            );
+            if (exists) {
+                throw new RuntimeException("Unauthorized: You are not the author of this comment.");
+            }
+            throw new RuntimeException("Comment not found with id: " + commentId);
+        }
+
+        // 3. 递减评论数
+        int commentCount = adjustCommentCount(postId, -1);
+        postCacheService.evict(postId);
+        return new CommentResultVO(removed, commentCount);
+    }
+
+    /**
+     * 删除博文的全部评论（博文删除时调用）。
+     *
+     * @param postId 博文 ID
+     */
+    public void deleteByPostId(String postId) {
+        mongoTemplate.remove(Query.query(Criteria.where("postId").is(postId)), PostComment.class);
+    }
+
+    private int adjustCommentCount(String postId, int delta) {
+        Query postQuery = Query.query(Criteria.where("_id").is(postId));
+        postQuery.fields().include("commentCount");
+        Post updated = mongoTemplate.findAndModify(
+                postQuery,
+                new Update().inc("commentCount", delta),
+                FindAndModifyOptions.options().returnNew(true),
+                Post.class
+        );
+        return updated == null ? 0 : Math.max(0, updated.getCommentCount());
+    }
+}
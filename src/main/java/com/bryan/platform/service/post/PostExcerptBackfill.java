@@ -0,0 +1,69 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.util.text.ExcerptUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.stream.Stream;
+
+/**
+ * 历史博文摘要回填：为尚无 excerpt 字段的博文生成摘要。
+ * <p>
+ * 以游标流式读取（只投影 _id 与 content），按批批量更新；仅匹配缺少该字段的文档，重复执行无副作用。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PostExcerptBackfill {
+
+    /** 每批更新的博文数 */
+    private static final int BATCH_SIZE = 500;
+
+    private final MongoTemplate mongoTemplate;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillExcerpts() {
+        Query query = Query.query(Criteria.where("excerpt").exists(false));
+        query.fields().include("_id").include("content");
+        query.cursorBatchSize(BATCH_SIZE);
+
+        BulkOperations bulk = null;
+        int batched = 0;
+        long updated = 0;
+        try (Stream<Document> posts = mongoTemplate.stream(query, Document.class, mongoTemplate.getCollectionName(Post.class))) {
+            for (Document post : (Iterable<Document>) posts::iterator) {
+                if (bulk == null) {
+                    bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+                }
+                bulk.updateOne(
+                        Query.query(Criteria.where("_id").is(post.get("_id"))),
+                        new Update().set("excerpt", ExcerptUtils.of(post.getString("content")))
+                );
+                if (++batched == BATCH_SIZE) {
+                    updated += bulk.execute().getModifiedCount();
+                    bulk = null;
+                    batched = 0;
+                }
+            }
+        }
+        if (bulk != null) {
+            updated += bulk.execute().getModifiedCount();
+        }
+        if (updated > 0) {
+            log.info("已为 {} 篇历史博文回填摘要", updated);
+        }
+    }
+}
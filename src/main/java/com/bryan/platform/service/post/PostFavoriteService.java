@@ -5,14 +5,15 @@ import com.bryan.platform.exception.BusinessException;
 import com.bryan.platform.exception.ResourceNotFoundException;
 import com.bryan.platform.mapper.PostFavoriteMapper;
 import com.bryan.platform.repository.PostRepository;
-import com.bryan.platform.domain.entity.post.Post;
 import com.bryan.platform.domain.entity.post.PostFavorite;
+import com.bryan.platform.domain.entity.post.PostSummary;
 import com.bryan.platform.service.user.UserService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,6 +35,7 @@ public class PostFavoriteService {
 
     private final PostFavoriteMapper postFavoriteMapper;
     private final PostRepository postRepository;
+    private final PostService postService;
     private final UserService userService;
 
     /**
@@ -41,10 +43,10 @@ public class PostFavoriteService {
      *
      * @param userId 用户 ID
      * @param pageable 分页参数
-     * @return 用户收藏的博文分页结果
+     * @return 用户收藏的博文摘要分页结果
      * @throws ResourceNotFoundException 如果用户不存在
      */
-    public Page<Post> getFavoritePostsByUserId(Long userId, Pageable pageable) {
+    public Page<PostSummary> getFavoritePostsByUserId(Long userId, Pageable pageable) {
         // 校验用户是否存在
         SysUser user = userService.getUserById(userId);
         if (user == null) {
@@ -58,8 +60,8 @@ public class PostFavoriteService {
             return new PageImpl<>(Collections.emptyList(), pageable, 0);
         }
 
-        // 根据博文ID查询博文内容并分页返回
-        return postRepository.findByIdIn(postIds, pageable);
+        // 根据博文ID查询博文摘要并分页返回
+        return postService.findSummaries(Criteria.where("_id").in(postIds), pageable);
     }
 
     /**
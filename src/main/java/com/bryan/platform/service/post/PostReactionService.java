@@ -0,0 +1,163 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.domain.vo.ReactionResultVO;
+import com.bryan.platform.service.redis.RedisSetService;
+import com.bryan.platform.service.redis.RedisStringService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 博文点赞与分享服务。
+ * <p>
+ * 每篇博文的点赞用户、分享用户分别存放在 Redis 集合中（成员为用户 ID），同一用户重复操作不会重复计数，
+ * "我是否点赞" 为一次 SISMEMBER，列表页批量查询以管道一次往返完成。
+ * 集合成员数即实时计数；数据库中的 stats.likes / stats.shares 由 {@link PostStatsBuffer} 批量 $inc 写回，最多滞后一个写回间隔。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Service
+@RequiredArgsConstructor
+public class PostReactionService {
+
+    private static final String LIKERS_KEY = "post:likers:";
+    private static final String SHARERS_KEY = "post:sharers:";
+
+    private static final String LIKES_FIELD = "stats.likes";
+    private static final String SHARES_FIELD = "stats.shares";
+
+    /** 添加成员并返回 {是否新增, 成员数}，一次往返 */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> ADD_SCRIPT = new DefaultRedisScript<>(
+            "local added = redis.call('SADD', KEYS[1], ARGV[1]) " +
+            "return {added, redis.call('SCARD', KEYS[1])}",
+            List.class);
+
+    /** 移除成员并返回 {是否移除, 成员数}，一次往返 */
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> REMOVE_SCRIPT = new DefaultRedisScript<>(
+            "local removed = redis.call('SREM', KEYS[1], ARGV[1]) " +
+            "return {removed, redis.call('SCARD', KEYS[1])}",
+            List.class);
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisStringService redisStringService;
+    private final RedisSetService redisSetService;
+    private final PostStatsBuffer postStatsBuffer;
+    private final PostTrendingService postTrendingService;
+
+    /**
+     * 点赞博文（幂等）。
+     *
+     * @param postId 博文 ID
+     * @param userId 当前用户 ID
+     * @return 点赞状态与最新点赞数
+     * @throws RuntimeException 如果博文不存在或未发布
+     */
+    public ReactionResultVO like(String postId, Long userId) {
+        ensurePublished(postId);
+        long[] result = execute(ADD_SCRIPT, LIKERS_KEY + postId, userId);
+        if (result[0] > 0) {
+            postStatsBuffer.add(postId, LIKES_FIELD, 1);
+            postTrendingService.record(postId, PostTrendingService.Event.LIKE);
+        }
+        return new ReactionResultVO(true, result[1]);
+    }
+
+    /**
+     * 取消点赞（幂等）。
+     *
+     * @param postId 博文 ID
+     * @param userId 当前用户 ID
+     * @return 点赞状态与最新点赞数
+     */
+    public ReactionResultVO unlike(String postId, Long userId) {
+        long[] result = execute(REMOVE_SCRIPT, LIKERS_KEY + postId, userId);
+        if (result[0] > 0) {
+            postStatsBuffer.add(postId, LIKES_FIELD, -1);
+        }
+        return new ReactionResultVO(false, result[1]);
+    }
+
+    /**
+     * 分享博文，同一用户多次分享只计一次。
+     *
+     * @param postId 博文 ID
+     * @param userId 当前用户 ID
+     * @return 分享状态与最新分享数
+     * @throws RuntimeException 如果博文不存在或未发布
+     */
+    public ReactionResultVO share(String postId, Long userId) {
+        ensurePublished(postId);
+        long[] result = execute(ADD_SCRIPT, SHARERS_KEY + postId, userId);
+        if (result[0] > 0) {
+            postStatsBuffer.add(postId, SHARES_FIELD, 1);
+            postTrendingService.record(postId, PostTrendingService.Event.SHARE);
+        }
+        return new ReactionResultVO(true, result[1]);
+    }
+
+    /**
+     * 判断用户是否已点赞博文。
+     *
+     * @param postId 博文 ID
+     * @param userId 用户 ID
+     * @return 已点赞返回 true
+     */
+    public boolean isLiked(String postId, Long userId) {
+        return redisSetService.isMember(LIKERS_KEY + postId, userId.toString());
+    }
+
+    /**
+     * 批量判断用户是否已点赞一组博文（列表页使用，一次往返）。
+     *
+     * @param postIds 博文 ID 列表
+     * @param userId  用户 ID
+     * @return 博文 ID → 是否已点赞，顺序与入参一致
+     */
+    public Map<String, Boolean> likedByUser(List<String> postIds, Long userId) {
+        List<String> keys = postIds.stream().map(postId -> LIKERS_KEY + postId).toList();
+        List<Boolean> liked = redisSetService.isMemberOfEach(keys, userId.toString());
+        Map<String, Boolean> result = new LinkedHashMap<>();
+        for (int i = 0; i < postIds.size(); i++) {
+            result.put(postIds.get(i), liked.get(i));
+        }
+        return result;
+    }
+
+    /**
+     * 删除博文的点赞与分享记录（删除博文时调用）。
+     *
+     * @param postId 博文 ID
+     */
+    public void deleteByPostId(String postId) {
+        redisSetService.delete(LIKERS_KEY + postId, SHARERS_KEY + postId);
+    }
+
+    private void ensurePublished(String postId) {
+        Query query = Query.query(Criteria.where("_id").is(postId).and("status").is(PostStatusEnum.PUBLISHED));
+        if (!mongoTemplate.exists(query, Post.class)) {
+            throw new RuntimeException("Post not found with id: " + postId);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private long[] execute(RedisScript<List> script, String key, Long userId) {
+        List result = redisStringService.execute(script, List.of(key), userId.toString());
+        if (result == null || result.size() < 2) {
+            throw new RuntimeException("操作失败，请稍后重试");
+        }
+        return new long[]{((Number) result.get(0)).longValue(), ((Number) result.get(1)).longValue()};
+    }
+}
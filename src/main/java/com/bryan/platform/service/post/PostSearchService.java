@@ -0,0 +1,163 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.config.properties.SearchProperties;
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostSummary;
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.domain.response.CursorPageResult;
+import com.bryan.platform.domain.vo.SearchHitVO;
+import com.bryan.platform.service.search.InvertedIndex;
+import com.bryan.platform.service.search.SearchIndexService;
+import com.bryan.platform.util.page.CursorUtils;
+import com.bryan.platform.util.text.HighlightUtils;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import org.bson.Document;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 博文全文搜索服务。
+ * <p>
+ * 优先使用进程内倒排索引（中文二元组分词 + BM25）按相关度排序，索引就绪前回退到 MongoDB 文本索引（textScore），
+ * 只返回已发布博文的摘要与高亮片段，并以偏移量游标分页。
+ * 热门关键词的结果页缓存在本地 Caffeine 中；各节点在本地索引完成博文变更的重新索引后清空缓存，
+ * 避免在索引更新前重新缓存旧的排序结果。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Service
+public class PostSearchService {
+
+    private static final String SCORE_FIELD = "score";
+
+    /** 高亮片段最大长度 */
+    private static final int HIGHLIGHT_LENGTH = 120;
+
+    private final MongoTemplate mongoTemplate;
+    private final PostViewCounter postViewCounter;
+    private final SearchIndexService searchIndexService;
+    private final SearchProperties properties;
+    private final Cache<String, CursorPageResult<SearchHitVO<PostSummary>>> cache;
+
+    public PostSearchService(MongoTemplate mongoTemplate,
+                             PostViewCounter postViewCounter,
+                             SearchIndexService searchIndexService,
+                             SearchProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.postViewCounter = postViewCounter;
+        this.searchIndexService = searchIndexService;
+        this.properties = properties;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "post.search");
+    }
+
+    @PostConstruct
+    public void listenIndexChanges() {
+        searchIndexService.addPostListener(postId -> cache.invalidateAll());
+    }
+
+    /**
+     * 按相关度分页搜索已发布博文。
+     *
+     * @param keyword 搜索关键词
+     * @param cursor  上一页返回的游标，第一页传 null
+     * @param size    每页条数
+     * @return 命中项游标分页结果
+     */
+    public CursorPageResult<SearchHitVO<PostSummary>> search(String keyword, String cursor, int size) {
+        String normalized = keyword.trim().toLowerCase(Locale.ROOT);
+        int offset = CursorUtils.decodeOffset(cursor);
+        int limit = CursorUtils.limitOf(size);
+        if (offset > properties.getMaxOffset()) {
+            return CursorPageResult.of(List.of(), null);
+        }
+        return cache.get(normalized + '\u0000' + offset + '\u0000' + limit, key -> doSearch(normalized, offset, limit));
+    }
+
+    private CursorPageResult<SearchHitVO<PostSummary>> doSearch(String keyword, int offset, int limit) {
+        List<SearchHitVO<PostSummary>> hits = searchIndexService.isReady() && searchIndexService.isSearchable(keyword)
+                ? searchIndex(keyword, offset, limit + 1)
+                : searchMongo(keyword, offset, limit + 1);
+        return CursorUtils.offsetPage(hits, offset, limit, properties.getMaxOffset());
+    }
+
+    /**
+     * 进程内倒排索引检索：按 BM25 取前 offset + count 个 ID，再按 ID 批量投影读取摘要。
+     */
+    private List<SearchHitVO<PostSummary>> searchIndex(String keyword, int offset, int count) {
+        List<InvertedIndex.Hit> ranked = searchIndexService.searchPosts(keyword, offset + count);
+        if (ranked.size() <= offset) {
+            return List.of();
+        }
+        ranked = ranked.subList(offset, ranked.size());
+
+        // 索引异步刷新，取消发布后到刷新完成前仍可能命中，回源时按状态再过滤一次
+        Query query = Query.query(Criteria.where("_id").in(ranked.stream().map(InvertedIndex.Hit::id).toList())
+                .and("status").is(PostStatusEnum.PUBLISHED));
+        query.fields().include(PostSummary.FIELDS);
+        Map<String, PostSummary> summaries = mongoTemplate
+                .find(query, PostSummary.class, mongoTemplate.getCollectionName(Post.class))
+                .stream()
+                .collect(Collectors.toMap(PostSummary::getId, Function.identity()));
+
+        Pattern terms = HighlightUtils.compile(keyword);
+        List<SearchHitVO<PostSummary>> hits = new ArrayList<>(ranked.size());
+        for (InvertedIndex.Hit hit : ranked) {
+            PostSummary summary = summaries.get(hit.id());
+            if (summary != null) {
+                hits.add(toHit(summary, hit.score(), terms));
+            }
+        }
+        return hits;
+    }
+
+    /**
+     * MongoDB 文本索引检索（倒排索引就绪前、或查询切分不出词项时的回退路径）：按 textScore 倒序，_id 兜底保证翻页稳定，排除正文字段。
+     */
+    private List<SearchHitVO<PostSummary>> searchMongo(String keyword, int offset, int count) {
+        TextQuery query = TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(keyword))
+                .sortByScore()
+                .includeScore(SCORE_FIELD);
+        query.addCriteria(Criteria.where("status").is(PostStatusEnum.PUBLISHED.name()));
+        query.fields().exclude("content");
+        query.with(Sort.by(Sort.Direction.DESC, "_id"));
+        query.skip(offset).limit(count);
+        List<Document> docs = mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Post.class));
+
+        Pattern terms = HighlightUtils.compile(keyword);
+        return docs.stream()
+                .map(doc -> toHit(mongoTemplate.getConverter().read(PostSummary.class, doc),
+                        doc.get(SCORE_FIELD, Number.class).doubleValue(), terms))
+                .toList();
+    }
+
+    private SearchHitVO<PostSummary> toHit(PostSummary summary, double score, Pattern terms) {
+        postViewCounter.applyPendingViews(summary);
+        String text = Objects.toString(summary.getTitle(), "") + " — " + Objects.toString(summary.getExcerpt(), "");
+        return new SearchHitVO<>(summary, score, HighlightUtils.highlight(text, terms, HIGHLIGHT_LENGTH));
+    }
+}
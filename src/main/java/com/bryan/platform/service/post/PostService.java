@@ -1,20 +1,34 @@
 package com.bryan.platform.service.post;
 
-import com.bryan.platform.domain.entity.Comment;
 import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostSummary;
 import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.domain.response.CursorPageResult;
 import com.bryan.platform.domain.response.PageResult;
+import com.bryan.platform.domain.vo.RelatedPostVO;
 import com.bryan.platform.repository.PostRepository;
 import com.bryan.platform.domain.entity.user.SysUser;
+import com.bryan.platform.service.feed.TimelineService;
+import com.bryan.platform.service.search.SearchIndexService;
 import com.bryan.platform.service.user.UserFollowService;
+import com.bryan.platform.util.page.CursorUtils;
+import com.bryan.platform.util.text.ExcerptUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.data.domain.*;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StringUtils;
 
 import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -28,8 +42,21 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PostService {
 
+    /** slug 冲突时的最大尝试次数 */
+    private static final int MAX_SLUG_ATTEMPTS = 3;
+
     private final PostRepository postRepository;
     private final UserFollowService userFollowService;
+    private final PostViewCounter postViewCounter;
+    private final PostCommentService postCommentService;
+    private final SlugAllocator slugAllocator;
+    private final SearchIndexService searchIndexService;
+    private final RelatedPostService relatedPostService;
+    private final PostTrendingService postTrendingService;
+    private final PostReactionService postReactionService;
+    private final PostCacheService postCacheService;
+    private final TimelineService timelineService;
+    private final MongoTemplate mongoTemplate;
 
     /**
      * 获取所有博文（管理员专用，支持分页和排序）
@@ -37,8 +64,8 @@ public class PostService {
      * @param pageable 分页参数
      * @return 所有博文分页结果
      */
-    public Page<Post> getAllPosts(Pageable pageable) {
-        return postRepository.findAll(pageable);
+    public Page<PostSummary> getAllPosts(Pageable pageable) {
+        return findSummaries(new Criteria(), pageable);
     }
 
     /**
@@ -47,8 +74,40 @@ public class PostService {
      * @param pageable 分页参数
      * @return 博文分页结果
      */
-    public Page<Post> getPublishedPosts(Pageable pageable) {
-        return postRepository.findByStatusOrderByCreatedAtDesc(PostStatusEnum.PUBLISHED, pageable);
+    public Page<PostSummary> getPublishedPosts(Pageable pageable) {
+        return findSummaries(Criteria.where("status").is(PostStatusEnum.PUBLISHED), pageable);
+    }
+
+    /**
+     * 游标分页获取已发布博文摘要（按创建时间倒序，无总数）
+     *
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size   每页条数
+     * @return 博文摘要游标分页结果
+     */
+    public CursorPageResult<PostSummary> getPublishedPosts(String cursor, int size) {
+        return findSummaries(Criteria.where("status").is(PostStatusEnum.PUBLISHED), cursor, size);
+    }
+
+    /**
+     * 分页获取热门博文摘要（按时间衰减热度降序）：排名区间从 Redis 有序集合读取，再按 ID 批量投影博文
+     *
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size   每页条数
+     * @return 博文摘要游标分页结果
+     */
+    public CursorPageResult<PostSummary> getTrendingPosts(String cursor, int size) {
+        int offset = CursorUtils.decodeOffset(cursor);
+        int limit = CursorUtils.limitOf(size);
+        List<String> ids = postTrendingService.range(offset, limit + 1);
+        boolean hasNext = ids.size() > limit && offset + limit < postTrendingService.getMaxSize();
+        if (ids.size() > limit) {
+            ids = ids.subList(0, limit);
+        }
+
+        // 按排名顺序组装，过滤已删除或未发布的博文
+        List<PostSummary> rows = findPublishedSummaries(ids);
+        return CursorPageResult.of(rows, hasNext ? CursorUtils.encodeOffset(offset + limit) : null);
     }
 
     /**
@@ -59,7 +118,7 @@ public class PostService {
      * @throws RuntimeException 如果博文不存在
      */
     public Post getPostById(String id) {
-        return postRepository.findById(id)
+        return postCacheService.getById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found with id: " + id));
     }
 
@@ -76,8 +135,8 @@ public class PostService {
             throw new RuntimeException("Invalid slug: slug cannot be null or empty.");
         }
 
-        // 2. 查询博文
-        return postRepository.findBySlug(slug)
+        // 2. 查询博文（两级缓存）
+        return postCacheService.getBySlug(slug)
                 .orElseThrow(() -> new RuntimeException("Post not found with slug: " + slug));
     }
 
@@ -88,8 +147,20 @@ public class PostService {
      * @param pageable 分页信息
      * @return 博文分页结果
      */
-    public Page<Post> getPostsByAuthorId(Long authorId, Pageable pageable) {
-        return postRepository.findByAuthorIdOrderByCreatedAtDesc(authorId, pageable);
+    public Page<PostSummary> getPostsByAuthorId(Long authorId, Pageable pageable) {
+        return findSummaries(Criteria.where("authorId").is(authorId), pageable);
+    }
+
+    /**
+     * 游标分页获取指定作者的博文摘要（按创建时间倒序，无总数）
+     *
+     * @param authorId 作者用户 ID
+     * @param cursor   上一页返回的游标，第一页传 null
+     * @param size     每页条数
+     * @return 博文摘要游标分页结果
+     */
+    public CursorPageResult<PostSummary> getPostsByAuthorId(Long authorId, String cursor, int size) {
+        return findSummaries(Criteria.where("authorId").is(authorId), cursor, size);
     }
 
     /**
@@ -99,7 +170,7 @@ public class PostService {
      * @param pageable 分页信息
      * @return 关注用户的博文分页结果
      */
-    public Page<Post> getFollowingPosts(Long userId, Pageable pageable) {
+    public Page<PostSummary> getFollowingPosts(Long userId, Pageable pageable) {
         // 1. 获取关注的用户列表
         PageResult<SysUser> followingUsers = userFollowService.getFollowingUsers(
                 userId,
@@ -119,13 +190,25 @@ public class PostService {
                 .collect(Collectors.toList());
 
         // 4. 查询对应用户的已发布博文
-        return postRepository.findByAuthorIdInAndStatusOrderByCreatedAtDesc(
-                followingIds,
-                PostStatusEnum.PUBLISHED,
+        return findSummaries(
+                Criteria.where("authorId").in(followingIds).and("status").is(PostStatusEnum.PUBLISHED),
                 pageable
         );
     }
 
+    /**
+     * 游标分页获取关注用户的博文摘要（关注时间线，按创建时间倒序）：一次时间线区间读取 + 一次按 ID 批量投影
+     *
+     * @param userId 当前用户 ID
+     * @param cursor 上一页返回的游标，第一页传 null
+     * @param size   每页条数
+     * @return 博文摘要游标分页结果
+     */
+    public CursorPageResult<PostSummary> getFollowingPosts(Long userId, String cursor, int size) {
+        TimelineService.TimelinePage page = timelineService.read(TimelineService.Kind.POST, userId, cursor, size);
+        return CursorPageResult.of(findPublishedSummaries(page.ids()), page.nextCursor());
+    }
+
     /**
      * 创建新博文
      *
@@ -139,23 +222,26 @@ public class PostService {
         post.setAuthorId(authorId);
         post.setAuthorName(authorName);
 
-        // 2. 生成唯一 slug
-        post.setSlug(generateUniqueSlug(post.getTitle(), null));
-
-        // 3. 设置默认状态及时间
+        // 2. 设置默认状态及时间
         post.setStatus(PostStatusEnum.DRAFT);
+        post.setExcerpt(ExcerptUtils.of(post.getContent()));
         if (post.getCreatedAt() == null) {
             post.setCreatedAt(LocalDateTime.now());
         }
         post.setUpdatedAt(LocalDateTime.now());
 
-        // 4. 初始化字段
+        // 3. 初始化字段
         if (post.getStats() == null) post.setStats(new Post.PostStats());
-        if (post.getComments() == null) post.setComments(new ArrayList<>());
         if (post.getTags() == null) post.setTags(new ArrayList<>());
 
-        // 5. 保存博文
-        return postRepository.save(post);
+        // 4. 分配唯一 slug 并保存博文
+        post.setSlug(null);
+        Post saved = withUniqueSlug(post.getTitle(), null, slug -> {
+            post.setSlug(slug);
+            return postRepository.save(post);
+        });
+        searchIndexService.postChanged(saved.getId());
+        return saved;
     }
 
     /**
@@ -169,38 +255,75 @@ public class PostService {
      * @throws RuntimeException 无权限或博文不存在
      */
     public Post updatePost(String id, Post postUpdates, Long currentUserId, boolean isAdmin) {
-        return postRepository.findById(id)
-                .map(existingPost -> {
-                    // 1. 权限校验
-                    if (!isAdmin && !existingPost.getAuthorId().equals(currentUserId)) {
-                        throw new RuntimeException("Unauthorized: You are not the author of this post.");
-                    }
-
-                    // 2. 更新内容
-                    boolean titleChanged = false;
-                    if (postUpdates.getTitle() != null && !postUpdates.getTitle().equals(existingPost.getTitle())) {
-                        existingPost.setTitle(postUpdates.getTitle());
-                        titleChanged = true;
-                    }
-                    if (postUpdates.getContent() != null) existingPost.setContent(postUpdates.getContent());
-                    if (postUpdates.getTags() != null) existingPost.setTags(postUpdates.getTags());
-                    if (postUpdates.getStatus() != null) existingPost.setStatus(postUpdates.getStatus());
-                    if (postUpdates.getFeaturedImage() != null) existingPost.setFeaturedImage(postUpdates.getFeaturedImage());
-
-                    // 3. 更新 slug
-                    if (titleChanged) {
-                        existingPost.setSlug(generateUniqueSlug(existingPost.getTitle(), existingPost.getId()));
-                    } else if (postUpdates.getSlug() != null && !postUpdates.getSlug().equals(existingPost.getSlug())) {
-                        existingPost.setSlug(generateUniqueSlug(postUpdates.getSlug(), existingPost.getId()));
-                    } else if (StringUtils.isEmpty(existingPost.getSlug())) {
-                        existingPost.setSlug(generateUniqueSlug(existingPost.getTitle(), existingPost.getId()));
-                    }
-
-                    // 4. 设置更新时间
-                    existingPost.setUpdatedAt(LocalDateTime.now());
-                    return postRepository.save(existingPost);
-                })
+        Post existingPost = postRepository.findById(id)
                 .orElseThrow(() -> new RuntimeException("Post not found with id: " + id));
+
+        // 1. 权限校验
+        if (!isAdmin && !existingPost.getAuthorId().equals(currentUserId)) {
+            throw new RuntimeException("Unauthorized: You are not the author of this post.");
+        }
+        String previousSlug = existingPost.getSlug();
+        PostStatusEnum previousStatus = existingPost.getStatus();
+
+        // 2. 只 $set 变更的字段，stats 与 commentCount 由 $inc 维护，不回写
+        Update update = new Update();
+        boolean titleChanged = false;
+        if (postUpdates.getTitle() != null && !postUpdates.getTitle().equals(existingPost.getTitle())) {
+            update.set("title", postUpdates.getTitle());
+            titleChanged = true;
+        }
+        if (postUpdates.getContent() != null) {
+            update.set("content", postUpdates.getContent());
+            update.set("excerpt", ExcerptUtils.of(postUpdates.getContent()));
+        }
+        if (postUpdates.getTags() != null) update.set("tags", postUpdates.getTags());
+        if (postUpdates.getStatus() != null) update.set("status", postUpdates.getStatus());
+        if (postUpdates.getFeaturedImage() != null) update.set("featuredImage", postUpdates.getFeaturedImage());
+
+        // 3. 确定 slug 来源
+        String title = titleChanged ? postUpdates.getTitle() : existingPost.getTitle();
+        String slugSource = null;
+        if (titleChanged) {
+            slugSource = title;
+        } else if (postUpdates.getSlug() != null && !postUpdates.getSlug().equals(existingPost.getSlug())) {
+            slugSource = postUpdates.getSlug();
+        } else if (StringUtils.isEmpty(existingPost.getSlug())) {
+            slugSource = title;
+        }
+
+        // 4. 设置更新时间并写入（需要时重新分配 slug）
+        update.set("updatedAt", LocalDateTime.now());
+        Post saved = slugSource == null
+                ? modifyPost(id, update)
+                : withUniqueSlug(slugSource, previousSlug, slug -> modifyPost(id, update.set("slug", slug)));
+
+        // 5. 失效详情缓存（ID 与修改前后的 slug），更新搜索索引（内容或发布状态可能已变化）
+        postCacheService.evict(saved.getId(), previousSlug, saved.getSlug());
+        searchIndexService.postChanged(saved.getId());
+
+        // 6. 增量更新相关博文推荐（未发布的博文会被移出推荐列表）
+        relatedPostService.postChanged(saved.getId());
+        if (saved.getStatus() != PostStatusEnum.PUBLISHED) {
+            postTrendingService.remove(saved.getId());
+        } else if (previousStatus != PostStatusEnum.PUBLISHED) {
+            // 7. 首次发布：推送到粉丝的关注时间线
+            timelineService.publish(TimelineService.Kind.POST, saved.getAuthorId(), saved.getId(), saved.getCreatedAt());
+        }
+        return saved;
+    }
+
+    /**
+     * 按 ID 原子更新博文并返回更新后的文档
+     *
+     * @throws RuntimeException 博文已被删除
+     */
+    private Post modifyPost(String id, Update update) {
+        Post saved = mongoTemplate.findAndModify(Query.query(Criteria.where("_id").is(id)), update,
+                FindAndModifyOptions.options().returnNew(true), Post.class);
+        if (saved == null) {
+            throw new RuntimeException("Post not found with id: " + id);
+        }
+        return saved;
     }
 
     /**
@@ -220,66 +343,41 @@ public class PostService {
         }
 
         postRepository.deleteById(id);
+        postCacheService.evict(id, post.getSlug());
+        postCommentService.deleteByPostId(id);
+        searchIndexService.postChanged(id);
+        relatedPostService.postRemoved(id);
+        postTrendingService.remove(id);
+        postReactionService.deleteByPostId(id);
     }
 
     /**
-     * 为博文添加评论
+     * 增加博文浏览量（写回式计数，不读取、不回写整篇博文）；只有已发布博文计入热门排行
      *
-     * @param postId 博文 ID
-     * @param comment 评论内容（不包含作者信息）
-     * @param authorId 作者 ID
-     * @param authorName 作者名称
-     * @return 添加评论后的博文实体
+     * @param post 已读取的博文
      */
-    public Post addComment(String postId, Comment comment, Long authorId, String authorName) {
-        Post post = postRepository.findById(postId)
-                .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
-
-        // 1. 设置评论信息
-        comment.setId(UUID.randomUUID().toString());
-        comment.setAuthorId(authorId);
-        comment.setAuthorName(authorName);
-        comment.setCreatedAt(LocalDateTime.now());
-
-        // 2. 添加评论
-        if (post.getComments() == null) {
-            post.setComments(new ArrayList<>());
+    public void incrementViews(Post post) {
+        // 只在本地累加，由 PostViewCounter 定时批量 $inc 写回
+        postViewCounter.increment(post.getId());
+        if (post.getStatus() == PostStatusEnum.PUBLISHED) {
+            postTrendingService.record(post.getId(), PostTrendingService.Event.VIEW);
         }
-        post.getComments().add(comment);
-
-        return postRepository.save(post);
     }
 
     /**
-     * 增加博文浏览量
-     *
-     * @param postId 博文 ID
-     */
-    public void incrementViews(String postId) {
-        postRepository.findById(postId).ifPresent(post -> {
-            post.getStats().setViews(post.getStats().getViews() + 1);
-            postRepository.save(post);
-        });
-    }
-
-    /**
-     * 全文搜索博文
-     *
-     * @param keyword 搜索关键词
-     * @return 匹配的博文列表
-     */
-    public List<Post> fullTextSearch(String keyword) {
-        return postRepository.fullTextSearch(keyword);
-    }
-
-    /**
-     * 根据标签推荐博文
+     * 推荐相关博文：读取后台预先计算的 TF-IDF 近邻列表（一次 Redis 查询）；
+     * 尚未计算时（如新发布或首次全量计算未完成）退回按标签查询最新博文。
      *
      * @param currentPostId 当前博文 ID
      * @param limit 推荐数量
-     * @return 推荐博文列表
+     * @return 推荐博文列表，按相似度降序
      */
-    public List<Post> recommendPosts(String currentPostId, int limit) {
+    public List<RelatedPostVO> recommendPosts(String currentPostId, int limit) {
+        List<RelatedPostVO> related = relatedPostService.getRelated(currentPostId, limit);
+        if (related != null) {
+            return related;
+        }
+
         Post currentPost = postRepository.findById(currentPostId)
                 .orElseThrow(() -> new RuntimeException("Current post not found with id: " + currentPostId));
 
@@ -288,75 +386,98 @@ public class PostService {
             return Collections.emptyList();
         }
 
-        Pageable pageable = PageRequest.of(0, limit, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Pageable pageable = PageRequest.of(0, limit + 1, Sort.by(Sort.Direction.DESC, "createdAt"));
         return postRepository.findByTagsInAndStatusOrderByCreatedAtDesc(tags, PostStatusEnum.PUBLISHED, pageable)
-                .getContent();
+                .getContent().stream()
+                .filter(post -> !post.getId().equals(currentPostId))
+                .limit(limit)
+                .map(post -> new RelatedPostVO(post.getId(), post.getSlug(), post.getTitle(), 0))
+                .collect(Collectors.toList());
     }
 
     /**
-     * 删除博文中的评论
+     * 按条件分页查询博文摘要：只投影列表页所需字段，并合并尚未写回的浏览量
      *
-     * @param postId 博文 ID
-     * @param commentId 评论 ID
-     * @param currentUserId 当前用户 ID
-     * @param isAdmin 是否为管理员
-     * @return 更新后的博文实体
-     * @throws RuntimeException 评论不存在或无权限
+     * @param criteria 查询条件
+     * @param pageable 分页与排序参数，未指定排序时按创建时间倒序
+     * @return 博文摘要分页结果
+     */
+    public Page<PostSummary> findSummaries(Criteria criteria, Pageable pageable) {
+        Query query = Query.query(criteria).with(pageable);
+        if (pageable.getSort().isUnsorted()) {
+            query.with(Sort.by(Sort.Direction.DESC, "createdAt"));
+        }
+        query.fields().include(PostSummary.FIELDS);
+
+        String collection = mongoTemplate.getCollectionName(Post.class);
+        List<PostSummary> rows = mongoTemplate.find(query, PostSummary.class, collection);
+        rows.forEach(postViewCounter::applyPendingViews);
+        return PageableExecutionUtils.getPage(rows, pageable,
+                () -> mongoTemplate.count(Query.query(criteria), PostSummary.class, collection));
+    }
+
+    /**
+     * 按条件游标分页查询博文摘要：基于 (createdAt, _id) 定位，不使用 skip，也不统计总数
+     *
+     * @param criteria 查询条件
+     * @param cursor   上一页返回的游标，第一页传 null
+     * @param size     每页条数
+     * @return 博文摘要游标分页结果
      */
-    public Post deleteComment(String postId, String commentId, Long currentUserId, boolean isAdmin) {
-        return postRepository.findById(postId)
-                .map(post -> {
-                    if (post.getComments() == null) {
-                        post.setComments(new ArrayList<>());
-                    }
-
-                    Comment comment = post.getComments().stream()
-                            .filter(c -> c.getId().equals(commentId))
-                            .findFirst()
-                            .orElseThrow(() -> new RuntimeException("Comment not found with id: " + commentId));
-
-                    if (!isAdmin && !comment.getAuthorId().equals(currentUserId)) {
-                        throw new RuntimeException("Unauthorized: You are not the author of this comment.");
-                    }
-
-                    post.getComments().remove(comment);
-                    return postRepository.save(post);
-                })
-                .orElseThrow(() -> new RuntimeException("Post not found with id: " + postId));
+    public CursorPageResult<PostSummary> findSummaries(Criteria criteria, String cursor, int size) {
+        Query query = CursorUtils.seek(criteria, cursor, size);
+        query.fields().include(PostSummary.FIELDS);
+
+        List<PostSummary> rows = mongoTemplate.find(query, PostSummary.class, mongoTemplate.getCollectionName(Post.class));
+        rows.forEach(postViewCounter::applyPendingViews);
+        return CursorUtils.page(rows, size, PostSummary::getCreatedAt, PostSummary::getId);
+    }
+
+    /**
+     * 按 ID 批量投影已发布博文摘要，保持入参顺序，跳过已删除或未发布的博文
+     *
+     * @param ids 博文 ID 列表
+     * @return 博文摘要列表
+     */
+    private List<PostSummary> findPublishedSummaries(List<String> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Query query = Query.query(Criteria.where("_id").in(ids).and("status").is(PostStatusEnum.PUBLISHED));
+        query.fields().include(PostSummary.FIELDS);
+        Map<String, PostSummary> byId = mongoTemplate.find(query, PostSummary.class, mongoTemplate.getCollectionName(Post.class))
+                .stream()
+                .collect(Collectors.toMap(PostSummary::getId, summary -> summary));
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(postViewCounter::applyPendingViews)
+                .collect(Collectors.toList());
     }
 
     /**
-     * 生成唯一的 slug
+     * 分配唯一 slug 并写入博文；与并发写入或历史数据的 slug 冲突时由唯一索引拒绝，校准计数后重试
      *
-     * @param title 标题或基础文本
-     * @param excludeId 更新时排除的博文 ID（创建时为 null）
-     * @return 唯一 slug 字符串
+     * @param slugSource slug 来源（标题或用户指定的 slug）
+     * @param currentSlug 博文当前的 slug（新建时为 null）
+     * @param write 以分配到的 slug 写入博文
+     * @return 写入后的博文
+     * @throws RuntimeException 多次重试后仍冲突
      */
-    private String generateUniqueSlug(String title, String excludeId) {
-        // 1. 清理标题并格式化
-        String baseSlug = title == null ? "post" : title.toLowerCase()
-                .replaceAll("[^a-zA-Z0-9\\u4e00-\\u9fa5\\s-]", "")
-                .replaceAll("\\s+", "-")
-                .replaceAll("-+", "-")
-                .trim();
-
-        if (baseSlug.isEmpty()) baseSlug = "untitled-post";
-        if (baseSlug.startsWith("-")) baseSlug = baseSlug.substring(1);
-        if (baseSlug.endsWith("-")) baseSlug = baseSlug.substring(0, baseSlug.length() - 1);
-        if (baseSlug.isEmpty()) baseSlug = "untitled-post";
-
-        // 2. 检查唯一性
-        String uniqueSlug = baseSlug;
-        int counter = 0;
-        while (true) {
-            Optional<Post> existing = postRepository.findBySlug(uniqueSlug);
-            if (existing.isPresent() && (excludeId == null || !existing.get().getId().equals(excludeId))) {
-                counter++;
-                uniqueSlug = baseSlug + "-" + counter;
-            } else {
-                break;
+    private Post withUniqueSlug(String slugSource, String currentSlug, Function<String, Post> write) {
+        String baseSlug = SlugAllocator.toBaseSlug(slugSource);
+        for (int attempt = 1; ; attempt++) {
+            String slug = slugAllocator.allocate(baseSlug, currentSlug);
+            try {
+                return write.apply(slug);
+            } catch (DuplicateKeyException e) {
+                if (attempt >= MAX_SLUG_ATTEMPTS) {
+                    throw new RuntimeException("Failed to allocate a unique slug for: " + baseSlug, e);
+                }
+                log.warn("slug 冲突，校准计数后重试，slug: {}", slug);
+                currentSlug = null;
+                slugAllocator.reseed(baseSlug);
             }
         }
-        return uniqueSlug;
     }
 }
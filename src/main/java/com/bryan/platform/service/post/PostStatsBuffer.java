@@ -0,0 +1,181 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.domain.entity.post.Post;
+import com.mongodb.bulk.BulkWriteError;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiConsumer;
+
+/**
+ * 博文统计字段写回缓冲（write-behind）。
+ * <p>
+ * 浏览、点赞、分享等计数只在本地按 (博文, 字段) 以 LongAdder 累加增量（可为负），
+ * 定时合并为每篇博文一条 $inc 批量写回，不读取、不整篇回写博文文档。
+ * 正在写回的增量在写库完成前仍计入 {@link #getPending}；写库失败的增量放回待写回计数（部分失败时只放回失败的博文），
+ * 应用正常关闭前会最后写回一次。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Component
+public class PostStatsBuffer {
+
+    private final MongoTemplate mongoTemplate;
+
+    /** 待写回的增量 */
+    private final ConcurrentHashMap<Key, LongAdder> pending = new ConcurrentHashMap<>();
+
+    /** 正在写回的增量 */
+    private final ConcurrentHashMap<Key, Long> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * 上一轮已从 pending 中摘除的空闲计数器。摘除瞬间仍可能有线程持有并累加，
+     * 因此保留一轮，下一次写回时一并结算，保证增量不丢失。
+     */
+    private Map<Key, LongAdder> retired = new HashMap<>();
+
+    /** 写回成功后的回调（博文 ID，字段 → 写回的增量） */
+    private final List<BiConsumer<String, Map<String, Long>>> flushListeners = new CopyOnWriteArrayList<>();
+
+    public PostStatsBuffer(MongoTemplate mongoTemplate, MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        Gauge.builder("post.stats.pending", pending, Map::size)
+                .description("待写回的博文统计增量数（按博文与字段计）")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 累加计数增量。
+     *
+     * @param postId 博文 ID
+     * @param field  统计字段，如 stats.views
+     * @param delta  增量，可为负
+     */
+    public void add(String postId, String field, long delta) {
+        pending.computeIfAbsent(new Key(postId, field), k -> new LongAdder()).add(delta);
+    }
+
+    /**
+     * 获取尚未写入数据库的增量（含正在写回的部分）。
+     *
+     * @param postId 博文 ID
+     * @param field  统计字段
+     * @return 增量
+     */
+    public long getPending(String postId, String field) {
+        Key key = new Key(postId, field);
+        LongAdder adder = pending.get(key);
+        long delta = adder == null ? 0L : adder.sum();
+        return delta + inFlight.getOrDefault(key, 0L);
+    }
+
+    /**
+     * 注册写回成功回调：增量写入数据库后不再计入待写回量，持有博文副本的缓存需据此累加计数。
+     *
+     * @param listener 回调（博文 ID，字段 → 写回的增量）
+     */
+    public void addFlushListener(BiConsumer<String, Map<String, Long>> listener) {
+        flushListeners.add(listener);
+    }
+
+    /**
+     * 定时批量写回。
+     */
+    @Scheduled(fixedDelayString = "${platform.post.stats-flush-interval:5s}")
+    public synchronized void flush() {
+        // 1. 结算上一轮摘除的计数器与本轮的增量，按博文合并；本轮无增量的计数器摘除，留待下一轮结算
+        Map<String, Map<String, Long>> deltas = new HashMap<>();
+        retired.forEach((key, adder) -> addDelta(deltas, key, adder.sumThenReset()));
+        Map<Key, LongAdder> idle = new HashMap<>();
+        pending.forEach((key, adder) -> {
+            long delta = adder.sumThenReset();
+            if (delta != 0) {
+                addDelta(deltas, key, delta);
+            } else if (pending.remove(key, adder)) {
+                idle.put(key, adder);
+            }
+        });
+        retired = idle;
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        // 2. 每篇博文一条 $inc，无序批量写回
+        List<String> postIds = new ArrayList<>(deltas.keySet());
+        List<Key> written = new ArrayList<>();
+        deltas.forEach((postId, fields) -> fields.forEach((field, delta) -> {
+            Key key = new Key(postId, field);
+            inFlight.put(key, delta);
+            written.add(key);
+        }));
+        try {
+            BulkOperations bulk = mongoTemplate.bulkOps(BulkOperations.BulkMode.UNORDERED, Post.class);
+            for (String postId : postIds) {
+                Update update = new Update();
+                deltas.get(postId).forEach(update::inc);
+                bulk.updateOne(Query.query(Criteria.where("_id").is(postId)), update);
+            }
+            bulk.execute();
+        } catch (BulkOperationException e) {
+            // 部分失败：无序写入中其余更新已生效，只放回失败的博文，避免重复累加
+            log.error("博文统计批量写回部分失败，{} 篇博文的增量将在下次重试", e.getErrors().size(), e);
+            for (BulkWriteError error : e.getErrors()) {
+                String postId = postIds.get(error.getIndex());
+                deltas.remove(postId).forEach((field, delta) -> add(postId, field, delta));
+            }
+        } catch (Exception e) {
+            // 整批失败：增量放回，下次重试
+            log.error("博文统计批量写回失败，{} 篇博文的增量将在下次重试", deltas.size(), e);
+            deltas.forEach((postId, fields) -> fields.forEach((field, delta) -> add(postId, field, delta)));
+            return;
+        } finally {
+            written.forEach(inFlight::remove);
+        }
+
+        // 3. 通知缓存累加已写回的增量（增量已不再计入 inFlight，避免重复计入）
+        for (BiConsumer<String, Map<String, Long>> listener : flushListeners) {
+            try {
+                deltas.forEach(listener);
+            } catch (RuntimeException e) {
+                log.warn("博文统计写回回调执行失败", e);
+            }
+        }
+    }
+
+    /**
+     * 应用关闭前写回全部增量（两轮，确保上一轮摘除的计数器也被结算）。
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flush();
+    }
+
+    private static void addDelta(Map<String, Map<String, Long>> deltas, Key key, long delta) {
+        if (delta != 0) {
+            deltas.computeIfAbsent(key.postId(), k -> new HashMap<>()).merge(key.field(), delta, Long::sum);
+        }
+    }
+
+    private record Key(String postId, String field) {
+    }
+}
@@ -0,0 +1,204 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.config.properties.TrendingProperties;
+import com.bryan.platform.service.redis.RedisStringService;
+import com.bryan.platform.service.redis.RedisZSetService;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.DoubleAdder;
+
+/**
+ * 热门博文排行服务。
+ * <p>
+ * 采用前向衰减（forward decay）：t 时刻的一次互动计入得分 weight · 2^((t - epoch) / halfLife)，
+ * 新互动的贡献随时间指数增大，等价于所有旧得分按半衰期衰减，因此已有得分无需重算，
+ * 每次互动只需一次 ZINCRBY，读取排行榜为一次 ZREVRANGE（O(log n + k)）。
+ * 得分随时间增长，超过一定半衰期数后在 Redis 端整体缩放并推进 epoch，避免浮点溢出。
+ * </p>
+ * <p>
+ * 互动先在本地按博文累计，定时以 Lua 脚本一次性写入：脚本读取 epoch、换算增量、ZINCRBY、淘汰低分博文并在需要时缩放，
+ * 整个过程原子执行，多实例并发写入与缩放互不干扰。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class PostTrendingService {
+
+    private static final String KEY = "post:trending";
+    private static final String EPOCH_KEY = "post:trending:epoch";
+
+    /** epoch 落后当前时间超过该半衰期数时缩放得分（2^64 远小于 double 上限） */
+    private static final int RESCALE_HALF_LIVES = 64;
+
+    /**
+     * KEYS[1] 排行榜，KEYS[2] epoch；ARGV[1] 增量参考时间（毫秒），ARGV[2] 半衰期（毫秒），
+     * ARGV[3] 缩放阈值（半衰期数），ARGV[4] 保留的最大博文数，其后为 (博文 ID, 相对参考时间的增量) 对。
+     */
+    private static final RedisScript<Long> FLUSH_SCRIPT = new DefaultRedisScript<>(
+            "local ref = tonumber(ARGV[1]) " +
+            "local halfLife = tonumber(ARGV[2]) " +
+            "local epoch = tonumber(redis.call('GET', KEYS[2]) or ARGV[1]) " +
+            "if (ref - epoch) / halfLife > tonumber(ARGV[3]) then " +
+            "  if redis.call('EXISTS', KEYS[1]) == 1 then " +
+            "    redis.call('ZUNIONSTORE', KEYS[1], 1, KEYS[1], 'WEIGHTS', 2 ^ ((epoch - ref) / halfLife)) " +
+            "  end " +
+            "  epoch = ref " +
+            "end " +
+            "redis.call('SET', KEYS[2], string.format('%d', epoch)) " +
+            "local factor = 2 ^ ((ref - epoch) / halfLife) " +
+            "for i = 5, #ARGV, 2 do " +
+            "  redis.call('ZINCRBY', KEYS[1], tonumber(ARGV[i + 1]) * factor, ARGV[i]) " +
+            "end " +
+            "local overflow = redis.call('ZCARD', KEYS[1]) - tonumber(ARGV[4]) " +
+            "if overflow > 0 then redis.call('ZREMRANGEBYRANK', KEYS[1], 0, overflow - 1) end " +
+            "return 1",
+            Long.class);
+
+    /**
+     * 互动类型
+     */
+    public enum Event {
+        VIEW, LIKE, COMMENT, SHARE
+    }
+
+    private final RedisStringService redisStringService;
+    private final RedisZSetService redisZSetService;
+    private final TrendingProperties properties;
+
+    /** 正在累计的增量 */
+    private volatile Buffer buffer = new Buffer(System.currentTimeMillis());
+
+    /**
+     * 上一轮换下的增量。record 先读取 buffer 引用再累加，换下后旧缓冲仍可能收到少量增量，下一轮写入时一并结算。
+     */
+    private volatile Buffer retired;
+
+    public PostTrendingService(RedisStringService redisStringService,
+                               RedisZSetService redisZSetService,
+                               TrendingProperties properties) {
+        this.redisStringService = redisStringService;
+        this.redisZSetService = redisZSetService;
+        this.properties = properties;
+    }
+
+    /**
+     * 记录一次互动。
+     *
+     * @param postId 博文 ID
+     * @param event  互动类型
+     */
+    public void record(String postId, Event event) {
+        Buffer current = buffer;
+        double halfLife = properties.getHalfLife().toMillis();
+        double delta = weightOf(event) * Math.pow(2, (System.currentTimeMillis() - current.reference) / halfLife);
+        current.deltas.computeIfAbsent(postId, k -> new DoubleAdder()).add(delta);
+    }
+
+    /**
+     * 从排行榜移除博文（删除或取消发布时调用）。
+     *
+     * @param postId 博文 ID
+     */
+    public void remove(String postId) {
+        buffer.deltas.remove(postId);
+        Buffer previous = retired;
+        if (previous != null) {
+            previous.deltas.remove(postId);
+        }
+        redisZSetService.remove(KEY, postId);
+    }
+
+    /**
+     * 按热度从高到低获取排名区间内的博文 ID。
+     *
+     * @param offset 起始排名（从 0 开始）
+     * @param count  数量
+     * @return 博文 ID 列表
+     */
+    public List<String> range(int offset, int count) {
+        return redisZSetService.reverseRange(KEY, offset, offset + count - 1L);
+    }
+
+    /**
+     * 排行榜保留的最大博文数，即可翻到的最大偏移量。
+     *
+     * @return 最大博文数
+     */
+    public int getMaxSize() {
+        return properties.getMaxSize();
+    }
+
+    /**
+     * 定时写入上一轮累计的增量，并换下当前增量留待下一轮写入。
+     */
+    @Scheduled(fixedDelayString = "${platform.post.trending.flush-interval:5s}")
+    public synchronized void flush() {
+        Buffer ready = retired;
+        retired = buffer;
+        buffer = new Buffer(System.currentTimeMillis());
+        if (ready == null || ready.deltas.isEmpty()) {
+            return;
+        }
+
+        List<String> args = new ArrayList<>(4 + ready.deltas.size() * 2);
+        args.add(Long.toString(ready.reference));
+        args.add(Long.toString(properties.getHalfLife().toMillis()));
+        args.add(Integer.toString(RESCALE_HALF_LIVES));
+        args.add(Integer.toString(properties.getMaxSize()));
+        for (Map.Entry<String, DoubleAdder> entry : ready.deltas.entrySet()) {
+            args.add(entry.getKey());
+            args.add(Double.toString(entry.getValue().sum()));
+        }
+        Long result = redisStringService.execute(FLUSH_SCRIPT, List.of(KEY, EPOCH_KEY), args.toArray(new String[0]));
+        if (result == null) {
+            // 写入失败：增量换算到当前缓冲区的参考时间后放回，下次重试
+            log.warn("热门博文得分写入失败，{} 篇博文的增量将在下次重试", ready.deltas.size());
+            Buffer current = buffer;
+            double scale = Math.pow(2, (ready.reference - current.reference) / (double) properties.getHalfLife().toMillis());
+            ready.deltas.forEach((postId, delta) ->
+                    current.deltas.computeIfAbsent(postId, k -> new DoubleAdder()).add(delta.sum() * scale));
+        }
+    }
+
+    /**
+     * 应用关闭前写入全部增量（两轮，确保当前缓冲区也被写入）。
+     */
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        flush();
+    }
+
+    private double weightOf(Event event) {
+        return switch (event) {
+            case VIEW -> properties.getViewWeight();
+            case LIKE -> properties.getLikeWeight();
+            case COMMENT -> properties.getCommentWeight();
+            case SHARE -> properties.getShareWeight();
+        };
+    }
+
+    /**
+     * 以 reference 为参考时间累计的得分增量
+     */
+    private static final class Buffer {
+
+        private final long reference;
+        private final ConcurrentHashMap<String, DoubleAdder> deltas = new ConcurrentHashMap<>();
+
+        Buffer(long reference) {
+            this.reference = reference;
+        }
+    }
+}
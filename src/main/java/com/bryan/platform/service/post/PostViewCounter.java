@@ -0,0 +1,101 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostSummary;
+import org.springframework.stereotype.Component;
+
+import java.util.function.BiConsumer;
+
+/**
+ * 博文浏览量计数器。
+ * <p>
+ * 每次浏览只在本地累加，由 {@link PostStatsBuffer} 定时以批量 $inc 写入 stats.views，不再每次浏览读取并整篇回写博文文档；
+ * 读取博文时合并尚未写回的增量。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Component
+public class PostViewCounter {
+
+    private static final String VIEWS_FIELD = "stats.views";
+
+    private final PostStatsBuffer postStatsBuffer;
+
+    public PostViewCounter(PostStatsBuffer postStatsBuffer) {
+        this.postStatsBuffer = postStatsBuffer;
+    }
+
+    /**
+     * 浏览量加一。
+     *
+     * @param postId 博文 ID
+     */
+    public void increment(String postId) {
+        postStatsBuffer.add(postId, VIEWS_FIELD, 1);
+    }
+
+    /**
+     * 获取尚未写入数据库的浏览量增量。
+     *
+     * @param postId 博文 ID
+     * @return 增量
+     */
+    public long getPendingViews(String postId) {
+        return postStatsBuffer.getPending(postId, VIEWS_FIELD);
+    }
+
+    /**
+     * 将尚未写回的增量合并到博文的浏览量上（仅修改内存对象）。
+     *
+     * @param post 博文
+     * @return 同一博文对象
+     */
+    public Post applyPendingViews(Post post) {
+        if (post != null) {
+            post.setStats(withPendingViews(post.getId(), post.getStats()));
+        }
+        return post;
+    }
+
+    /**
+     * 将尚未写回的增量合并到博文摘要的浏览量上（仅修改内存对象）。
+     *
+     * @param summary 博文摘要
+     * @return 同一摘要对象
+     */
+    public PostSummary applyPendingViews(PostSummary summary) {
+        if (summary != null) {
+            summary.setStats(withPendingViews(summary.getId(), summary.getStats()));
+        }
+        return summary;
+    }
+
+    /**
+     * 注册浏览量写回成功回调：增量写入数据库后不再计入待写回量，持有博文副本的缓存需据此累加浏览量。
+     *
+     * @param listener 回调（博文 ID，写回的增量）
+     */
+    public void addFlushListener(BiConsumer<String, Long> listener) {
+        postStatsBuffer.addFlushListener((postId, fields) -> {
+            Long delta = fields.get(VIEWS_FIELD);
+            if (delta != null) {
+                listener.accept(postId, delta);
+            }
+        });
+    }
+
+    private Post.PostStats withPendingViews(String postId, Post.PostStats stats) {
+        if (postId == null) {
+            return stats;
+        }
+        long delta = getPendingViews(postId);
+        if (delta > 0) {
+            if (stats == null) {
+                stats = new Post.PostStats();
+            }
+            stats.setViews((int) (stats.getViews() + delta));
+        }
+        return stats;
+    }
+}
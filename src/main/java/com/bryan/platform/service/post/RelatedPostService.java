@@ -0,0 +1,632 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.config.properties.RecommendationProperties;
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.domain.vo.RelatedPostVO;
+import com.bryan.platform.service.redis.RedisPubSubService;
+import com.bryan.platform.service.redis.RedisStringService;
+import com.bryan.platform.util.text.CjkTokenizer;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Stream;
+
+/**
+ * 相关博文推荐服务。
+ * <p>
+ * 后台为所有已发布博文构建标签 + 正文词项的 TF-IDF 向量（L2 归一化），以 Fork/Join 并行计算每篇博文余弦相似度最高的
+ * K 篇博文，并将精简的相似列表（ID、slug、标题、得分）写入 Redis，接口读取时只需一次键查询。
+ * 博文发布、编辑或删除后增量更新该博文及受影响博文的列表；全量结果按固定间隔重算，修正词典与 IDF 的漂移。
+ * 模型只在单个后台线程中读写，无需加锁。
+ * 多节点部署时以 Redis 租约选出一个节点负责全量计算并持有模型，租约随每次全量计算续期；
+ * 增量变更经 Redis Pub/Sub 广播，只有持有模型的节点会处理，其余节点只读取 Redis 中的结果。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class RelatedPostService {
+
+    /** 增量变更广播频道，消息体为 "U:博文ID"（发布或编辑）或 "R:博文ID"（删除） */
+    public static final String CHANGE_CHANNEL = "post:related:changed";
+
+    private static final String KEY_PREFIX = "post:related:";
+
+    /** 全量计算租约，值为持有节点 ID */
+    private static final String LEASE_KEY = "post:related:rebuild-lease";
+
+    /** 已持有租约则续期，否则尝试获取；返回 1 表示本节点持有租约 */
+    private static final RedisScript<Long> ACQUIRE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  redis.call('EXPIRE', KEYS[1], ARGV[2]) " +
+            "  return 1 " +
+            "end " +
+            "if redis.call('SET', KEYS[1], ARGV[1], 'NX', 'EX', ARGV[2]) then " +
+            "  return 1 " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    /** 仅当租约由本节点持有时释放 */
+    private static final RedisScript<Long> RELEASE_SCRIPT = new DefaultRedisScript<>(
+            "if redis.call('GET', KEYS[1]) == ARGV[1] then " +
+            "  return redis.call('DEL', KEYS[1]) " +
+            "end " +
+            "return 0",
+            Long.class);
+
+    private static final String UPDATE = "U";
+    private static final String REMOVE = "R";
+
+    /** 标签词项前缀，与正文词项区分 */
+    private static final String TAG_PREFIX = "#";
+
+    /** Fork/Join 叶子任务处理的博文数 */
+    private static final int LEAF_SIZE = 32;
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisStringService redisStringService;
+    private final RedisPubSubService redisPubSubService;
+    private final ObjectMapper objectMapper;
+    private final RecommendationProperties properties;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "post-recommender");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    /** 最近一次全量计算得到的模型，只在 worker 线程中访问；未持有租约时为 null */
+    private Model model;
+
+    public RelatedPostService(MongoTemplate mongoTemplate,
+                              RedisStringService redisStringService,
+                              RedisPubSubService redisPubSubService,
+                              ObjectMapper objectMapper,
+                              RecommendationProperties properties) {
+        this.mongoTemplate = mongoTemplate;
+        this.redisStringService = redisStringService;
+        this.redisPubSubService = redisPubSubService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void subscribeChanges() {
+        redisPubSubService.subscribe(CHANGE_CHANNEL, message -> {
+            String[] parts = message.split(":", 2);
+            if (parts.length == 2) {
+                apply(parts[0], parts[1]);
+            }
+        });
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        execute(this::rebuildIfLeader);
+    }
+
+    /**
+     * 定时全量重算。
+     */
+    @Scheduled(initialDelayString = "${platform.post.recommendation.rebuild-interval:1h}",
+            fixedDelayString = "${platform.post.recommendation.rebuild-interval:1h}")
+    public void scheduleRebuild() {
+        execute(this::rebuildIfLeader);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+        redisStringService.execute(RELEASE_SCRIPT, List.of(LEASE_KEY), nodeId);
+    }
+
+    /**
+     * 获取预先计算的相关博文。
+     *
+     * @param postId 博文 ID
+     * @param limit  返回数量
+     * @return 相关博文列表；尚未计算（或读取失败）时返回 null
+     */
+    public List<RelatedPostVO> getRelated(String postId, int limit) {
+        String json = redisStringService.get(KEY_PREFIX + postId);
+        if (json == null) {
+            return null;
+        }
+        try {
+            List<RelatedPostVO> related = objectMapper.readValue(json, new TypeReference<>() {
+            });
+            return related.size() > limit ? related.subList(0, limit) : related;
+        } catch (JsonProcessingException e) {
+            log.warn("相关博文列表反序列化失败，postId: {}", postId, e);
+            return null;
+        }
+    }
+
+    /**
+     * 博文发布或编辑后调用，异步增量更新推荐列表。
+     *
+     * @param postId 博文 ID
+     */
+    public void postChanged(String postId) {
+        broadcast(UPDATE, postId);
+    }
+
+    /**
+     * 博文删除后调用，异步从推荐列表中移除。
+     *
+     * @param postId 博文 ID
+     */
+    public void postRemoved(String postId) {
+        broadcast(REMOVE, postId);
+    }
+
+    /**
+     * 广播增量变更（本节点同样经订阅收到）；广播失败时只在本节点处理。
+     */
+    private void broadcast(String type, String postId) {
+        if (!redisPubSubService.publish(CHANGE_CHANNEL, type + ":" + postId)) {
+            log.warn("相关博文变更广播失败，仅在本节点处理，type: {}, postId: {}", type, postId);
+            apply(type, postId);
+        }
+    }
+
+    private void apply(String type, String postId) {
+        if (UPDATE.equals(type)) {
+            execute(() -> update(postId));
+        } else if (REMOVE.equals(type)) {
+            execute(() -> remove(postId));
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            worker.execute(() -> {
+                try {
+                    task.run();
+                } catch (RuntimeException e) {
+                    log.error("相关博文计算失败", e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.debug("相关博文计算线程已关闭，忽略任务");
+        }
+    }
+
+    /* ------------------ 全量计算 ------------------ */
+
+    /**
+     * 获取或续期全量计算租约，持有租约时执行全量计算；租约由其他节点持有时释放本地模型。
+     * 租约时长为两个重算间隔，持有节点宕机后由其他节点在下一次调度时接管。
+     */
+    private void rebuildIfLeader() {
+        long leaseSeconds = properties.getRebuildInterval().multipliedBy(2).toSeconds();
+        Long held = redisStringService.execute(ACQUIRE_SCRIPT, List.of(LEASE_KEY), nodeId, Long.toString(leaseSeconds));
+        if (held == null) {
+            log.warn("相关博文全量计算租约获取失败，跳过本次计算");
+            return;
+        }
+        if (held == 0) {
+            model = null;
+            log.debug("相关博文全量计算由其他节点负责");
+            return;
+        }
+        rebuild();
+    }
+
+    private void rebuild() {
+        long start = System.currentTimeMillis();
+
+        // 1. 流式读取已发布博文，统计词频与文档频率
+        List<String> ids = new ArrayList<>();
+        List<Map<String, Integer>> counts = new ArrayList<>();
+        Map<String, PostMeta> metas = new HashMap<>();
+        Map<String, Integer> df = new HashMap<>();
+        try (Stream<Post> posts = mongoTemplate.stream(publishedQuery(new Criteria()), Post.class)) {
+            posts.forEach(post -> {
+                Map<String, Integer> termCounts = termCounts(post);
+                termCounts.keySet().forEach(term -> df.merge(term, 1, Integer::sum));
+                ids.add(post.getId());
+                counts.add(termCounts);
+                metas.put(post.getId(), new PostMeta(post.getSlug(), post.getTitle()));
+            });
+        }
+        int n = ids.size();
+
+        // 2. 构建词典：只出现在一篇博文中的词项不影响相似度，过于常见的词项视为停用词
+        int maxDf = Math.max(2, (int) (properties.getMaxDocFrequencyRatio() * n));
+        Map<String, Integer> termIds = new HashMap<>();
+        List<Float> idfList = new ArrayList<>();
+        df.forEach((term, freq) -> {
+            if (freq >= 2 && freq <= maxDf) {
+                termIds.put(term, termIds.size());
+                idfList.add((float) Math.log((double) n / freq));
+            }
+        });
+        float[] idf = new float[idfList.size()];
+        for (int i = 0; i < idf.length; i++) {
+            idf[i] = idfList.get(i);
+        }
+
+        // 3. 向量化并建立词项 → (博文, 权重) 倒排表
+        SparseVector[] vectors = new SparseVector[n];
+        int[] postingSizes = new int[idf.length];
+        for (int i = 0; i < n; i++) {
+            vectors[i] = vectorize(counts.get(i), termIds, idf);
+            for (int term : vectors[i].terms()) {
+                postingSizes[term]++;
+            }
+        }
+        counts.clear();
+        int[][] postingDocs = new int[idf.length][];
+        float[][] postingWeights = new float[idf.length][];
+        for (int t = 0; t < idf.length; t++) {
+            postingDocs[t] = new int[postingSizes[t]];
+            postingWeights[t] = new float[postingSizes[t]];
+            postingSizes[t] = 0;
+        }
+        for (int i = 0; i < n; i++) {
+            SparseVector vector = vectors[i];
+            for (int k = 0; k < vector.terms().length; k++) {
+                int t = vector.terms()[k];
+                postingDocs[t][postingSizes[t]] = i;
+                postingWeights[t][postingSizes[t]++] = vector.weights()[k];
+            }
+        }
+
+        // 4. Fork/Join 并行计算每篇博文的前 K 个近邻
+        List<RelatedPostVO>[] neighbours = newListArray(n);
+        int parallelism = properties.getParallelism() > 0
+                ? properties.getParallelism()
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(() -> new Scratch(n));
+        try {
+            pool.invoke(new NeighbourTask(0, n, vectors, postingDocs, postingWeights, ids, metas, neighbours, scratch));
+        } finally {
+            pool.shutdown();
+        }
+
+        // 5. 写入 Redis 并保留模型供增量更新
+        Model next = new Model(termIds, idf);
+        for (int i = 0; i < n; i++) {
+            next.vectors.put(ids.get(i), vectors[i]);
+            next.neighbours.put(ids.get(i), neighbours[i]);
+            write(ids.get(i), neighbours[i]);
+        }
+        next.metas.putAll(metas);
+        model = next;
+        log.info("相关博文全量计算完成，博文 {} 篇，词项 {} 个，耗时 {} ms", n, idf.length, System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 计算区间 [from, to) 内每篇博文的近邻：沿倒排表累加点积，只访问与其至少共享一个词项的博文。
+     * 累加用的得分数组按工作线程复用（每篇博文算完即清零已访问位置），不随叶子任务重复分配。
+     */
+    private final class NeighbourTask extends RecursiveAction {
+
+        private final int from;
+        private final int to;
+        private final SparseVector[] vectors;
+        private final int[][] postingDocs;
+        private final float[][] postingWeights;
+        private final List<String> ids;
+        private final Map<String, PostMeta> metas;
+        private final List<RelatedPostVO>[] result;
+        private final ThreadLocal<Scratch> scratch;
+
+        NeighbourTask(int from, int to, SparseVector[] vectors, int[][] postingDocs, float[][] postingWeights,
+                      List<String> ids, Map<String, PostMeta> metas, List<RelatedPostVO>[] result,
+                      ThreadLocal<Scratch> scratch) {
+            this.from = from;
+            this.to = to;
+            this.vectors = vectors;
+            this.postingDocs = postingDocs;
+            this.postingWeights = postingWeights;
+            this.ids = ids;
+            this.metas = metas;
+            this.result = result;
+            this.scratch = scratch;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > LEAF_SIZE) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new NeighbourTask(from, mid, vectors, postingDocs, postingWeights, ids, metas, result, scratch),
+                        new NeighbourTask(mid, to, vectors, postingDocs, postingWeights, ids, metas, result, scratch));
+                return;
+            }
+            float[] scores = scratch.get().scores();
+            int[] touched = scratch.get().touched();
+            for (int i = from; i < to; i++) {
+                int touchedCount = 0;
+                SparseVector vector = vectors[i];
+                for (int k = 0; k < vector.terms().length; k++) {
+                    int t = vector.terms()[k];
+                    float w = vector.weights()[k];
+                    int[] docs = postingDocs[t];
+                    float[] weights = postingWeights[t];
+                    for (int p = 0; p < docs.length; p++) {
+                        int doc = docs[p];
+                        if (doc == i) {
+                            continue;
+                        }
+                        if (scores[doc] == 0) {
+                            touched[touchedCount++] = doc;
+                        }
+                        scores[doc] += w * weights[p];
+                    }
+                }
+
+                PriorityQueue<RelatedPostVO> top = new PriorityQueue<>(Comparator.comparingDouble(RelatedPostVO::getScore));
+                for (int c = 0; c < touchedCount; c++) {
+                    int doc = touched[c];
+                    offer(top, toVO(ids.get(doc), metas.get(ids.get(doc)), scores[doc]));
+                    scores[doc] = 0;
+                }
+                result[i] = sortDesc(top);
+            }
+        }
+    }
+
+    /* ------------------ 增量更新 ------------------ */
+
+    private void update(String postId) {
+        if (model == null) {
+            // 首次全量计算尚未完成，由其覆盖
+            return;
+        }
+        List<Post> found = mongoTemplate.find(publishedQuery(Criteria.where("_id").is(postId)), Post.class);
+        if (found.isEmpty()) {
+            remove(postId);
+            return;
+        }
+        Post post = found.get(0);
+        SparseVector vector = vectorize(termCounts(post), model.termIds, model.idf);
+        PostMeta meta = new PostMeta(post.getSlug(), post.getTitle());
+        model.vectors.put(postId, vector);
+        model.metas.put(postId, meta);
+
+        // 与其余博文逐一计算相似度：更新本篇的近邻，并把本篇写入（或移出）其他博文的列表
+        PriorityQueue<RelatedPostVO> top = new PriorityQueue<>(Comparator.comparingDouble(RelatedPostVO::getScore));
+        for (Map.Entry<String, SparseVector> entry : model.vectors.entrySet()) {
+            String otherId = entry.getKey();
+            if (otherId.equals(postId)) {
+                continue;
+            }
+            double score = vector.dot(entry.getValue());
+            if (score > 0) {
+                offer(top, toVO(otherId, model.metas.get(otherId), score));
+            }
+            List<RelatedPostVO> others = model.neighbours.computeIfAbsent(otherId, k -> new ArrayList<>());
+            if (upsert(others, toVO(postId, meta, score))) {
+                write(otherId, others);
+            }
+        }
+        List<RelatedPostVO> own = sortDesc(top);
+        model.neighbours.put(postId, own);
+        write(postId, own);
+    }
+
+    private void remove(String postId) {
+        redisStringService.delete(KEY_PREFIX + postId);
+        if (model == null || model.vectors.remove(postId) == null) {
+            return;
+        }
+        model.metas.remove(postId);
+        model.neighbours.remove(postId);
+        model.neighbours.forEach((otherId, list) -> {
+            if (list.removeIf(vo -> vo.getId().equals(postId))) {
+                write(otherId, list);
+            }
+        });
+    }
+
+    /**
+     * 在按得分降序排列的列表中更新一项（得分为 0 时移除），列表长度不超过 K。
+     *
+     * @return 列表是否发生变化
+     */
+    private boolean upsert(List<RelatedPostVO> list, RelatedPostVO vo) {
+        boolean changed = list.removeIf(existing -> existing.getId().equals(vo.getId()));
+        int k = properties.getNeighbours();
+        if (vo.getScore() > 0 && (list.size() < k || vo.getScore() > list.get(list.size() - 1).getScore())) {
+            int index = 0;
+            while (index < list.size() && list.get(index).getScore() >= vo.getScore()) {
+                index++;
+            }
+            list.add(index, vo);
+            if (list.size() > k) {
+                list.remove(list.size() - 1);
+            }
+            changed = true;
+        }
+        return changed;
+    }
+
+    /* ------------------ 工具方法 ------------------ */
+
+    private Query publishedQuery(Criteria criteria) {
+        Query query = Query.query(criteria.and("status").is(PostStatusEnum.PUBLISHED));
+        query.fields().include("slug").include("title").include("content").include("tags");
+        query.cursorBatchSize(500);
+        return query;
+    }
+
+    /**
+     * 统计博文词项：标题与正文分词，标题计两次；标签以 "#" 前缀单独成词。
+     */
+    private static Map<String, Integer> termCounts(Post post) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String token : CjkTokenizer.tokenize(post.getTitle())) {
+            counts.merge(token, 2, Integer::sum);
+        }
+        for (String token : CjkTokenizer.tokenize(post.getContent())) {
+            counts.merge(token, 1, Integer::sum);
+        }
+        if (post.getTags() != null) {
+            for (String tag : post.getTags()) {
+                if (tag != null && !tag.isBlank()) {
+                    counts.merge(TAG_PREFIX + tag.trim().toLowerCase(), 1, Integer::sum);
+                }
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * TF-IDF 向量化：tf 取 1 + ln(词频)，标签乘以权重倍数；只保留权重最高的若干词项，L2 归一化后按词项 ID 排序。
+     */
+    private SparseVector vectorize(Map<String, Integer> counts, Map<String, Integer> termIds, float[] idf) {
+        List<int[]> entries = new ArrayList<>();
+        List<Float> weights = new ArrayList<>();
+        counts.forEach((term, count) -> {
+            Integer id = termIds.get(term);
+            if (id != null) {
+                double w = (1 + Math.log(count)) * idf[id];
+                if (term.startsWith(TAG_PREFIX)) {
+                    w *= properties.getTagWeight();
+                }
+                entries.add(new int[]{id, weights.size()});
+                weights.add((float) w);
+            }
+        });
+
+        entries.sort((a, b) -> Float.compare(weights.get(b[1]), weights.get(a[1])));
+        int size = Math.min(entries.size(), properties.getMaxTermsPerPost());
+        List<int[]> kept = new ArrayList<>(entries.subList(0, size));
+        kept.sort(Comparator.comparingInt(a -> a[0]));
+
+        int[] terms = new int[size];
+        float[] values = new float[size];
+        double norm = 0;
+        for (int i = 0; i < size; i++) {
+            terms[i] = kept.get(i)[0];
+            values[i] = weights.get(kept.get(i)[1]);
+            norm += values[i] * values[i];
+        }
+        if (norm > 0) {
+            float inv = (float) (1 / Math.sqrt(norm));
+            for (int i = 0; i < size; i++) {
+                values[i] *= inv;
+            }
+        }
+        return new SparseVector(terms, values);
+    }
+
+    private void offer(PriorityQueue<RelatedPostVO> top, RelatedPostVO vo) {
+        if (top.size() < properties.getNeighbours()) {
+            top.add(vo);
+        } else if (vo.getScore() > top.peek().getScore()) {
+            top.poll();
+            top.add(vo);
+        }
+    }
+
+    private static List<RelatedPostVO> sortDesc(PriorityQueue<RelatedPostVO> top) {
+        List<RelatedPostVO> list = new ArrayList<>(top);
+        list.sort(Comparator.comparingDouble(RelatedPostVO::getScore).reversed());
+        return list;
+    }
+
+    private static RelatedPostVO toVO(String id, PostMeta meta, double score) {
+        return new RelatedPostVO(id, meta == null ? null : meta.slug(), meta == null ? null : meta.title(),
+                Math.round(score * 10000) / 10000.0);
+    }
+
+    private void write(String postId, List<RelatedPostVO> neighbours) {
+        try {
+            redisStringService.set(KEY_PREFIX + postId, objectMapper.writeValueAsString(neighbours),
+                    properties.getRebuildInterval().multipliedBy(3).toSeconds());
+        } catch (JsonProcessingException e) {
+            log.warn("相关博文列表序列化失败，postId: {}", postId, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<RelatedPostVO>[] newListArray(int size) {
+        return (List<RelatedPostVO>[]) new List[size];
+    }
+
+    /**
+     * 稀疏向量：词项 ID 升序排列
+     */
+    private record SparseVector(int[] terms, float[] weights) {
+
+        double dot(SparseVector other) {
+            double sum = 0;
+            int i = 0;
+            int j = 0;
+            while (i < terms.length && j < other.terms.length) {
+                if (terms[i] == other.terms[j]) {
+                    sum += weights[i++] * other.weights[j++];
+                } else if (terms[i] < other.terms[j]) {
+                    i++;
+                } else {
+                    j++;
+                }
+            }
+            return sum;
+        }
+    }
+
+    private record PostMeta(String slug, String title) {
+    }
+
+    /**
+     * 单个工作线程的累加缓冲：scores 在每篇博文计算结束后已全部归零，可直接复用
+     */
+    private record Scratch(float[] scores, int[] touched) {
+
+        Scratch(int size) {
+            this(new float[size], new int[size]);
+        }
+    }
+
+    /**
+     * 全量计算得到的词典、IDF、向量与近邻列表
+     */
+    private static final class Model {
+
+        private final Map<String, Integer> termIds;
+        private final float[] idf;
+        private final Map<String, SparseVector> vectors = new HashMap<>();
+        private final Map<String, PostMeta> metas = new HashMap<>();
+        private final Map<String, List<RelatedPostVO>> neighbours = new HashMap<>();
+
+        Model(Map<String, Integer> termIds, float[] idf) {
+            this.termIds = termIds;
+            this.idf = idf;
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.bryan.platform.service.post;
+
+import com.bryan.platform.domain.entity.post.Post;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 博文 slug 分配器。
+ * <p>
+ * 每个基础 slug 在 slug_counters 集合中对应一个计数文档，分配时一次 findAndModify($inc, upsert)
+ * 取得下一个后缀，不再逐个后缀查询是否已被占用。计数文档建立之前已存在的同名 slug 由 posts.slug 的
+ * 唯一索引兜底：保存冲突时调用 {@link #reseed(String)} 以已占用的最大后缀校准计数后重试。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SlugAllocator {
+
+    /** 计数集合，文档结构 { _id: 基础 slug, seq: 已分配次数 } */
+    public static final String COUNTER_COLLECTION = "slug_counters";
+
+    private static final String DEFAULT_SLUG = "untitled-post";
+
+    private static final Pattern ILLEGAL_CHARS = Pattern.compile("[^a-zA-Z0-9\\u4e00-\\u9fa5\\s-]");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern HYPHENS = Pattern.compile("-+");
+
+    private final MongoTemplate mongoTemplate;
+
+    /**
+     * 由标题生成基础 slug：保留字母、数字、中文与连字符，空白折叠为单个连字符。
+     *
+     * @param title 标题或用户指定的 slug
+     * @return 基础 slug，无有效字符时返回 "untitled-post"
+     */
+    public static String toBaseSlug(String title) {
+        if (title == null) {
+            return "post";
+        }
+        String slug = ILLEGAL_CHARS.matcher(title.toLowerCase()).replaceAll("");
+        slug = WHITESPACE.matcher(slug).replaceAll("-");
+        slug = HYPHENS.matcher(slug).replaceAll("-");
+
+        int start = slug.startsWith("-") ? 1 : 0;
+        int end = slug.endsWith("-") && slug.length() > start ? slug.length() - 1 : slug.length();
+        slug = slug.substring(start, Math.max(start, end));
+        return slug.isEmpty() ? DEFAULT_SLUG : slug;
+    }
+
+    /**
+     * 分配基础 slug 下的下一个可用 slug：第一次为基础 slug 本身，之后依次为 base-1、base-2……
+     * 若博文当前 slug 已属于该基础 slug（本身或带数字后缀），直接沿用，不占用新后缀。
+     *
+     * @param baseSlug    基础 slug
+     * @param currentSlug 博文当前 slug，新建博文传 null
+     * @return 分配到的 slug
+     */
+    public String allocate(String baseSlug, String currentSlug) {
+        if (currentSlug != null && belongsTo(currentSlug, baseSlug)) {
+            return currentSlug;
+        }
+        Document counter = mongoTemplate.findAndModify(
+                Query.query(Criteria.where("_id").is(baseSlug)),
+                new Update().inc("seq", 1),
+                FindAndModifyOptions.options().upsert(true).returnNew(true),
+                Document.class,
+                COUNTER_COLLECTION
+        );
+        long seq = counter == null ? 1L : ((Number) counter.get("seq")).longValue();
+        return seq <= 1 ? baseSlug : baseSlug + "-" + (seq - 1);
+    }
+
+    /**
+     * 保存时发生 slug 唯一索引冲突后调用：以 posts 中已占用的最大后缀校准计数（只增不减）。
+     *
+     * @param baseSlug 基础 slug
+     */
+    public void reseed(String baseSlug) {
+        Query query = Query.query(Criteria.where("slug").regex("^" + Pattern.quote(baseSlug) + "(-\\d+)?$"));
+        query.fields().include("slug");
+
+        long maxSeq = 0;
+        Pattern suffix = Pattern.compile("^" + Pattern.quote(baseSlug) + "(?:-(\\d+))?$");
+        for (Document post : mongoTemplate.find(query, Document.class, mongoTemplate.getCollectionName(Post.class))) {
+            Matcher matcher = suffix.matcher(post.getString("slug"));
+            if (matcher.matches()) {
+                long seq = matcher.group(1) == null ? 1L : Long.parseLong(matcher.group(1)) + 1;
+                maxSeq = Math.max(maxSeq, seq);
+            }
+        }
+        mongoTemplate.upsert(
+                Query.query(Criteria.where("_id").is(baseSlug)),
+                new Update().max("seq", maxSeq),
+                COUNTER_COLLECTION
+        );
+        log.info("slug 计数已校准，baseSlug: {}, seq: {}", baseSlug, maxSeq);
+    }
+
+    private static boolean belongsTo(String slug, String baseSlug) {
+        if (slug.equals(baseSlug)) {
+            return true;
+        }
+        if (!slug.startsWith(baseSlug + "-") || slug.length() == baseSlug.length() + 1) {
+            return false;
+        }
+        for (int i = baseSlug.length() + 1; i < slug.length(); i++) {
+            char c = slug.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
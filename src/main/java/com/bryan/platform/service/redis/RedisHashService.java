@@ -9,6 +9,7 @@ import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Redis Hash 类型操作工具类。
@@ -176,4 +177,20 @@ public class RedisHashService {
             return 0L;
         }
     }
+
+    /**
+     * 设置 Hash 键的过期时间（整体过期，Redis Hash 不支持字段级 TTL）。
+     *
+     * @param key     哈希的键 (String)，不能为 null
+     * @param timeout 过期时间（秒）
+     * @return 设置成功返回 true，键不存在或失败返回 false
+     */
+    public boolean setExpire(String key, long timeout) {
+        try {
+            return Boolean.TRUE.equals(redisTemplate.expire(key, timeout, TimeUnit.SECONDS));
+        } catch (Exception e) {
+            log.error("Redis hash expire 操作失败，key: {}", key, e);
+            return false;
+        }
+    }
 }
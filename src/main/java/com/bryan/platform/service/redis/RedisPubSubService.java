@@ -0,0 +1,60 @@
+package com.bryan.platform.service.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Redis 发布/订阅 (Pub/Sub) 操作工具类。
+ * 主要用于多节点之间广播本地缓存失效等轻量消息，消息体统一为字符串。
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedisPubSubService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisMessageListenerContainer redisMessageListenerContainer;
+
+    /**
+     * 向指定频道发布一条消息。
+     *
+     * @param channel 频道名 (String)，不能为 null
+     * @param message 消息内容 (String)，不能为 null
+     * @return 操作成功返回 true，失败返回 false
+     */
+    public boolean publish(String channel, String message) {
+        try {
+            stringRedisTemplate.convertAndSend(channel, message);
+            return true;
+        } catch (Exception e) {
+            log.error("Redis publish 操作失败，channel: {}, message: {}", channel, message, e);
+            return false;
+        }
+    }
+
+    /**
+     * 订阅指定频道，收到消息时以字符串形式回调处理器。
+     * 本节点自己发布的消息同样会被回调，处理器需保证幂等。
+     *
+     * @param channel 频道名 (String)，不能为 null
+     * @param handler 消息处理器，不能为 null
+     */
+    public void subscribe(String channel, Consumer<String> handler) {
+        redisMessageListenerContainer.addMessageListener((message, pattern) -> {
+            try {
+                handler.accept(new String(message.getBody(), StandardCharsets.UTF_8));
+            } catch (Exception e) {
+                log.error("Redis 订阅消息处理失败，channel: {}", channel, e);
+            }
+        }, new ChannelTopic(channel));
+    }
+}
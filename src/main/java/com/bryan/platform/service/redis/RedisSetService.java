@@ -0,0 +1,158 @@
+package com.bryan.platform.service.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis 集合 (Set) 类型操作工具类。
+ * 成员使用 String 序列化器，适合以用户 ID 等为成员的去重集合。
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedisSetService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 向集合添加成员。
+     *
+     * @param key     集合键，不能为 null
+     * @param members 要添加的成员
+     * @return 实际新增的成员数量（已存在的不计），失败返回 0
+     */
+    public long add(String key, String... members) {
+        try {
+            Long added = stringRedisTemplate.opsForSet().add(key, members);
+            return added != null ? added : 0L;
+        } catch (Exception e) {
+            log.error("Redis sAdd 操作失败，key: {}", key, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 从集合移除成员。
+     *
+     * @param key     集合键，不能为 null
+     * @param members 要移除的成员
+     * @return 实际移除的成员数量，失败返回 0
+     */
+    public long remove(String key, String... members) {
+        try {
+            Long removed = stringRedisTemplate.opsForSet().remove(key, (Object[]) members);
+            return removed != null ? removed : 0L;
+        } catch (Exception e) {
+            log.error("Redis sRem 操作失败，key: {}", key, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 判断成员是否在集合中。
+     *
+     * @param key    集合键，不能为 null
+     * @param member 成员
+     * @return 在集合中返回 true；不在、键不存在或失败返回 false
+     */
+    public boolean isMember(String key, String member) {
+        try {
+            return Boolean.TRUE.equals(stringRedisTemplate.opsForSet().isMember(key, member));
+        } catch (Exception e) {
+            log.error("Redis sIsMember 操作失败，key: {}, member: {}", key, member, e);
+            return false;
+        }
+    }
+
+    /**
+     * 以管道批量判断同一成员是否分别在多个集合中，只需一次网络往返（多个键无法合并为一条 SMISMEMBER）。
+     *
+     * @param keys   集合键列表
+     * @param member 成员
+     * @return 与 keys 一一对应的判断结果，失败时全部为 false
+     */
+    public List<Boolean> isMemberOfEach(List<String> keys, String member) {
+        if (keys.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            List<Object> results = stringRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                keys.forEach(key -> stringConnection.sIsMember(key, member));
+                return null;
+            });
+            List<Boolean> members = new ArrayList<>(results.size());
+            results.forEach(result -> members.add(Boolean.TRUE.equals(result)));
+            return members;
+        } catch (Exception e) {
+            log.error("Redis 批量 sIsMember 操作失败，size: {}, member: {}", keys.size(), member, e);
+            return new ArrayList<>(Collections.nCopies(keys.size(), false));
+        }
+    }
+
+    /**
+     * 以一条 SMISMEMBER 命令批量判断多个成员是否在同一集合中。
+     *
+     * @param key     集合键，不能为 null
+     * @param members 成员列表
+     * @return 与 members 一一对应的判断结果，失败时全部为 false
+     */
+    public List<Boolean> isMemberEach(String key, List<String> members) {
+        if (members.isEmpty()) {
+            return Collections.emptyList();
+        }
+        try {
+            Map<Object, Boolean> results = stringRedisTemplate.opsForSet().isMember(key, members.toArray());
+            List<Boolean> flags = new ArrayList<>(members.size());
+            members.forEach(member -> flags.add(results != null && Boolean.TRUE.equals(results.get(member))));
+            return flags;
+        } catch (Exception e) {
+            log.error("Redis sMIsMember 操作失败，key: {}, size: {}", key, members.size(), e);
+            return new ArrayList<>(Collections.nCopies(members.size(), false));
+        }
+    }
+
+    /**
+     * 删除一个或多个集合。
+     *
+     * @param keys 集合键
+     * @return 实际删除的键数量，失败返回 0
+     */
+    public long delete(String... keys) {
+        try {
+            Long deleted = stringRedisTemplate.delete(Arrays.asList(keys));
+            return deleted != null ? deleted : 0L;
+        } catch (Exception e) {
+            log.error("Redis delete 操作失败，keys: {}", Arrays.toString(keys), e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 获取集合的成员数。
+     *
+     * @param key 集合键，不能为 null
+     * @return 成员数，若键不存在或失败返回 0
+     */
+    public long size(String key) {
+        try {
+            Long size = stringRedisTemplate.opsForSet().size(key);
+            return size != null ? size : 0L;
+        } catch (Exception e) {
+            log.error("Redis sCard 操作失败，key: {}", key, e);
+            return 0L;
+        }
+    }
+}
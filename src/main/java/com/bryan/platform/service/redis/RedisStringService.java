@@ -3,9 +3,11 @@ package com.bryan.platform.service.redis;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
 import org.springframework.stereotype.Service;
 
 import java.time.Duration;
+import java.util.List;
 
 /**
  * Redis 字符串 (String) 类型操作工具类。
@@ -62,6 +64,23 @@ public class RedisStringService {
         }
     }
 
+    /**
+     * 仅当键不存在时存储一个带有过期时间的键值对（SET NX EX），可用于一次性标记或简单互斥。
+     *
+     * @param key     键 (String)，不能为 null
+     * @param value   值 (String)
+     * @param seconds 过期时间（秒），必须大于 0
+     * @return 写入成功返回 true，键已存在返回 false，操作失败返回 null
+     */
+    public Boolean setIfAbsent(String key, String value, long seconds) {
+        try {
+            return stringRedisTemplate.opsForValue().setIfAbsent(key, value, Duration.ofSeconds(seconds));
+        } catch (Exception e) {
+            log.error("Redis setIfAbsent 操作失败，key: {}, seconds: {}", key, seconds, e);
+            return null;
+        }
+    }
+
     /**
      * 为 Redis 中已存在的键设置过期时间。
      *
@@ -161,4 +180,22 @@ public class RedisStringService {
             return null;
         }
     }
+
+    /**
+     * 执行 Lua 脚本，脚本内的多个命令在 Redis 端原子执行，只需一次网络往返。
+     * 键与参数均使用 String 序列化器。
+     *
+     * @param script 脚本
+     * @param keys   脚本 KEYS 参数
+     * @param args   脚本 ARGV 参数
+     * @return 脚本返回值，执行失败返回 null
+     */
+    public <T> T execute(RedisScript<T> script, List<String> keys, String... args) {
+        try {
+            return stringRedisTemplate.execute(script, keys, (Object[]) args);
+        } catch (Exception e) {
+            log.error("Redis 脚本执行失败，keys: {}", keys, e);
+            return null;
+        }
+    }
 }
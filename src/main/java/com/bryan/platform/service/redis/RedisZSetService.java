@@ -0,0 +1,210 @@
+package com.bryan.platform.service.redis;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Redis 有序集合 (Sorted Set) 类型操作工具类。
+ * 成员使用 String 序列化器，适合以 ID 为成员、以得分排序的排行榜与时间线。
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class RedisZSetService {
+
+    private final StringRedisTemplate stringRedisTemplate;
+
+    /**
+     * 向有序集合添加成员，成员已存在时更新得分。
+     *
+     * @param key    有序集合键，不能为 null
+     * @param member 成员
+     * @param score  得分
+     * @return 操作成功返回 true，失败返回 false
+     */
+    public boolean add(String key, String member, double score) {
+        try {
+            stringRedisTemplate.opsForZSet().add(key, member, score);
+            return true;
+        } catch (Exception e) {
+            log.error("Redis zAdd 操作失败，key: {}, member: {}", key, member, e);
+            return false;
+        }
+    }
+
+    /**
+     * 为有序集合成员的得分加上增量，成员不存在时以增量作为得分加入。
+     *
+     * @param key    有序集合键，不能为 null
+     * @param member 成员
+     * @param delta  得分增量
+     * @return 新得分，失败返回 null
+     */
+    public Double incrementScore(String key, String member, double delta) {
+        try {
+            return stringRedisTemplate.opsForZSet().incrementScore(key, member, delta);
+        } catch (Exception e) {
+            log.error("Redis zIncrBy 操作失败，key: {}, member: {}", key, member, e);
+            return null;
+        }
+    }
+
+    /**
+     * 批量添加成员，成员已存在时更新得分。
+     *
+     * @param key    有序集合键，不能为 null
+     * @param scores 成员 → 得分
+     * @return 操作成功返回 true，失败返回 false
+     */
+    public boolean addAll(String key, Map<String, Double> scores) {
+        if (scores.isEmpty()) {
+            return true;
+        }
+        try {
+            Set<ZSetOperations.TypedTuple<String>> tuples = new HashSet<>();
+            scores.forEach((member, score) -> tuples.add(ZSetOperations.TypedTuple.of(member, score)));
+            stringRedisTemplate.opsForZSet().add(key, tuples);
+            return true;
+        } catch (Exception e) {
+            log.error("Redis 批量 zAdd 操作失败，key: {}, size: {}", key, scores.size(), e);
+            return false;
+        }
+    }
+
+    /**
+     * 按得分从高到低获取指定排名区间的成员。
+     *
+     * @param key   有序集合键，不能为 null
+     * @param start 起始排名（包含），0 表示得分最高的成员
+     * @param end   结束排名（包含），-1 表示最后一个成员
+     * @return 成员列表，若键不存在或失败返回空列表
+     */
+    public List<String> reverseRange(String key, long start, long end) {
+        try {
+            Set<String> members = stringRedisTemplate.opsForZSet().reverseRange(key, start, end);
+            return members != null ? new ArrayList<>(members) : Collections.emptyList();
+        } catch (Exception e) {
+            log.error("Redis zRevRange 操作失败，key: {}, start: {}, end: {}", key, start, end, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 按得分从高到低获取得分不超过 max 的成员及得分（ZREVRANGEBYSCORE ... WITHSCORES LIMIT）。
+     * 得分相同的成员按成员字典序倒序排列。
+     *
+     * @param key    有序集合键，不能为 null
+     * @param max    最高得分（包含）
+     * @param offset 跳过的成员数
+     * @param count  最多返回的成员数
+     * @return 成员及得分列表，若键不存在或失败返回空列表
+     */
+    public List<ZSetOperations.TypedTuple<String>> reverseRangeByScoreWithScores(String key, double max,
+                                                                                long offset, long count) {
+        try {
+            Set<ZSetOperations.TypedTuple<String>> tuples = stringRedisTemplate.opsForZSet()
+                    .reverseRangeByScoreWithScores(key, Double.NEGATIVE_INFINITY, max, offset, count);
+            return tuples != null ? new ArrayList<>(tuples) : Collections.emptyList();
+        } catch (Exception e) {
+            log.error("Redis zRevRangeByScore 操作失败，key: {}, max: {}", key, max, e);
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * 获取成员的得分。
+     *
+     * @param key    有序集合键，不能为 null
+     * @param member 成员
+     * @return 得分，成员不存在或失败返回 null
+     */
+    public Double score(String key, String member) {
+        try {
+            return stringRedisTemplate.opsForZSet().score(key, member);
+        } catch (Exception e) {
+            log.error("Redis zScore 操作失败，key: {}, member: {}", key, member, e);
+            return null;
+        }
+    }
+
+    /**
+     * 移除得分在 [min, max] 区间内的成员（ZREMRANGEBYSCORE）。
+     *
+     * @param key 有序集合键，不能为 null
+     * @param min 最低得分（包含）
+     * @param max 最高得分（包含）
+     * @return 移除的成员数量，失败返回 0
+     */
+    public long removeRangeByScore(String key, double min, double max) {
+        try {
+            Long removed = stringRedisTemplate.opsForZSet().removeRangeByScore(key, min, max);
+            return removed != null ? removed : 0L;
+        } catch (Exception e) {
+            log.error("Redis zRemRangeByScore 操作失败，key: {}, min: {}, max: {}", key, min, max, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 从有序集合移除成员。
+     *
+     * @param key     有序集合键，不能为 null
+     * @param members 要移除的成员
+     * @return 移除的成员数量，失败返回 0
+     */
+    public long remove(String key, String... members) {
+        try {
+            Long removed = stringRedisTemplate.opsForZSet().remove(key, (Object[]) members);
+            return removed != null ? removed : 0L;
+        } catch (Exception e) {
+            log.error("Redis zRem 操作失败，key: {}", key, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 按得分从低到高的排名移除区间内的成员（ZREMRANGEBYRANK）。
+     *
+     * @param key   有序集合键，不能为 null
+     * @param start 起始排名（包含），0 表示得分最低的成员
+     * @param end   结束排名（包含），负数表示从得分最高的一端计数
+     * @return 移除的成员数量，失败返回 0
+     */
+    public long removeRange(String key, long start, long end) {
+        try {
+            Long removed = stringRedisTemplate.opsForZSet().removeRange(key, start, end);
+            return removed != null ? removed : 0L;
+        } catch (Exception e) {
+            log.error("Redis zRemRangeByRank 操作失败，key: {}, start: {}, end: {}", key, start, end, e);
+            return 0L;
+        }
+    }
+
+    /**
+     * 获取有序集合的成员数。
+     *
+     * @param key 有序集合键，不能为 null
+     * @return 成员数，若键不存在或失败返回 0
+     */
+    public long size(String key) {
+        try {
+            Long size = stringRedisTemplate.opsForZSet().zCard(key);
+            return size != null ? size : 0L;
+        } catch (Exception e) {
+            log.error("Redis zCard 操作失败，key: {}", key, e);
+            return 0L;
+        }
+    }
+}
@@ -0,0 +1,419 @@
+package com.bryan.platform.service.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 内存倒排索引，按 BM25 对文档打分。
+ * <p>
+ * 外部文档 ID 映射为递增的内部整型 ID，每个词项的倒排表以两个 int 数组（文档 ID、词频）存储，天然有序。
+ * 更新文档时旧的内部 ID 打上删除标记并分配新 ID；已删除文档占比超过阈值时整体压缩。
+ * 读写由读写锁保护，查询之间互不阻塞。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public class InvertedIndex {
+
+    /** 快照格式版本（分词规则变化时同步递增，使旧快照失效并重建） */
+    private static final int SNAPSHOT_VERSION = 2;
+
+    /** BM25 词频饱和参数 */
+    private static final double K1 = 1.2;
+
+    /** BM25 文档长度归一化参数 */
+    private static final double B = 0.75;
+
+    /** 已删除文档占比超过该值时压缩索引 */
+    private static final double COMPACT_RATIO = 0.2;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final Map<String, Postings> postings = new HashMap<>();
+    private final BitSet deleted = new BitSet();
+    private String[] externalIds = new String[1024];
+    private int[] docLengths = new int[1024];
+    private int maxDoc;
+    private int deletedCount;
+    private long totalLength;
+
+    /**
+     * 检索命中项
+     *
+     * @param id    外部文档 ID
+     * @param score BM25 得分
+     */
+    public record Hit(String id, double score) {
+    }
+
+    /**
+     * 写入或替换文档。
+     *
+     * @param id     外部文档 ID
+     * @param tokens 文档词项（含重复）
+     */
+    public void put(String id, List<String> tokens) {
+        Map<String, Integer> freqs = new HashMap<>();
+        for (String token : tokens) {
+            freqs.merge(token, 1, Integer::sum);
+        }
+        lock.writeLock().lock();
+        try {
+            removeLocked(id);
+            int doc = maxDoc++;
+            ensureCapacity(maxDoc);
+            externalIds[doc] = id;
+            docLengths[doc] = tokens.size();
+            totalLength += tokens.size();
+            docIds.put(id, doc);
+            freqs.forEach((term, tf) -> postings.computeIfAbsent(term, k -> new Postings()).add(doc, tf));
+            if (deletedCount > COMPACT_RATIO * maxDoc) {
+                compactLocked();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 删除文档。
+     *
+     * @param id 外部文档 ID
+     * @return 文档存在并被删除返回 true
+     */
+    public boolean remove(String id) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(id);
+            if (removed && deletedCount > COMPACT_RATIO * maxDoc) {
+                compactLocked();
+            }
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * @param id 外部文档 ID
+     * @return 文档是否已索引
+     */
+    public boolean contains(String id) {
+        lock.readLock().lock();
+        try {
+            return docIds.containsKey(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 当前已索引文档 ID 的副本
+     */
+    public Set<String> ids() {
+        lock.readLock().lock();
+        try {
+            return new HashSet<>(docIds.keySet());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return 有效文档数
+     */
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 清空索引。
+     */
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * BM25 检索，返回得分最高的前 topK 个文档。
+     *
+     * @param queryTokens 查询词项（重复词项只计一次）
+     * @param topK        返回数量上限
+     * @return 按得分降序排列的命中项
+     */
+    public List<Hit> search(Collection<String> queryTokens, int topK) {
+        if (queryTokens.isEmpty() || topK <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            int liveDocs = docIds.size();
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            double avgLength = (double) totalLength / liveDocs;
+
+            // 1. 逐个词项累加 BM25 得分
+            float[] scores = new float[maxDoc];
+            boolean matched = false;
+            for (String term : new LinkedHashSet<>(queryTokens)) {
+                Postings list = postings.get(term);
+                if (list == null) {
+                    continue;
+                }
+                matched = true;
+                double idf = Math.log(1 + (liveDocs - list.size + 0.5) / (list.size + 0.5));
+                for (int i = 0; i < list.size; i++) {
+                    int doc = list.docs[i];
+                    if (deleted.get(doc)) {
+                        continue;
+                    }
+                    int tf = list.freqs[i];
+                    double norm = K1 * (1 - B + B * docLengths[doc] / avgLength);
+                    scores[doc] += (float) (idf * tf * (K1 + 1) / (tf + norm));
+                }
+            }
+            if (!matched) {
+                return List.of();
+            }
+
+            // 2. 小顶堆取前 topK
+            PriorityQueue<Hit> heap = new PriorityQueue<>(Math.min(topK, 1024) + 1,
+                    (a, b) -> Double.compare(a.score(), b.score()));
+            for (int doc = 0; doc < maxDoc; doc++) {
+                if (scores[doc] <= 0) {
+                    continue;
+                }
+                if (heap.size() < topK) {
+                    heap.add(new Hit(externalIds[doc], scores[doc]));
+                } else if (scores[doc] > heap.peek().score()) {
+                    heap.poll();
+                    heap.add(new Hit(externalIds[doc], scores[doc]));
+                }
+            }
+            List<Hit> hits = new ArrayList<>(heap);
+            hits.sort((a, b) -> Double.compare(b.score(), a.score()));
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 写出快照（只包含有效文档，内部 ID 重新连续编号）。
+     *
+     * @param out 输出
+     * @throws IOException 写出失败
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        lock.readLock().lock();
+        try {
+            int[] remap = new int[maxDoc];
+            int next = 0;
+            for (int doc = 0; doc < maxDoc; doc++) {
+                remap[doc] = deleted.get(doc) ? -1 : next++;
+            }
+
+            out.writeInt(SNAPSHOT_VERSION);
+            out.writeInt(next);
+            for (int doc = 0; doc < maxDoc; doc++) {
+                if (remap[doc] >= 0) {
+                    out.writeUTF(externalIds[doc]);
+                    out.writeInt(docLengths[doc]);
+                }
+            }
+
+            out.writeInt(postings.size());
+            for (Map.Entry<String, Postings> entry : postings.entrySet()) {
+                Postings list = entry.getValue();
+                int live = 0;
+                for (int i = 0; i < list.size; i++) {
+                    if (remap[list.docs[i]] >= 0) {
+                        live++;
+                    }
+                }
+                out.writeUTF(entry.getKey());
+                out.writeInt(live);
+                for (int i = 0; i < list.size; i++) {
+                    int doc = remap[list.docs[i]];
+                    if (doc >= 0) {
+                        out.writeInt(doc);
+                        out.writeInt(list.freqs[i]);
+                    }
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 以快照内容替换当前索引。
+     *
+     * @param in 输入
+     * @throws IOException 读取失败或版本不兼容
+     */
+    public void readFrom(DataInput in) throws IOException {
+        int version = in.readInt();
+        if (version != SNAPSHOT_VERSION) {
+            throw new IOException("不支持的索引快照版本: " + version);
+        }
+        lock.writeLock().lock();
+        try {
+            clearLocked();
+            int docs = in.readInt();
+            ensureCapacity(docs);
+            for (int doc = 0; doc < docs; doc++) {
+                externalIds[doc] = in.readUTF();
+                docLengths[doc] = in.readInt();
+                totalLength += docLengths[doc];
+                docIds.put(externalIds[doc], doc);
+            }
+            maxDoc = docs;
+
+            int terms = in.readInt();
+            for (int t = 0; t < terms; t++) {
+                String term = in.readUTF();
+                int size = in.readInt();
+                if (size == 0) {
+                    continue;
+                }
+                Postings list = new Postings(size);
+                for (int i = 0; i < size; i++) {
+                    list.add(in.readInt(), in.readInt());
+                }
+                postings.put(term, list);
+            }
+        } catch (IOException | RuntimeException e) {
+            clearLocked();
+            throw e;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private boolean removeLocked(String id) {
+        Integer doc = docIds.remove(id);
+        if (doc == null) {
+            return false;
+        }
+        deleted.set(doc);
+        deletedCount++;
+        totalLength -= docLengths[doc];
+        return true;
+    }
+
+    /**
+     * 丢弃已删除文档：内部 ID 重新连续编号，倒排表中剔除已删除文档，空倒排表一并移除。
+     */
+    private void compactLocked() {
+        int[] remap = new int[maxDoc];
+        int next = 0;
+        for (int doc = 0; doc < maxDoc; doc++) {
+            if (deleted.get(doc)) {
+                remap[doc] = -1;
+            } else {
+                remap[doc] = next;
+                externalIds[next] = externalIds[doc];
+                docLengths[next] = docLengths[doc];
+                docIds.put(externalIds[next], next);
+                next++;
+            }
+        }
+        Arrays.fill(externalIds, next, maxDoc, null);
+        postings.values().removeIf(list -> list.retain(remap) == 0);
+        maxDoc = next;
+        deleted.clear();
+        deletedCount = 0;
+    }
+
+    private void clearLocked() {
+        docIds.clear();
+        postings.clear();
+        deleted.clear();
+        Arrays.fill(externalIds, 0, maxDoc, null);
+        maxDoc = 0;
+        deletedCount = 0;
+        totalLength = 0;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > externalIds.length) {
+            int newLength = Math.max(capacity, externalIds.length * 2);
+            externalIds = Arrays.copyOf(externalIds, newLength);
+            docLengths = Arrays.copyOf(docLengths, newLength);
+        }
+    }
+
+    /**
+     * 单个词项的倒排表：按文档 ID 递增排列的 (文档 ID, 词频) 对
+     */
+    private static final class Postings {
+
+        private int[] docs;
+        private int[] freqs;
+        private int size;
+
+        Postings() {
+            this(4);
+        }
+
+        Postings(int capacity) {
+            docs = new int[Math.max(capacity, 1)];
+            freqs = new int[Math.max(capacity, 1)];
+        }
+
+        void add(int doc, int tf) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                freqs = Arrays.copyOf(freqs, size * 2);
+            }
+            docs[size] = doc;
+            freqs[size] = tf;
+            size++;
+        }
+
+        /**
+         * 按映射表重写文档 ID，剔除映射为 -1 的文档。
+         *
+         * @return 剩余条目数
+         */
+        int retain(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int doc = remap[docs[i]];
+                if (doc >= 0) {
+                    docs[kept] = doc;
+                    freqs[kept] = freqs[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+}
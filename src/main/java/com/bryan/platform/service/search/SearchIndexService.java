@@ -0,0 +1,441 @@
+package com.bryan.platform.service.search;
+
+import com.bryan.platform.config.properties.SearchProperties;
+import com.bryan.platform.domain.entity.moment.Moment;
+import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.service.redis.RedisPubSubService;
+import com.bryan.platform.util.text.CjkTokenizer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 进程内全文检索服务，为博文与动态各维护一份 {@link InvertedIndex}。
+ * <p>
+ * 应用就绪后优先加载本地快照，再按 _id 与更新时间增量追平快照之后的变化；没有可用快照时流式读取全集合重建。
+ * 博文/动态的新增、修改、删除通过 {@link #postChanged(String)} / {@link #momentChanged(String)} 通知，
+ * 由单线程索引器按顺序回源 MongoDB 重新索引，并经 Redis Pub/Sub 通知其他节点同步。
+ * 每个节点在本地完成重新索引后回调 {@link #addPostListener} / {@link #addMomentListener} 注册的监听器，
+ * 依赖索引的结果缓存应在回调中失效，而不是在发起变更时失效。
+ * 索引就绪前 {@link #isReady()} 返回 false，调用方应回退到 MongoDB 文本索引。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class SearchIndexService {
+
+    /** 跨节点索引变更广播频道，消息体为 "节点ID:类型:文档ID" */
+    public static final String CHANGE_CHANNEL = "search:index:changed";
+
+    private static final String POSTS = "posts";
+    private static final String MOMENTS = "moments";
+
+    /** 快照时间之前这段时间内更新的文档在加载快照后也重新索引，覆盖时钟偏差与未送达的广播 */
+    private static final long CATCH_UP_MARGIN_MS = TimeUnit.MINUTES.toMillis(1);
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final MongoTemplate mongoTemplate;
+    private final RedisPubSubService redisPubSubService;
+    private final SearchProperties properties;
+
+    private final InvertedIndex postIndex = new InvertedIndex();
+    private final InvertedIndex momentIndex = new InvertedIndex();
+
+    private final List<Consumer<String>> postListeners = new CopyOnWriteArrayList<>();
+    private final List<Consumer<String>> momentListeners = new CopyOnWriteArrayList<>();
+
+    /** 单线程索引器：构建、增量更新与快照按提交顺序串行执行 */
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private volatile boolean ready;
+    private volatile boolean dirty;
+
+    public SearchIndexService(MongoTemplate mongoTemplate,
+                              RedisPubSubService redisPubSubService,
+                              SearchProperties properties,
+                              MeterRegistry meterRegistry) {
+        this.mongoTemplate = mongoTemplate;
+        this.redisPubSubService = redisPubSubService;
+        this.properties = properties;
+        Gauge.builder("search.index.docs", postIndex, InvertedIndex::size)
+                .tag("index", POSTS)
+                .description("进程内倒排索引中的文档数")
+                .register(meterRegistry);
+        Gauge.builder("search.index.docs", momentIndex, InvertedIndex::size)
+                .tag("index", MOMENTS)
+                .description("进程内倒排索引中的文档数")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribeChanges() {
+        redisPubSubService.subscribe(CHANGE_CHANNEL, message -> {
+            String[] parts = message.split(":", 3);
+            if (parts.length == 3 && !nodeId.equals(parts[0])) {
+                apply(parts[1], parts[2]);
+            }
+        });
+    }
+
+    /**
+     * 应用就绪后在索引线程中加载快照或重建索引。
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (properties.isIndexEnabled()) {
+            indexer.execute(this::loadOrBuild);
+        }
+    }
+
+    /**
+     * @return 索引是否已加载完成、可以检索
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * @param keyword 查询文本
+     * @return 查询文本能否切分出词项；不能时（如只含标点、表情）索引必然无命中，调用方应回退到其他检索方式
+     */
+    public boolean isSearchable(String keyword) {
+        return !CjkTokenizer.tokenizeForQuery(keyword).isEmpty();
+    }
+
+    /**
+     * 检索已发布博文。
+     *
+     * @param keyword 查询文本
+     * @param topK    返回数量上限
+     * @return 按 BM25 得分降序排列的命中项
+     */
+    public List<InvertedIndex.Hit> searchPosts(String keyword, int topK) {
+        return postIndex.search(CjkTokenizer.tokenizeForQuery(keyword), topK);
+    }
+
+    /**
+     * 检索动态。
+     *
+     * @param keyword 查询文本
+     * @param topK    返回数量上限
+     * @return 按 BM25 得分降序排列的命中项
+     */
+    public List<InvertedIndex.Hit> searchMoments(String keyword, int topK) {
+        return momentIndex.search(CjkTokenizer.tokenizeForQuery(keyword), topK);
+    }
+
+    /**
+     * 博文新增、修改或删除后调用，异步重新索引该博文（所有节点）。
+     *
+     * @param postId 博文 ID
+     */
+    public void postChanged(String postId) {
+        changed(POSTS, postId);
+    }
+
+    /**
+     * 动态新增、修改或删除后调用，异步重新索引该动态（所有节点）。
+     *
+     * @param momentId 动态 ID
+     */
+    public void momentChanged(String momentId) {
+        changed(MOMENTS, momentId);
+    }
+
+    /**
+     * 注册博文变更监听器：本节点重新索引该博文后（未启用索引时在收到变更后立即）回调，参数为博文 ID。
+     *
+     * @param listener 监听器
+     */
+    public void addPostListener(Consumer<String> listener) {
+        postListeners.add(listener);
+    }
+
+    /**
+     * 注册动态变更监听器：本节点重新索引该动态后（未启用索引时在收到变更后立即）回调，参数为动态 ID。
+     *
+     * @param listener 监听器
+     */
+    public void addMomentListener(Consumer<String> listener) {
+        momentListeners.add(listener);
+    }
+
+    /**
+     * 定时写出快照（索引有变化时）。
+     */
+    @Scheduled(fixedDelayString = "${platform.search.snapshot-interval:10m}")
+    public void scheduleSnapshot() {
+        if (ready && dirty) {
+            execute(this::snapshot);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (ready && dirty) {
+            execute(this::snapshot);
+        }
+        indexer.shutdown();
+        if (!indexer.awaitTermination(30, TimeUnit.SECONDS)) {
+            log.warn("搜索索引线程未在 30 秒内结束");
+            indexer.shutdownNow();
+        }
+    }
+
+    private void changed(String type, String id) {
+        if (id == null) {
+            return;
+        }
+        apply(type, id);
+        if (!redisPubSubService.publish(CHANGE_CHANNEL, nodeId + ":" + type + ":" + id)) {
+            log.warn("搜索索引变更广播失败，其余节点将在重启追平时更新，type: {}, id: {}", type, id);
+        }
+    }
+
+    private void apply(String type, String id) {
+        if (properties.isIndexEnabled()) {
+            execute(() -> refresh(type, id));
+        } else {
+            notifyListeners(type, id);
+        }
+    }
+
+    private void notifyListeners(String type, String id) {
+        List<Consumer<String>> listeners = POSTS.equals(type) ? postListeners : momentListeners;
+        for (Consumer<String> listener : listeners) {
+            try {
+                listener.accept(id);
+            } catch (RuntimeException e) {
+                log.warn("搜索索引变更监听器执行失败，type: {}, id: {}", type, id, e);
+            }
+        }
+    }
+
+    private void execute(Runnable task) {
+        try {
+            indexer.execute(task);
+        } catch (RejectedExecutionException e) {
+            log.debug("搜索索引线程已关闭，忽略任务");
+        }
+    }
+
+    /**
+     * 回源 MongoDB 重新索引单个文档：文档不存在（或博文未发布）时从索引中删除，完成后回调变更监听器。
+     */
+    private void refresh(String type, String id) {
+        try {
+            if (POSTS.equals(type)) {
+                Query query = Query.query(Criteria.where("_id").is(id));
+                query.fields().include("title").include("content").include("status");
+                Post post = mongoTemplate.findOne(query, Post.class);
+                if (post != null && post.getStatus() == PostStatusEnum.PUBLISHED) {
+                    postIndex.put(id, postTokens(post));
+                } else {
+                    postIndex.remove(id);
+                }
+            } else if (MOMENTS.equals(type)) {
+                Query query = Query.query(Criteria.where("_id").is(id));
+                query.fields().include("content");
+                Moment moment = mongoTemplate.findOne(query, Moment.class);
+                if (moment != null) {
+                    momentIndex.put(id, CjkTokenizer.tokenizeForIndex(moment.getContent()));
+                } else {
+                    momentIndex.remove(id);
+                }
+            }
+            dirty = true;
+        } catch (RuntimeException e) {
+            log.warn("搜索索引更新失败，type: {}, id: {}", type, id, e);
+        }
+        notifyListeners(type, id);
+    }
+
+    private void loadOrBuild() {
+        long start = System.currentTimeMillis();
+        try {
+            Long postSnapshotAt = load(postIndex, POSTS);
+            if (postSnapshotAt == null) {
+                buildPosts();
+            } else {
+                catchUp(POSTS, postIndex, Post.class, publishedPosts(), Post::getId, Post::getUpdatedAt, postSnapshotAt);
+            }
+
+            Long momentSnapshotAt = load(momentIndex, MOMENTS);
+            if (momentSnapshotAt == null) {
+                buildMoments();
+            } else {
+                catchUp(MOMENTS, momentIndex, Moment.class, new Criteria(), Moment::getId, Moment::getUpdatedAt, momentSnapshotAt);
+            }
+
+            ready = true;
+            log.info("搜索索引就绪，博文 {} 篇，动态 {} 条，耗时 {} ms",
+                    postIndex.size(), momentIndex.size(), System.currentTimeMillis() - start);
+            if (dirty) {
+                snapshot();
+            }
+        } catch (RuntimeException e) {
+            log.error("搜索索引构建失败，全文搜索将继续使用 MongoDB 文本索引", e);
+        }
+    }
+
+    private void buildPosts() {
+        postIndex.clear();
+        Query query = Query.query(publishedPosts());
+        query.fields().include("title").include("content");
+        query.cursorBatchSize(500);
+        try (Stream<Post> posts = mongoTemplate.stream(query, Post.class)) {
+            posts.forEach(post -> postIndex.put(post.getId(), postTokens(post)));
+        }
+        dirty = true;
+    }
+
+    private void buildMoments() {
+        momentIndex.clear();
+        Query query = new Query();
+        query.fields().include("content");
+        query.cursorBatchSize(500);
+        try (Stream<Moment> moments = mongoTemplate.stream(query, Moment.class)) {
+            moments.forEach(moment -> momentIndex.put(moment.getId(), CjkTokenizer.tokenizeForIndex(moment.getContent())));
+        }
+        dirty = true;
+    }
+
+    /**
+     * 加载快照后追平：只读取 _id 与更新时间，重新索引快照中缺失或快照之后更新过的文档，并删除已不存在的文档。
+     */
+    private <T> void catchUp(String type, InvertedIndex index, Class<T> entityClass, Criteria criteria,
+                             Function<T, String> idOf, Function<T, LocalDateTime> updatedAtOf, long snapshotAt) {
+        Query query = Query.query(criteria);
+        query.fields().include("_id").include("updatedAt");
+        query.cursorBatchSize(1000);
+
+        long threshold = snapshotAt - CATCH_UP_MARGIN_MS;
+        Set<String> stale = index.ids();
+        List<String> changed = new ArrayList<>();
+        try (Stream<T> docs = mongoTemplate.stream(query, entityClass)) {
+            docs.forEach(doc -> {
+                String id = idOf.apply(doc);
+                LocalDateTime updatedAt = updatedAtOf.apply(doc);
+                boolean indexed = stale.remove(id);
+                if (!indexed || updatedAt == null
+                        || updatedAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli() > threshold) {
+                    changed.add(id);
+                }
+            });
+        }
+        changed.forEach(id -> refresh(type, id));
+        stale.forEach(index::remove);
+        if (!stale.isEmpty()) {
+            dirty = true;
+        }
+        log.info("搜索索引快照已加载并追平，index: {}, 重新索引 {} 个，删除 {} 个", type, changed.size(), stale.size());
+    }
+
+    /**
+     * 读取快照。
+     *
+     * @return 快照时间（毫秒时间戳），快照不存在或损坏时返回 null
+     */
+    private Long load(InvertedIndex index, String name) {
+        Path file = snapshotFile(name);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(file))))) {
+            long snapshotAt = in.readLong();
+            index.readFrom(in);
+            return snapshotAt;
+        } catch (IOException | RuntimeException e) {
+            log.warn("搜索索引快照读取失败，将重建索引，file: {}", file, e);
+            return null;
+        }
+    }
+
+    private void snapshot() {
+        dirty = false;
+        try {
+            writeSnapshot(postIndex, POSTS);
+            writeSnapshot(momentIndex, MOMENTS);
+        } catch (IOException | RuntimeException e) {
+            dirty = true;
+            log.warn("搜索索引快照写出失败", e);
+        }
+    }
+
+    private void writeSnapshot(InvertedIndex index, String name) throws IOException {
+        Path file = snapshotFile(name);
+        Files.createDirectories(file.getParent());
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        long snapshotAt = System.currentTimeMillis();
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(
+                new GZIPOutputStream(Files.newOutputStream(tmp))))) {
+            out.writeLong(snapshotAt);
+            index.writeTo(out);
+        }
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private Path snapshotFile(String name) {
+        return Paths.get(properties.getSnapshotDir(), name + ".idx");
+    }
+
+    private static Criteria publishedPosts() {
+        return Criteria.where("status").is(PostStatusEnum.PUBLISHED);
+    }
+
+    /**
+     * 博文词项：标题重复一次以提高标题命中的权重。
+     */
+    private static List<String> postTokens(Post post) {
+        List<String> title = CjkTokenizer.tokenizeForIndex(post.getTitle());
+        List<String> tokens = new ArrayList<>(title.size() * 2 + 64);
+        tokens.addAll(title);
+        tokens.addAll(title);
+        tokens.addAll(CjkTokenizer.tokenizeForIndex(post.getContent()));
+        return tokens;
+    }
+}
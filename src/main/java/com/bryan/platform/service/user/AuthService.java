@@ -1,14 +1,22 @@
 package com.bryan.platform.service.user;
 
+import com.bryan.platform.domain.converter.UserConverter;
+import com.bryan.platform.domain.entity.user.LoginHistory;
 import com.bryan.platform.domain.entity.user.SysUser;
 import com.bryan.platform.domain.entity.user.UserRole;
-import com.bryan.platform.domain.enums.UserStatusEnum;
+import com.bryan.platform.domain.entity.user.UserSession;
+import com.bryan.platform.domain.vo.TokenVO;
+import com.bryan.platform.domain.vo.UserSessionVO;
 import com.bryan.platform.exception.BusinessException;
+import com.bryan.platform.exception.ResourceNotFoundException;
+import com.bryan.platform.exception.UnauthorizedException;
 import com.bryan.platform.mapper.UserMapper;
 import com.bryan.platform.mapper.UserRoleMapper;
-import com.bryan.platform.service.redis.RedisStringService;
 import com.bryan.platform.util.http.HttpUtils;
+import com.bryan.platform.util.jwt.JwtClaims;
+import com.bryan.platform.util.jwt.JwtPrincipal;
 import com.bryan.platform.util.jwt.JwtUtils;
+import com.bryan.platform.util.jwt.JwtVerifyResult;
 import com.bryan.platform.domain.request.auth.LoginRequest;
 import com.bryan.platform.domain.request.auth.RegisterRequest;
 import lombok.RequiredArgsConstructor;
@@ -16,7 +24,6 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDateTime;
@@ -36,8 +43,12 @@ public class AuthService implements UserDetailsService {
 
     private final UserMapper userMapper;
     private final UserRoleMapper userRoleMapper;
-    private final PasswordEncoder passwordEncoder;
-    private final RedisStringService redisStringService;
+    private final PasswordHashingService passwordHashingService;
+    private final SessionService sessionService;
+    private final TokenCacheService tokenCacheService;
+    private final TokenVersionService tokenVersionService;
+    private final LoginAttemptService loginAttemptService;
+    private final LoginAuditService loginAuditService;
 
     /**
      * 用户注册。
@@ -62,7 +73,7 @@ public class AuthService implements UserDetailsService {
         // 3. 构建用户实体，密码加密
         SysUser sysUser = SysUser.builder()
                 .username(registerRequest.getUsername())
-                .password(passwordEncoder.encode(registerRequest.getPassword()))
+                .password(passwordHashingService.encode(registerRequest.getPassword()))
                 .phone(registerRequest.getPhone())
                 .email(registerRequest.getEmail())
                 .roles(defaultRole.getRoleName())
@@ -83,64 +94,61 @@ public class AuthService implements UserDetailsService {
 
     /**
      * 用户登录，验证用户名和密码，生成 JWT Token。
+     * 同一用户在不同设备登录各自持有独立会话，互不覆盖。
      *
      * @param loginRequest 登录请求对象
-     * @return 登录成功后的 JWT Token
+     * @return 登录成功后的访问 Token 与刷新 Token
      * @throws BusinessException 用户名不存在或密码错误
      */
-    public String login(LoginRequest loginRequest) {
-        // 1. 验证用户凭证
-        SysUser sysUser = userMapper.selectByUsername(loginRequest.getUsername());
+    public TokenVO login(LoginRequest loginRequest) {
+        // 1. 登录前检查账号锁定与 IP 限流，被拒绝的请求不再消耗密码哈希
+        String username = loginRequest.getUsername();
+        String ip = HttpUtils.getClientIp();
+        loginAttemptService.checkAllowed(username, ip);
+
+        // 2. 验证用户凭证，失败计入 Redis 滑动窗口
+        SysUser sysUser = userMapper.selectByUsername(username);
 
         if (sysUser == null) {
+            loginAttemptService.recordFailure(username, ip, null);
             throw new BusinessException("用户名或密码错误");
         }
 
-        if(!passwordEncoder.matches(loginRequest.getPassword(), sysUser.getPassword())){
-            sysUser.setLoginFailCount(sysUser.getLoginFailCount() + 1);
-
-            // 如果输入密码错误次数达到限额-硬编码为 5，则锁定账号
-            if(sysUser.getLoginFailCount() >= 5) {
-                sysUser.setStatus(UserStatusEnum.NORMAL);
-                sysUser.setPasswordResetAt(LocalDateTime.now());
-                throw new BusinessException("输入密码错误次数过多，账号锁定");
-            }
+        if(!passwordHashingService.matches(loginRequest.getPassword(), sysUser.getPassword())){
+            loginAttemptService.recordFailure(username, ip, sysUser);
             throw new BusinessException("用户名或密码错误");
         }
 
-        // 2. 检查现有Token（使用JwtUtils验证有效性）
-        String existingToken = redisStringService.get(sysUser.getUsername());
-        if (existingToken != null && JwtUtils.validateToken(existingToken)) {
-            // 刷新Redis中的Token过期时间
-            redisStringService.setExpire(sysUser.getUsername(), 86400000 / 1000);
-            return existingToken;
+        if (!sysUser.isAccountNonLocked()) {
+            throw new BusinessException("账号已被锁定或禁用");
         }
-
-        // 3. 更新用户登录信息
-        sysUser.setLastLoginAt(LocalDateTime.now());
-        sysUser.setLastLoginIp(HttpUtils.getClientIp());
-        sysUser.setLoginFailCount(0); // 重置密码输入错误次数
-        userMapper.update(sysUser);
-
-        // 4. 生成新的JWT Token
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("username", sysUser.getUsername());
-        claims.put("roles", sysUser.getRoles());
-
-        String token = JwtUtils.generateToken(sysUser.getId().toString(), claims);
-
-        // 5. 存储到Redis（设置与JWT相同的过期时间）
-        boolean saved = redisStringService.set(
-                sysUser.getUsername(),
-                token,
-                86400000 / 1000
+        loginAttemptService.recordSuccess(username);
+
+        // 3. 登录事件交给后台异步写入登录历史与最近登录信息，不阻塞本次登录
+        loginAuditService.record(LoginHistory.builder()
+                .userId(sysUser.getId())
+                .username(sysUser.getUsername())
+                .ip(ip)
+                .os(HttpUtils.getClientOS())
+                .browser(HttpUtils.getClientBrowser())
+                .loginAt(LocalDateTime.now())
+                .build());
+
+        // 4. 每次登录创建独立会话，签发绑定会话 ID（jti）的访问 Token 与刷新 Token
+        String sessionId = SessionService.newSessionId();
+        long now = System.currentTimeMillis();
+        TokenVO tokens = issueTokens(sysUser, sessionId, now);
+
+        // 5. 会话存储到 Redis，只保存 Token 指纹
+        sessionService.open(
+                sysUser.getId(),
+                sessionId,
+                JwtUtils.fingerprint(tokens.getAccessToken()),
+                JwtUtils.fingerprint(tokens.getRefreshToken()),
+                now + JwtUtils.getRefreshExpirationMs()
         );
 
-        if (!saved) {
-            throw new BusinessException("Token存储失败");
-        }
-
-        return token;
+        return tokens;
     }
 
     /**
@@ -169,10 +177,17 @@ public class AuthService implements UserDetailsService {
      * @return 当前用户实体
      */
     public SysUser getCurrentUser() {
-        // 1. 获取当前用户 ID
-        Long userId = JwtUtils.getCurrentUserId();
+        // 1. 优先复用过滤器构建的请求级认证主体，同一请求内只查询一次数据库
+        JwtPrincipal principal = JwtUtils.getCurrentPrincipal();
+        if (principal != null) {
+            if (principal.getUser() == null) {
+                principal.setUser(userMapper.selectById(principal.getUserId()));
+            }
+            return principal.getUser();
+        }
 
-        // 2. 查询数据库返回用户信息
+        // 2. 无认证主体时解析 Token 并查询数据库
+        Long userId = JwtUtils.getCurrentUserId();
         return userMapper.selectById(userId);
     }
 
@@ -218,39 +233,149 @@ public class AuthService implements UserDetailsService {
     }
 
     /**
-     * 刷新当前用户的 JWT Token。
+     * 使用刷新 Token 换取新的 Token 对（轮换）：旧刷新 Token 随即失效，会话有效期顺延。
+     * 已使用过的刷新 Token 再次出现视为泄露，立即撤销整个会话。
      *
-     * @return String 是否有效
+     * @param refreshToken 刷新 Token
+     * @return 新的访问 Token 与刷新 Token
+     * @throws UnauthorizedException 刷新 Token 无效、已过期、已被使用或会话已失效
      */
-    public String refreshToken() {
-        // 1. 获取当前用户信息
-        SysUser sysUser = getCurrentUser();
+    public TokenVO refresh(String refreshToken) {
+        // 1. 校验签名、有效期、类型与版本号
+        JwtVerifyResult result = JwtUtils.verify(refreshToken);
+        if (!result.isValid() || !result.getClaims().isRefreshToken()) {
+            throw new UnauthorizedException("刷新Token无效或已过期");
+        }
+        JwtClaims claims = result.getClaims();
+        if (!tokenVersionService.isCurrent(claims.getUserId(), claims.getTokenVersion(), claims.getGlobalVersion())) {
+            throw new UnauthorizedException("Token已失效，请重新登录");
+        }
 
-        // 2. 构建 JWT claims，包含用户角色
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("username", sysUser.getUsername());
-        claims.put("roles", sysUser.getRoles());
+        // 2. 会话必须存在
+        UserSession session = sessionService.get(claims.getUserId(), claims.getSessionId());
+        if (session == null) {
+            throw new UnauthorizedException("会话已失效，请重新登录");
+        }
 
-        // 3. 生成并返回 Token
-        return JwtUtils.generateToken(sysUser.getId().toString(), claims);
+        // 3. 重用检测：刷新 Token 只能使用一次，且必须是会话当前的刷新 Token
+        String refreshFingerprint = JwtUtils.fingerprint(refreshToken);
+        if (!refreshFingerprint.equals(session.getRefreshFingerprint())
+                || !sessionService.markRefreshUsed(refreshFingerprint, claims.getExpiresAt())) {
+            log.warn("检测到刷新Token重复使用，撤销会话，userId: {}, sessionId: {}",
+                    claims.getUserId(), claims.getSessionId());
+            sessionService.revoke(claims.getUserId(), claims.getSessionId());
+            throw new UnauthorizedException("刷新Token已被使用，请重新登录");
+        }
+
+        // 4. 账户状态校验，并以最新的用户名、角色签发新 Token 对
+        SysUser sysUser = userMapper.selectById(claims.getUserId());
+        if (sysUser == null || !sysUser.isEnabled() || !sysUser.isAccountNonLocked()) {
+            throw new UnauthorizedException("用户状态异常或不存在");
+        }
+        long now = System.currentTimeMillis();
+        TokenVO tokens = issueTokens(sysUser, session.getSessionId(), now);
+
+        // 5. 更新会话指纹与有效期，通知各节点失效旧访问 Token 的本地校验缓存
+        String oldFingerprint = session.getFingerprint();
+        session.setFingerprint(JwtUtils.fingerprint(tokens.getAccessToken()));
+        session.setRefreshFingerprint(JwtUtils.fingerprint(tokens.getRefreshToken()));
+        session.setExpiresAt(now + JwtUtils.getRefreshExpirationMs());
+        sessionService.save(session);
+        tokenCacheService.evict(oldFingerprint);
+
+        return tokens;
     }
 
     /**
-     * 清除当前用户的 JWT Token 在 Redis 中的缓存。
+     * 退出登录：仅撤销当前设备的会话，其他设备不受影响。
      *
      * @return boolean 是否成功
-     * @throws BusinessException Token清理失败
+     * @throws BusinessException 会话清理失败
      */
     public boolean logout() {
-        String username = JwtUtils.getCurrentUsername();
-        boolean deleted = redisStringService.delete(username);
-        if (!deleted) {
-            throw new BusinessException("Token清除失败");
+        JwtPrincipal principal = JwtUtils.getCurrentPrincipal();
+        if (principal == null || !sessionService.revoke(principal.getUserId(), principal.getSessionId())) {
+            throw new BusinessException("会话清除失败");
+        }
+        return true;
+    }
+
+    /**
+     * 列出当前用户所有有效的登录会话。
+     *
+     * @return 会话列表，按创建时间倒序
+     */
+    public List<UserSessionVO> listSessions() {
+        JwtPrincipal principal = JwtUtils.getCurrentPrincipal();
+        Long userId = principal != null ? principal.getUserId() : JwtUtils.getCurrentUserId();
+        String currentSessionId = principal != null ? principal.getSessionId() : null;
+        return sessionService.list(userId).stream()
+                .map(session -> UserConverter.toSessionVO(session, currentSessionId))
+                .toList();
+    }
+
+    /**
+     * 撤销当前用户的指定会话（例如将其他设备下线）。
+     *
+     * @param sessionId 会话 ID
+     * @throws ResourceNotFoundException 会话不存在
+     */
+    public void revokeSession(String sessionId) {
+        if (!sessionService.revoke(getCurrentUserId(), sessionId)) {
+            throw new ResourceNotFoundException("会话不存在或已失效");
         }
+    }
 
+    /**
+     * 退出所有设备：递增用户 Token 版本号并清空全部会话，此前签发的 Token 全部失效。
+     *
+     * @return boolean 是否成功
+     */
+    public boolean logoutAll() {
+        Long userId = getCurrentUserId();
+        tokenVersionService.bumpUserVersion(userId);
+        sessionService.revokeAll(userId);
         return true;
     }
 
+    /**
+     * 吊销全部用户的 Token（例如密钥轮换后强制所有人重新登录），只需递增全局版本号。
+     *
+     * @return 新的全局版本号
+     */
+    public long revokeAllTokens() {
+        return tokenVersionService.bumpGlobalVersion();
+    }
+
+    /**
+     * 为指定会话签发访问 Token 与刷新 Token。
+     */
+    private TokenVO issueTokens(SysUser sysUser, String sessionId, long now) {
+        Map<String, Object> claims = buildClaims(sysUser);
+        String userId = sysUser.getId().toString();
+        return TokenVO.builder()
+                .accessToken(JwtUtils.generateToken(userId, sessionId, JwtUtils.TOKEN_TYPE_ACCESS,
+                        claims, now + JwtUtils.getAccessExpirationMs()))
+                .refreshToken(JwtUtils.generateToken(userId, sessionId, JwtUtils.TOKEN_TYPE_REFRESH,
+                        claims, now + JwtUtils.getRefreshExpirationMs()))
+                .tokenType("Bearer")
+                .expiresIn(JwtUtils.getAccessExpirationMs() / 1000)
+                .refreshExpiresIn(JwtUtils.getRefreshExpirationMs() / 1000)
+                .build();
+    }
+
+    /**
+     * 构建 Token 中的用户名、角色与版本号声明。
+     */
+    private Map<String, Object> buildClaims(SysUser sysUser) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("username", sysUser.getUsername());
+        claims.put("roles", sysUser.getRoles());
+        claims.put(JwtUtils.CLAIM_TOKEN_VERSION, tokenVersionService.getUserVersion(sysUser.getId()));
+        claims.put(JwtUtils.CLAIM_GLOBAL_VERSION, tokenVersionService.getGlobalVersion());
+        return claims;
+    }
+
     /**
      * 根据用户名加载用户信息，用于 Spring Security 登录认证。
      *
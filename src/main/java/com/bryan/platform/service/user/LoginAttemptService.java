@@ -0,0 +1,126 @@
+package com.bryan.platform.service.user;
+
+import com.bryan.platform.config.properties.LoginAttemptProperties;
+import com.bryan.platform.domain.entity.user.SysUser;
+import com.bryan.platform.domain.enums.UserStatusEnum;
+import com.bryan.platform.exception.BusinessException;
+import com.bryan.platform.exception.TooManyRequestsException;
+import com.bryan.platform.mapper.UserMapper;
+import com.bryan.platform.service.redis.RedisStringService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 登录失败计数与限流服务。
+ * <p>
+ * 失败记录保存在 Redis 的滑动窗口（ZSET，成员为每次失败，分值为时间戳）中，按用户名与 IP 分别计数；
+ * 记录失败、判定锁定、设置锁定标记由一个 Lua 脚本原子完成，一次往返。
+ * 仅在真正触发锁定时才写一次数据库，普通的失败尝试不再读改写 sys_user。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LoginAttemptService {
+
+    private static final String USER_FAILURES_PREFIX = "auth:login-fail:user:";
+
+    private static final String IP_FAILURES_PREFIX = "auth:login-fail:ip:";
+
+    private static final String LOCK_PREFIX = "auth:login-lock:";
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> RECORD_SCRIPT =
+            RedisScript.of(new ClassPathResource("lua/login_failure_record.lua"), List.class);
+
+    private static final RedisScript<Long> CHECK_SCRIPT =
+            RedisScript.of(new ClassPathResource("lua/login_failure_check.lua"), Long.class);
+
+    private final RedisStringService redisStringService;
+    private final UserMapper userMapper;
+    private final UserStatusCacheService userStatusCacheService;
+    private final LoginAttemptProperties properties;
+
+    /**
+     * 登录前检查：账号已被锁定或该 IP 失败次数过多时直接拒绝，无需再做密码哈希。
+     *
+     * @param username 用户名
+     * @param ip       客户端 IP
+     * @throws BusinessException        账号已锁定
+     * @throws TooManyRequestsException IP 失败次数过多
+     */
+    public void checkAllowed(String username, String ip) {
+        Long result = redisStringService.execute(
+                CHECK_SCRIPT,
+                List.of(LOCK_PREFIX + username, IP_FAILURES_PREFIX + ip),
+                String.valueOf(System.currentTimeMillis()),
+                String.valueOf(properties.getWindow().toMillis()),
+                String.valueOf(properties.getMaxIpFailures())
+        );
+        if (result == null) {
+            // Redis 不可用时放行，由密码校验兜底
+            return;
+        }
+        if (result == 1L) {
+            throw new BusinessException("输入密码错误次数过多，账号锁定");
+        }
+        if (result == 2L) {
+            throw new TooManyRequestsException("登录失败次数过多，请稍后再试");
+        }
+    }
+
+    /**
+     * 记录一次登录失败；用户名失败次数在窗口内达到上限时锁定账号，并将锁定状态写入数据库。
+     *
+     * @param username 用户名
+     * @param ip       客户端 IP
+     * @param user     用户实体，用户名不存在时为 null
+     * @throws BusinessException 本次失败触发了锁定
+     */
+    public void recordFailure(String username, String ip, SysUser user) {
+        long now = System.currentTimeMillis();
+        List<?> result = redisStringService.execute(
+                RECORD_SCRIPT,
+                List.of(USER_FAILURES_PREFIX + username, IP_FAILURES_PREFIX + ip, LOCK_PREFIX + username),
+                String.valueOf(now),
+                String.valueOf(properties.getWindow().toMillis()),
+                now + "-" + ThreadLocalRandom.current().nextInt(1_000_000),
+                String.valueOf(properties.getMaxUserFailures()),
+                String.valueOf(properties.getLockDuration().toSeconds())
+        );
+        if (result == null || result.size() < 3) {
+            return;
+        }
+
+        boolean lockedNow = ((Number) result.get(2)).longValue() == 1L;
+        if (!lockedNow) {
+            return;
+        }
+
+        log.warn("登录失败次数达到上限，锁定账号，username: {}, ip: {}", username, ip);
+        if (user != null) {
+            userMapper.updateLockById(user.getId(), UserStatusEnum.LOCKED, LocalDateTime.now(),
+                    properties.getMaxUserFailures());
+            userStatusCacheService.evict(user.getId());
+        }
+        throw new BusinessException("输入密码错误次数过多，账号锁定");
+    }
+
+    /**
+     * 登录成功后清空该用户名的失败窗口。
+     *
+     * @param username 用户名
+     */
+    public void recordSuccess(String username) {
+        redisStringService.delete(USER_FAILURES_PREFIX + username);
+    }
+}
@@ -0,0 +1,105 @@
+package com.bryan.platform.service.user;
+
+import com.bryan.platform.config.properties.LoginAuditProperties;
+import com.bryan.platform.domain.entity.user.LoginHistory;
+import com.bryan.platform.mapper.LoginHistoryMapper;
+import com.bryan.platform.mapper.UserMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * 登录审计服务。
+ * <p>
+ * 登录成功后只把事件放入内存中的有界环形缓冲区，不在登录请求内写库；
+ * 后台定时任务批量写入 login_history，并把同一批内同一用户的多次登录合并为一次 sys_user 最近登录信息更新。
+ * 缓冲区写满时丢弃最早的事件（审计数据允许少量丢失，不能阻塞登录）。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class LoginAuditService {
+
+    private final LoginHistoryMapper loginHistoryMapper;
+    private final UserMapper userMapper;
+    private final LoginAuditProperties properties;
+    private final BlockingQueue<LoginHistory> buffer;
+    private final Counter dropped;
+
+    public LoginAuditService(LoginHistoryMapper loginHistoryMapper,
+                             UserMapper userMapper,
+                             LoginAuditProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.loginHistoryMapper = loginHistoryMapper;
+        this.userMapper = userMapper;
+        this.properties = properties;
+        this.buffer = new ArrayBlockingQueue<>(properties.getBufferCapacity());
+        this.dropped = Counter.builder("auth.login.audit.dropped")
+                .description("缓冲区写满被丢弃的登录事件数")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.audit.pending", buffer, BlockingQueue::size)
+                .description("等待写入的登录事件数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 记录一次登录事件（非阻塞）。
+     *
+     * @param event 登录事件
+     */
+    public void record(LoginHistory event) {
+        while (!buffer.offer(event)) {
+            // 缓冲区已满：丢弃最早的事件，为新事件腾出位置
+            if (buffer.poll() != null) {
+                dropped.increment();
+            }
+        }
+    }
+
+    /**
+     * 定时将缓冲区中的事件批量写库。
+     */
+    @Scheduled(fixedDelayString = "${platform.auth.login-audit.flush-interval:1s}")
+    public void flush() {
+        List<LoginHistory> batch = new ArrayList<>(properties.getBatchSize());
+        while (buffer.drainTo(batch, properties.getBatchSize()) > 0) {
+            try {
+                write(batch);
+            } catch (Exception e) {
+                log.error("登录审计批量写入失败，丢弃 {} 条事件", batch.size(), e);
+            }
+            batch.clear();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+    }
+
+    private void write(List<LoginHistory> batch) {
+        // 1. 批量插入登录历史
+        loginHistoryMapper.insertBatch(batch);
+
+        // 2. 同一用户只保留最后一次登录，合并为一条批量更新
+        Map<Long, LoginHistory> latest = new LinkedHashMap<>();
+        for (LoginHistory event : batch) {
+            latest.merge(event.getUserId(), event,
+                    (a, b) -> b.getLoginAt().isAfter(a.getLoginAt()) ? b : a);
+        }
+        userMapper.updateLastLoginBatch(new ArrayList<>(latest.values()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.bryan.platform.service.user;
+
+import com.bryan.platform.config.properties.PasswordHashingProperties;
+import com.bryan.platform.exception.BusinessException;
+import com.bryan.platform.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 密码哈希服务。
+ * <p>
+ * BCrypt 计算是刻意设计的 CPU 密集操作。若直接在 Tomcat 请求线程上执行，登录洪峰会占满所有请求线程，
+ * 拖垮与登录无关的接口。此服务将 encode / matches 提交到固定大小的专用线程池，等待队列有界：
+ * 队列已满或等待超时时立即抛出 {@link TooManyRequestsException}（HTTP 429），而不是让请求线程无限堆积。
+ * 等待超时的任务若仍在排队则被移出队列；若已开始计算则无法中断，会占用线程直到完成。
+ * </p>
+ * <p>
+ * 指标：auth.password.hash（耗时，按 operation 区分）、auth.password.hash.queue（排队数）、
+ * auth.password.hash.active（执行中）、auth.password.hash.rejected（拒绝次数）。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class PasswordHashingService {
+
+    private final PasswordEncoder passwordEncoder;
+    private final ThreadPoolExecutor executor;
+    private final long waitTimeoutMillis;
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejected;
+
+    public PasswordHashingService(PasswordEncoder passwordEncoder,
+                                  PasswordHashingProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.passwordEncoder = passwordEncoder;
+        this.waitTimeoutMillis = properties.getWaitTimeout().toMillis();
+
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(
+                properties.getThreads(),
+                properties.getThreads(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threadIndex.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        this.encodeTimer = Timer.builder("auth.password.hash")
+                .description("密码哈希耗时（不含排队）")
+                .tag("operation", "encode")
+                .register(meterRegistry);
+        this.matchesTimer = Timer.builder("auth.password.hash")
+                .description("密码哈希耗时（不含排队）")
+                .tag("operation", "matches")
+                .register(meterRegistry);
+        this.rejected = Counter.builder("auth.password.hash.rejected")
+                .description("哈希线程池饱和或等待超时被拒绝的次数")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("等待哈希的任务数")
+                .register(meterRegistry);
+        Gauge.builder("auth.password.hash.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("正在执行的哈希任务数")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 在哈希线程池中加密密码。
+     *
+     * @param rawPassword 明文密码
+     * @return 加密后的密码
+     * @throws TooManyRequestsException 线程池饱和或等待超时
+     */
+    public String encode(CharSequence rawPassword) {
+        return submit(() -> encodeTimer.record(() -> passwordEncoder.encode(rawPassword)));
+    }
+
+    /**
+     * 在哈希线程池中校验密码。
+     *
+     * @param rawPassword     明文密码
+     * @param encodedPassword 已加密的密码
+     * @return 匹配返回 true
+     * @throws TooManyRequestsException 线程池饱和或等待超时
+     */
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return submit(() -> matchesTimer.record(() -> passwordEncoder.matches(rawPassword, encodedPassword)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
+
+    private <T> T submit(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new TooManyRequestsException("登录请求过多，请稍后重试");
+        }
+
+        try {
+            return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            abandon(future);
+            rejected.increment();
+            throw new TooManyRequestsException("登录请求过多，请稍后重试");
+        } catch (InterruptedException e) {
+            abandon(future);
+            Thread.currentThread().interrupt();
+            throw new BusinessException("密码校验被中断");
+        } catch (ExecutionException e) {
+            throw new BusinessException("密码哈希失败: " + e.getCause().getMessage());
+        }
+    }
+
+    /**
+     * 放弃等待：仍在排队的任务移出队列并取消，立即让出队列位置；
+     * 已开始执行的 BCrypt 计算无法中断，会继续占用线程直到完成，期间照常计入线程池容量。
+     */
+    private void abandon(Future<?> future) {
+        if (future instanceof Runnable queued && executor.remove(queued)) {
+            future.cancel(false);
+        }
+    }
+}
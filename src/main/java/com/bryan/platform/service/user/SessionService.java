@@ -0,0 +1,220 @@
+package com.bryan.platform.service.user;
+
+import com.bryan.platform.config.properties.SessionProperties;
+import com.bryan.platform.domain.entity.user.UserSession;
+import com.bryan.platform.exception.BusinessException;
+import com.bryan.platform.service.redis.RedisHashService;
+import com.bryan.platform.service.redis.RedisStringService;
+import com.bryan.platform.util.http.HttpUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * 多设备登录会话服务。
+ * <p>
+ * 每个用户一个 Redis Hash（auth:sessions:{userId}），每台设备一个字段（会话 ID，即 Token 的 jti），
+ * 字段值只保存 Token 指纹而非完整 JWT。认证过滤器校验时只需对会话 ID 做一次 HGET 并比对指纹；
+ * 撤销单个会话即删除一个字段，复杂度 O(1)。
+ * Hash 整体 TTL 跟随最新会话的过期时间，单个会话的过期时间在读取时判断并惰性清理。
+ * 只有登录、刷新与撤销会写入会话，普通请求只读。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class SessionService {
+
+    private static final String KEY_PREFIX = "auth:sessions:";
+
+    private static final String REFRESH_USED_PREFIX = "auth:refresh-used:";
+
+    private final RedisHashService redisHashService;
+    private final RedisStringService redisStringService;
+    private final TokenCacheService tokenCacheService;
+    private final SessionProperties properties;
+
+    /**
+     * 生成新的会话 ID。
+     *
+     * @return 32 位十六进制会话 ID
+     */
+    public static String newSessionId() {
+        return UUID.randomUUID().toString().replace("-", "");
+    }
+
+    /**
+     * 创建会话：记录 Token 指纹与登录设备信息，超出会话数上限时淘汰最早的会话。
+     *
+     * @param userId             用户 ID
+     * @param sessionId          会话 ID（与 Token 的 jti 一致）
+     * @param fingerprint        访问 Token 指纹
+     * @param refreshFingerprint 刷新 Token 指纹
+     * @param expiresAt          会话过期时间（毫秒时间戳）
+     * @return 创建的会话
+     */
+    public UserSession open(Long userId, String sessionId, String fingerprint,
+                            String refreshFingerprint, long expiresAt) {
+        // 1. 清理已过期会话，并为新会话腾出名额
+        List<UserSession> sessions = loadAndPurge(userId);
+        sessions.sort(Comparator.comparingLong(UserSession::getCreatedAt));
+        int overflow = sessions.size() - properties.getMaxSessions() + 1;
+        for (int i = 0; i < overflow; i++) {
+            remove(userId, sessions.get(i));
+        }
+
+        // 2. 写入新会话
+        UserSession session = UserSession.builder()
+                .sessionId(sessionId)
+                .userId(userId)
+                .fingerprint(fingerprint)
+                .refreshFingerprint(refreshFingerprint)
+                .os(HttpUtils.getClientOS())
+                .browser(HttpUtils.getClientBrowser())
+                .ip(HttpUtils.getClientIp())
+                .createdAt(System.currentTimeMillis())
+                .expiresAt(expiresAt)
+                .build();
+        save(session);
+        return session;
+    }
+
+    /**
+     * 更新会话（例如刷新 Token 后替换指纹），并顺延 Hash 的整体过期时间。
+     *
+     * @param session 会话
+     */
+    public void save(UserSession session) {
+        String key = KEY_PREFIX + session.getUserId();
+        redisHashService.set(key, session.getSessionId(), session);
+        long ttlSeconds = (session.getExpiresAt() - System.currentTimeMillis()) / 1000;
+        redisHashService.setExpire(key, Math.max(1, ttlSeconds));
+    }
+
+    /**
+     * 将刷新 Token 标记为已使用。每个刷新 Token 只能成功标记一次，并发重复提交时只有一个请求成功。
+     *
+     * @param refreshFingerprint 刷新 Token 指纹
+     * @param expiresAt          刷新 Token 过期时间（毫秒时间戳），标记保留到此时为止
+     * @return 首次使用返回 true，已被使用过返回 false
+     * @throws BusinessException Redis 操作失败
+     */
+    public boolean markRefreshUsed(String refreshFingerprint, long expiresAt) {
+        long ttlSeconds = Math.max(1, (expiresAt - System.currentTimeMillis()) / 1000);
+        Boolean marked = redisStringService.setIfAbsent(REFRESH_USED_PREFIX + refreshFingerprint, "1", ttlSeconds);
+        if (marked == null) {
+            throw new BusinessException("刷新 Token 状态写入失败");
+        }
+        return marked;
+    }
+
+    /**
+     * 获取未过期的会话。
+     *
+     * @param userId    用户 ID
+     * @param sessionId 会话 ID
+     * @return 会话；不存在或已过期返回 null
+     */
+    public UserSession get(Long userId, String sessionId) {
+        if (sessionId == null) {
+            return null;
+        }
+        Object value = redisHashService.get(KEY_PREFIX + userId, sessionId);
+        if (!(value instanceof UserSession session) || isExpired(session)) {
+            return null;
+        }
+        return session;
+    }
+
+    /**
+     * 判断会话是否仍有效且当前 Token 是该会话最新签发的 Token。
+     *
+     * @param userId      用户 ID
+     * @param sessionId   会话 ID
+     * @param fingerprint Token 指纹
+     * @return 有效返回 true
+     */
+    public boolean isActive(Long userId, String sessionId, String fingerprint) {
+        UserSession session = get(userId, sessionId);
+        return session != null && fingerprint.equals(session.getFingerprint());
+    }
+
+    /**
+     * 列出用户所有未过期的会话，按创建时间倒序。
+     *
+     * @param userId 用户 ID
+     * @return 会话列表
+     */
+    public List<UserSession> list(Long userId) {
+        List<UserSession> sessions = loadAndPurge(userId);
+        sessions.sort(Comparator.comparingLong(UserSession::getCreatedAt).reversed());
+        return sessions;
+    }
+
+    /**
+     * 撤销单个会话，并通知各节点失效该会话 Token 的本地校验缓存。
+     *
+     * @param userId    用户 ID
+     * @param sessionId 会话 ID
+     * @return 会话存在并被删除返回 true
+     */
+    public boolean revoke(Long userId, String sessionId) {
+        Object value = redisHashService.get(KEY_PREFIX + userId, sessionId);
+        if (!(value instanceof UserSession session)) {
+            return false;
+        }
+        return remove(userId, session);
+    }
+
+    /**
+     * 撤销用户的全部会话。
+     *
+     * @param userId 用户 ID
+     */
+    public void revokeAll(Long userId) {
+        List<Object> values = redisHashService.values(KEY_PREFIX + userId);
+        for (Object value : values) {
+            if (value instanceof UserSession session) {
+                remove(userId, session);
+            }
+        }
+    }
+
+    /**
+     * 读取用户全部会话，顺带删除已过期或无法识别的字段。
+     */
+    private List<UserSession> loadAndPurge(Long userId) {
+        String key = KEY_PREFIX + userId;
+        Map<String, Object> entries = redisHashService.getAll(key);
+        List<UserSession> sessions = new ArrayList<>(entries.size());
+        for (Map.Entry<String, Object> entry : entries.entrySet()) {
+            if (entry.getValue() instanceof UserSession session && !isExpired(session)) {
+                sessions.add(session);
+            } else {
+                redisHashService.delete(key, entry.getKey());
+            }
+        }
+        return sessions;
+    }
+
+    private boolean remove(Long userId, UserSession session) {
+        boolean deleted = redisHashService.delete(KEY_PREFIX + userId, session.getSessionId());
+        if (session.getFingerprint() != null) {
+            tokenCacheService.evict(session.getFingerprint());
+        }
+        log.info("会话已撤销，userId: {}, sessionId: {}", userId, session.getSessionId());
+        return deleted;
+    }
+
+    private static boolean isExpired(UserSession session) {
+        return session.getExpiresAt() <= System.currentTimeMillis();
+    }
+}
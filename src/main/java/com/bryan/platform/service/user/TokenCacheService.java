@@ -0,0 +1,114 @@
+package com.bryan.platform.service.user;
+
+import com.bryan.platform.config.properties.TokenCacheProperties;
+import com.bryan.platform.service.redis.RedisPubSubService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token 校验本地近端缓存。
+ * <p>
+ * 以 Token 指纹为键，缓存"该 Token 已通过 Redis 校验"的结论，命中时过滤器无需再访问 Redis。
+ * 单条缓存的存活时间取配置上限与 Token 剩余有效期中的较小值；
+ * 登出或重新登录替换 Token 时，通过 Redis Pub/Sub 通知所有节点同步失效。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class TokenCacheService {
+
+    /** 跨节点失效广播频道，消息体为 Token 指纹 */
+    public static final String EVICT_CHANNEL = "auth:token-cache:evict";
+
+    private final RedisPubSubService redisPubSubService;
+    private final Cache<String, Long> cache;
+    private final Counter redisLookups;
+
+    public TokenCacheService(TokenCacheProperties properties,
+                             RedisPubSubService redisPubSubService,
+                             MeterRegistry meterRegistry) {
+        this.redisPubSubService = redisPubSubService;
+        long maxTtlNanos = properties.getMaxTtl().toNanos();
+        // 值为 Token 过期时间戳（毫秒），用于计算单条缓存的存活时间
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfter(new Expiry<String, Long>() {
+                    @Override
+                    public long expireAfterCreate(String key, Long expiresAt, long currentTime) {
+                        long remaining = TimeUnit.MILLISECONDS.toNanos(expiresAt - System.currentTimeMillis());
+                        return Math.max(0, Math.min(maxTtlNanos, remaining));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return expireAfterCreate(key, expiresAt, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, Long expiresAt, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.cache, "auth.token");
+        this.redisLookups = Counter.builder("auth.token.redis.lookups")
+                .description("本地缓存未命中后回源 Redis 校验 Token 的次数")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void subscribeEvictions() {
+        redisPubSubService.subscribe(EVICT_CHANNEL, cache::invalidate);
+    }
+
+    /**
+     * 判断 Token 是否已在本节点通过校验且尚未过期。
+     *
+     * @param fingerprint Token 指纹
+     * @return 命中返回 true；未命中需回源 Redis 校验
+     */
+    public boolean isValid(String fingerprint) {
+        return cache.getIfPresent(fingerprint) != null;
+    }
+
+    /**
+     * 记录一次回源 Redis 并校验通过的 Token。
+     *
+     * @param fingerprint Token 指纹
+     * @param expiresAt   Token 过期时间戳（毫秒）
+     */
+    public void markValid(String fingerprint, long expiresAt) {
+        cache.put(fingerprint, expiresAt);
+    }
+
+    /**
+     * 统计一次回源 Redis 的校验。
+     */
+    public void recordRedisLookup() {
+        redisLookups.increment();
+    }
+
+    /**
+     * 使指定 Token 的校验结果在所有节点失效。
+     *
+     * @param fingerprint Token 指纹
+     */
+    public void evict(String fingerprint) {
+        cache.invalidate(fingerprint);
+        if (!redisPubSubService.publish(EVICT_CHANNEL, fingerprint)) {
+            log.warn("Token 缓存失效广播失败，其余节点将在缓存过期后自然失效，fingerprint: {}", fingerprint);
+        }
+    }
+}
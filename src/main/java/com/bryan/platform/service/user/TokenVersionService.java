@@ -0,0 +1,155 @@
+package com.bryan.platform.service.user;
+
+import com.bryan.platform.config.properties.TokenVersionProperties;
+import com.bryan.platform.exception.BusinessException;
+import com.bryan.platform.exception.ServiceUnavailableException;
+import com.bryan.platform.service.redis.RedisPubSubService;
+import com.bryan.platform.service.redis.RedisStringService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Token 版本号服务。
+ * <p>
+ * 每个 Token 签发时携带用户版本号（tokenVersion）与全局版本号（globalVersion），
+ * 校验时只需比较两个整数：Token 中的版本号小于当前版本号即视为已吊销。
+ * 修改密码、封禁、删除、变更角色、退出全部设备时递增用户版本号；
+ * 密钥轮换等需要全体用户重新登录的场景递增全局版本号，一次写入即可吊销所有 Token。
+ * </p>
+ * <p>
+ * 版本号以 Redis 计数器为准，本地以 Caffeine 短时缓存；版本变更通过 Redis Pub/Sub 通知所有节点失效本地缓存。
+ * Redis 读取失败时不写入本地缓存并抛出 {@link ServiceUnavailableException}，校验失败关闭：
+ * 既不会把已吊销的 Token 当作版本 0 放行，也不会签发携带版本 0 的 Token。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class TokenVersionService {
+
+    /** 跨节点失效广播频道，消息体为版本号的 Redis 键 */
+    public static final String EVICT_CHANNEL = "auth:token-version:evict";
+
+    private static final String USER_KEY_PREFIX = "auth:token-version:";
+
+    private static final String GLOBAL_KEY = "auth:token-version:global";
+
+    private final RedisStringService redisStringService;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final RedisPubSubService redisPubSubService;
+    private final Cache<String, Long> localCache;
+
+    public TokenVersionService(RedisStringService redisStringService,
+                               StringRedisTemplate stringRedisTemplate,
+                               RedisPubSubService redisPubSubService,
+                               TokenVersionProperties properties,
+                               MeterRegistry meterRegistry) {
+        this.redisStringService = redisStringService;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.redisPubSubService = redisPubSubService;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.localCache, "auth.token.version");
+    }
+
+    @PostConstruct
+    public void subscribeEvictions() {
+        redisPubSubService.subscribe(EVICT_CHANNEL, localCache::invalidate);
+    }
+
+    /**
+     * 获取用户当前版本号。
+     *
+     * @param userId 用户 ID
+     * @return 版本号，从未递增过时为 0
+     * @throws ServiceUnavailableException Redis 读取失败
+     */
+    public long getUserVersion(Long userId) {
+        return getVersion(USER_KEY_PREFIX + userId);
+    }
+
+    /**
+     * 获取全局版本号。
+     *
+     * @return 版本号，从未递增过时为 0
+     * @throws ServiceUnavailableException Redis 读取失败
+     */
+    public long getGlobalVersion() {
+        return getVersion(GLOBAL_KEY);
+    }
+
+    /**
+     * 判断 Token 携带的版本号是否仍然有效。
+     *
+     * @param userId        用户 ID
+     * @param tokenVersion  Token 中的用户版本号
+     * @param globalVersion Token 中的全局版本号
+     * @return 两个版本号均不低于当前版本号时返回 true
+     * @throws ServiceUnavailableException Redis 读取失败（无法确认是否已吊销）
+     */
+    public boolean isCurrent(Long userId, long tokenVersion, long globalVersion) {
+        return globalVersion >= getGlobalVersion() && tokenVersion >= getUserVersion(userId);
+    }
+
+    /**
+     * 递增用户版本号，吊销该用户此前签发的全部 Token。
+     *
+     * @param userId 用户 ID
+     * @return 新版本号
+     * @throws BusinessException Redis 写入失败
+     */
+    public long bumpUserVersion(Long userId) {
+        long version = bump(USER_KEY_PREFIX + userId);
+        log.info("用户 Token 版本号已递增，userId: {}, version: {}", userId, version);
+        return version;
+    }
+
+    /**
+     * 递增全局版本号，吊销所有用户此前签发的全部 Token。
+     *
+     * @return 新版本号
+     * @throws BusinessException Redis 写入失败
+     */
+    public long bumpGlobalVersion() {
+        long version = bump(GLOBAL_KEY);
+        log.warn("全局 Token 版本号已递增，所有用户需重新登录，version: {}", version);
+        return version;
+    }
+
+    /**
+     * 读取版本号：键不存在为 0；Redis 读取失败时抛出异常，加载失败的结果不会写入本地缓存。
+     */
+    private long getVersion(String key) {
+        return localCache.get(key, k -> {
+            String value;
+            try {
+                value = stringRedisTemplate.opsForValue().get(k);
+            } catch (Exception e) {
+                throw new ServiceUnavailableException("Token 版本号暂不可用，请稍后重试", e);
+            }
+            return value == null ? 0L : Long.parseLong(value);
+        });
+    }
+
+    private long bump(String key) {
+        Long version = redisStringService.increment(key, 1);
+        if (version == null) {
+            throw new BusinessException("Token 版本号更新失败");
+        }
+        localCache.put(key, version);
+        if (!redisPubSubService.publish(EVICT_CHANNEL, key)) {
+            log.warn("Token 版本号失效广播失败，其余节点将在本地缓存过期后生效，key: {}", key);
+        }
+        return version;
+    }
+}
@@ -6,6 +6,7 @@ import com.bryan.platform.exception.BusinessException;
 import com.bryan.platform.domain.entity.user.UserFollow;
 import com.bryan.platform.mapper.UserFollowMapper;
 import com.bryan.platform.mapper.UserMapper;
+import com.bryan.platform.service.feed.TimelineService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -26,6 +27,7 @@ public class UserFollowService {
 
     private final UserFollowMapper userFollowMapper;
     private final UserMapper userMapper;
+    private final TimelineService timelineService;
 
     /**
      * 当前用户关注另一个用户
@@ -55,7 +57,11 @@ public class UserFollowService {
                 .followerId(followerId)
                 .followingId(followingId)
                 .build();
-        return userFollowMapper.insert(uf);
+        int inserted = userFollowMapper.insert(uf);
+
+        // 4. 关注列表变化，时间线在下次读取时重建
+        timelineService.invalidate(followerId);
+        return inserted;
     }
 
     /**
@@ -73,7 +79,9 @@ public class UserFollowService {
             throw new BusinessException("您尚未关注该用户");
         }
 
-        return userFollowMapper.updateDeletedByFollowerIdAndFollowingId(followerId, followingId, 1);
+        int updated = userFollowMapper.updateDeletedByFollowerIdAndFollowingId(followerId, followingId, 1);
+        timelineService.invalidate(followerId);
+        return updated;
     }
 
     /**
@@ -12,7 +12,6 @@ import com.bryan.platform.exception.ResourceNotFoundException;
 import com.bryan.platform.mapper.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -33,8 +32,10 @@ import java.util.stream.Collectors;
 public class UserService {
 
     private final UserMapper userMapper;
-    private final PasswordEncoder passwordEncoder;
+    private final PasswordHashingService passwordHashingService;
     private final UserRoleService userRoleService;
+    private final UserStatusCacheService userStatusCacheService;
+    private final TokenVersionService tokenVersionService;
 
     /**
      * 获取所有用户列表（不分页）。
@@ -99,6 +100,7 @@ public class UserService {
             userMapper.insert(sysUser);
         } else {
             userMapper.update(sysUser);
+            userStatusCacheService.evict(sysUser.getId());
         }
         return sysUser;
     }
@@ -129,6 +131,7 @@ public class UserService {
 
         userMapper.update(user);
         log.info("用户ID: {} 的信息更新成功", userId);
+        userStatusCacheService.evict(userId);
         return user;
     }
 
@@ -158,6 +161,8 @@ public class UserService {
         SysUser user = getUserById(userId);
         user.setRoles(roleNames);
         userMapper.update(user);
+        userStatusCacheService.evict(userId);
+        tokenVersionService.bumpUserVersion(userId);
         return user;
     }
 
@@ -175,13 +180,15 @@ public class UserService {
                                   String oldPassword,
                                   String newPassword) {
         SysUser user = getUserById(userId);
-        if (!passwordEncoder.matches(oldPassword, user.getPassword())) {
+        if (!passwordHashingService.matches(oldPassword, user.getPassword())) {
             throw new BusinessException("旧密码不正确");
         }
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         user.setPasswordResetAt(LocalDateTime.now());
         userMapper.update(user);
         log.info("用户ID: {} 的密码更新成功", userId);
+        userStatusCacheService.evict(userId);
+        tokenVersionService.bumpUserVersion(userId);
         return user;
     }
 
@@ -196,10 +203,12 @@ public class UserService {
      */
     public SysUser changePasswordForcefully(Long userId, String newPassword) {
         SysUser user = getUserById(userId);
-        user.setPassword(passwordEncoder.encode(newPassword));
+        user.setPassword(passwordHashingService.encode(newPassword));
         user.setPasswordResetAt(LocalDateTime.now());
         userMapper.update(user);
         log.info("用户ID: {} 的密码强制修改成功", userId);
+        userStatusCacheService.evict(userId);
+        tokenVersionService.bumpUserVersion(userId);
         return user;
     }
 
@@ -215,6 +224,8 @@ public class UserService {
         user.setStatus(UserStatusEnum.BANNED);
         userMapper.update(user);
         log.info("用户ID: {} 封禁成功", userId);
+        userStatusCacheService.evict(userId);
+        tokenVersionService.bumpUserVersion(userId);
         return user;
     }
 
@@ -230,6 +241,7 @@ public class UserService {
         user.setStatus(UserStatusEnum.NORMAL);
         userMapper.update(user);
         log.info("用户ID: {} 解封成功", userId);
+        userStatusCacheService.evict(userId);
         return user;
     }
 
@@ -244,6 +256,8 @@ public class UserService {
         SysUser user = getUserById(userId);
         userMapper.updateDeletedById(userId, 1);
         log.info("用户ID: {} 删除成功 (逻辑删除)", userId);
+        userStatusCacheService.evict(userId);
+        tokenVersionService.bumpUserVersion(userId);
         return user;
     }
 }
@@ -0,0 +1,143 @@
+package com.bryan.platform.service.user;
+
+import com.bryan.platform.config.properties.UserStatusCacheProperties;
+import com.bryan.platform.domain.converter.UserConverter;
+import com.bryan.platform.domain.dto.UserStatusDTO;
+import com.bryan.platform.mapper.UserMapper;
+import com.bryan.platform.service.redis.RedisPubSubService;
+import com.bryan.platform.service.redis.RedisStringService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+/**
+ * 用户状态缓存服务。
+ * <p>
+ * 认证过滤器每次请求都需要校验账户是否被封禁/锁定/删除，此服务以用户 ID 为键缓存状态快照：
+ * 本地 L1（Caffeine）→ Redis L2（可选）→ 数据库。
+ * 用户状态发生变化时调用 {@link #evict(Long)}，通过 Redis Pub/Sub 通知所有节点失效本地缓存。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Slf4j
+@Service
+public class UserStatusCacheService {
+
+    /** 跨节点失效广播频道，消息体为用户 ID */
+    public static final String EVICT_CHANNEL = "user:status:evict";
+
+    private static final String REDIS_KEY_PREFIX = "user:status:";
+
+    private final UserMapper userMapper;
+    private final RedisStringService redisStringService;
+    private final RedisPubSubService redisPubSubService;
+    private final ObjectMapper objectMapper;
+    private final UserStatusCacheProperties properties;
+    private final Cache<Long, UserStatusDTO> localCache;
+
+    public UserStatusCacheService(UserMapper userMapper,
+                                  RedisStringService redisStringService,
+                                  RedisPubSubService redisPubSubService,
+                                  ObjectMapper objectMapper,
+                                  UserStatusCacheProperties properties,
+                                  MeterRegistry meterRegistry) {
+        this.userMapper = userMapper;
+        this.redisStringService = redisStringService;
+        this.redisPubSubService = redisPubSubService;
+        this.objectMapper = objectMapper;
+        this.properties = properties;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getLocalTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, this.localCache, "user.status");
+    }
+
+    @PostConstruct
+    public void subscribeEvictions() {
+        redisPubSubService.subscribe(EVICT_CHANNEL, message -> localCache.invalidate(Long.valueOf(message)));
+    }
+
+    /**
+     * 获取用户状态快照。
+     *
+     * @param userId 用户 ID
+     * @return 状态快照，用户不存在时返回 null
+     */
+    public UserStatusDTO get(Long userId) {
+        // 1. 本地缓存
+        UserStatusDTO status = localCache.getIfPresent(userId);
+        if (status != null) {
+            return status;
+        }
+
+        // 2. Redis 二级缓存
+        status = getFromRedis(userId);
+
+        // 3. 回源数据库并回填 Redis
+        if (status == null) {
+            status = UserConverter.toStatusDTO(userMapper.selectById(userId));
+            if (status == null) {
+                return null;
+            }
+            putToRedis(status);
+        }
+
+        localCache.put(userId, status);
+        return status;
+    }
+
+    /**
+     * 使指定用户的状态缓存在所有节点失效。
+     *
+     * @param userId 用户 ID
+     */
+    public void evict(Long userId) {
+        localCache.invalidate(userId);
+        if (properties.isRedisEnabled()) {
+            redisStringService.delete(REDIS_KEY_PREFIX + userId);
+        }
+        if (!redisPubSubService.publish(EVICT_CHANNEL, userId.toString())) {
+            log.warn("用户状态缓存失效广播失败，其余节点将在本地缓存过期后自然失效，userId: {}", userId);
+        }
+    }
+
+    private UserStatusDTO getFromRedis(Long userId) {
+        if (!properties.isRedisEnabled()) {
+            return null;
+        }
+        String json = redisStringService.get(REDIS_KEY_PREFIX + userId);
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, UserStatusDTO.class);
+        } catch (JsonProcessingException e) {
+            log.warn("用户状态缓存反序列化失败，userId: {}", userId, e);
+            return null;
+        }
+    }
+
+    private void putToRedis(UserStatusDTO status) {
+        if (!properties.isRedisEnabled()) {
+            return;
+        }
+        try {
+            redisStringService.set(
+                    REDIS_KEY_PREFIX + status.getId(),
+                    objectMapper.writeValueAsString(status),
+                    properties.getRedisTtl().toSeconds()
+            );
+        } catch (JsonProcessingException e) {
+            log.warn("用户状态缓存序列化失败，userId: {}", status.getId(), e);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.bryan.platform.util.http;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
@@ -13,6 +15,13 @@ import java.util.Objects;
  */
 public class HttpUtils {
 
+    /**
+     * User-Agent 解析结果缓存（有界，按访问频率与时间淘汰）
+     */
+    private static final Cache<String, UserAgent> USER_AGENT_CACHE = Caffeine.newBuilder()
+            .maximumSize(2048)
+            .build();
+
     public static String getClientIp() {
         ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
         HttpServletRequest request = attributes.getRequest();
@@ -44,44 +53,52 @@ public class HttpUtils {
     }
 
     public static String getClientOS() {
+        return getUserAgent().os();
+    }
+
+    public static String getClientBrowser() {
+        return getUserAgent().browser();
+    }
+
+    /**
+     * 解析当前请求的 User-Agent。同一客户端的 User-Agent 字符串高度重复，解析结果缓存在有界缓存中，
+     * 命中时无需再做小写转换与逐项匹配。
+     */
+    private static UserAgent getUserAgent() {
         ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
         HttpServletRequest request = attributes.getRequest();
 
         String userAgent = request.getHeader("User-Agent");
         if (userAgent == null) {
-            return "Unknown";
+            return UserAgent.UNKNOWN;
         }
+        return USER_AGENT_CACHE.get(userAgent, HttpUtils::parseUserAgent);
+    }
 
-        userAgent = userAgent.toLowerCase();
+    private static UserAgent parseUserAgent(String userAgent) {
+        String ua = userAgent.toLowerCase();
+        return new UserAgent(parseOS(ua), parseBrowser(ua));
+    }
 
-        if (userAgent.contains("windows")) {
+    private static String parseOS(String ua) {
+        if (ua.contains("windows")) {
             return "Windows";
-        } else if (userAgent.contains("mac")) {
+        } else if (ua.contains("mac")) {
             return "Mac OS";
-        } else if (userAgent.contains("x11")) {
+        } else if (ua.contains("x11")) {
             return "Unix";
-        } else if (userAgent.contains("android")) {
+        } else if (ua.contains("android")) {
             return "Android";
-        } else if (userAgent.contains("iphone")) {
+        } else if (ua.contains("iphone")) {
             return "iOS";
-        } else if (userAgent.contains("linux")) {
+        } else if (ua.contains("linux")) {
             return "Linux";
         } else {
             return "Unknown";
         }
     }
 
-    public static String getClientBrowser() {
-        ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
-        HttpServletRequest request = attributes.getRequest();
-
-        String userAgent = request.getHeader("User-Agent");
-        if (userAgent == null) {
-            return "Unknown";
-        }
-
-        String ua = userAgent.toLowerCase();
-
+    private static String parseBrowser(String ua) {
         if (ua.contains("edg/") || ua.contains("edge/")) {
             return "Edge";
         } else if (ua.contains("opr/") || ua.contains("opera")) {
@@ -98,4 +115,8 @@ public class HttpUtils {
             return "Unknown";
         }
     }
+
+    private record UserAgent(String os, String browser) {
+        static final UserAgent UNKNOWN = new UserAgent("Unknown", "Unknown");
+    }
 }
@@ -0,0 +1,52 @@
+package com.bryan.platform.util.jwt;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 类型化的 JWT 声明，由 {@link JwtUtils#verify(String)} 一次解析得到。
+ *
+ * @author Bryan Long
+ */
+@Getter
+@AllArgsConstructor
+public class JwtClaims {
+
+    /** 用户 ID（subject） */
+    private final Long userId;
+
+    /** 会话 ID（jti），对应 Redis 会话哈希中的字段名 */
+    private final String sessionId;
+
+    /** 用户名 */
+    private final String username;
+
+    /** 角色列表（带 "ROLE_" 前缀，不可变） */
+    private final List<String> roles;
+
+    /** Token 类型：access / refresh，旧 Token 为 null */
+    private final String tokenType;
+
+    /** 签发时的用户 Token 版本号 */
+    private final long tokenVersion;
+
+    /** 签发时的全局 Token 版本号 */
+    private final long globalVersion;
+
+    /** 签发时间（毫秒时间戳） */
+    private final long issuedAt;
+
+    /** 过期时间（毫秒时间戳） */
+    private final long expiresAt;
+
+    /**
+     * 是否为刷新 Token。
+     *
+     * @return 刷新 Token 返回 true
+     */
+    public boolean isRefreshToken() {
+        return JwtUtils.TOKEN_TYPE_REFRESH.equals(tokenType);
+    }
+}
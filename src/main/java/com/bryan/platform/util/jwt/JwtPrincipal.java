@@ -0,0 +1,63 @@
+package com.bryan.platform.util.jwt;
+
+import com.bryan.platform.domain.entity.user.SysUser;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.util.List;
+
+/**
+ * 请求级认证主体。
+ * <p>
+ * 由 JwtAuthenticationFilter 在 Token 校验通过后构建一次，并挂在当前请求的属性上，
+ * 后续 JwtUtils / AuthService 的取值方法直接读取字段，不再重复解析 Token 或查询数据库。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Getter
+@AllArgsConstructor
+public class JwtPrincipal {
+
+    /** 用户 ID（Token subject） */
+    private final Long userId;
+
+    /** 会话 ID（jti） */
+    private final String sessionId;
+
+    /** 用户名 */
+    private final String username;
+
+    /** 角色列表（带 "ROLE_" 前缀） */
+    private final List<String> roles;
+
+    /** 原始 JWT 字符串 */
+    private final String token;
+
+    /** Token 过期时间（毫秒时间戳） */
+    private final long expiresAt;
+
+    /** 已加载的用户实体，首次需要时加载并在本次请求内复用 */
+    @Setter
+    private SysUser user;
+
+    /**
+     * 由校验通过的声明构建认证主体。
+     *
+     * @param claims 类型化声明
+     * @param token  原始 JWT 字符串
+     * @return 认证主体（user 字段尚未加载）
+     */
+    public static JwtPrincipal of(JwtClaims claims, String token) {
+        return new JwtPrincipal(
+                claims.getUserId(),
+                claims.getSessionId(),
+                claims.getUsername(),
+                claims.getRoles(),
+                token,
+                claims.getExpiresAt(),
+                null
+        );
+    }
+}
@@ -1,26 +1,40 @@
 package com.bryan.platform.util.jwt;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.MalformedJwtException;
 import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.UnsupportedJwtException;
 import io.jsonwebtoken.security.Keys;
+import io.jsonwebtoken.security.SecurityException;
 import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.RequestAttributes;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.*;
-import java.util.stream.Collectors;
 
 /**
  * JWT 工具类，用于生成和解析 JWT 令牌。
  * <p>
  * 说明：
  * 1. 生成 Token 使用 HS256 签名算法，密钥长度至少256位。
- * 2. 解析 Token 时验证签名和有效期。
+ * 2. 解析 Token 时验证签名和有效期；解析器预先构建并复用（线程安全）。
  * 3. 该类静态方法调用，无状态。
  * 4. 密钥 SECRET_STRING 建议生产环境中通过配置文件注入，避免硬编码。
+ * 5. 认证过滤器解析出的 {@link JwtPrincipal} 挂在请求属性上，getCurrentXxx 方法优先读取，避免重复解析。
+ * 6. 热路径使用 {@link #verify(String)}：一次解析得到 {@link JwtClaims}，失败以 {@link JwtVerifyResult} 返回而不抛异常。
+ * 7. 登录签发的 Token 携带 jti 声明作为会话 ID，用于多设备会话管理。
+ * 8. 登录签发短期访问 Token 与长期刷新 Token，以 tokenType 声明区分。
  * </p>
  *
  * @author Bryan Long
@@ -30,10 +44,50 @@ public class JwtUtils {
     // 生产环境建议使用外部配置注入密钥，避免硬编码
     private static final String SECRET_STRING = "BryanTaoLong2025!@#SuperSecretKeyJwtToken987";
 
-    private static final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET_STRING.getBytes(StandardCharsets.UTF_8));
+    // 包级可见，供同包下的基准测试对比旧解析路径
+    static final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET_STRING.getBytes(StandardCharsets.UTF_8));
 
     private static final long EXPIRATION_MS = 86400000; // 24小时
 
+    private static final long ACCESS_EXPIRATION_MS = 15 * 60 * 1000L; // 访问 Token 15 分钟
+
+    private static final long REFRESH_EXPIRATION_MS = 14 * 86400000L; // 刷新 Token 14 天
+
+    /**
+     * 预构建的解析器。JwtParser 构建后不可变且线程安全，无需每次调用重新 build。
+     */
+    private static final JwtParser PARSER = Jwts.parser()
+            .verifyWith(SECRET_KEY)
+            .build();
+
+    /**
+     * 角色解析结果缓存：以 roles 声明原文为键。
+     * 同一 Token 的多次校验以及拥有相同角色组合的不同 Token 都能命中，无需重复 split / 拼接前缀。
+     */
+    private static final Cache<String, List<String>> ROLES_CACHE = Caffeine.newBuilder()
+            .maximumSize(1024)
+            .build();
+
+    /** Token 类型声明名 */
+    public static final String CLAIM_TOKEN_TYPE = "tokenType";
+
+    /** 访问 Token：携带在 Authorization 头中访问业务接口 */
+    public static final String TOKEN_TYPE_ACCESS = "access";
+
+    /** 刷新 Token：仅用于换取新的 Token 对，不能访问业务接口 */
+    public static final String TOKEN_TYPE_REFRESH = "refresh";
+
+    /** 用户 Token 版本号声明名 */
+    public static final String CLAIM_TOKEN_VERSION = "tokenVersion";
+
+    /** 全局 Token 版本号声明名 */
+    public static final String CLAIM_GLOBAL_VERSION = "globalVersion";
+
+    /**
+     * 当前请求认证主体在请求属性中的键名。
+     */
+    public static final String PRINCIPAL_ATTRIBUTE = JwtPrincipal.class.getName();
+
     /**
      * 生成带额外声明的 JWT Token。
      *
@@ -56,6 +110,48 @@ public class JwtUtils {
                 .compact();
     }
 
+    /**
+     * 生成绑定会话的 JWT Token，会话 ID 写入 jti 声明，Token 类型写入 tokenType 声明。
+     *
+     * @param userId    用户ID，作为 Token 的主题(subject)
+     * @param sessionId 会话 ID
+     * @param tokenType Token 类型，{@link #TOKEN_TYPE_ACCESS} 或 {@link #TOKEN_TYPE_REFRESH}
+     * @param claims    额外的声明数据
+     * @param expiresAt 过期时间（毫秒时间戳）
+     * @return 生成的 JWT 字符串
+     */
+    public static String generateToken(String userId, String sessionId, String tokenType,
+                                       Map<String, Object> claims, long expiresAt) {
+        Map<String, Object> sessionClaims = new HashMap<>(claims);
+        sessionClaims.put(Claims.ID, sessionId);
+        sessionClaims.put(CLAIM_TOKEN_TYPE, tokenType);
+        return Jwts.builder()
+                .setClaims(sessionClaims)
+                .setSubject(userId)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(expiresAt))
+                .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
+                .compact();
+    }
+
+    /**
+     * 获取访问 Token 有效期（毫秒）。
+     *
+     * @return 有效期
+     */
+    public static long getAccessExpirationMs() {
+        return ACCESS_EXPIRATION_MS;
+    }
+
+    /**
+     * 获取刷新 Token 有效期（毫秒）。
+     *
+     * @return 有效期
+     */
+    public static long getRefreshExpirationMs() {
+        return REFRESH_EXPIRATION_MS;
+    }
+
     /**
      * 生成无额外声明的 JWT Token。
      *
@@ -66,6 +162,40 @@ public class JwtUtils {
         return generateToken(userId, new HashMap<>());
     }
 
+    /**
+     * 校验并解析 Token，一次解析得到类型化的声明。
+     * <p>
+     * 失败时返回带失败原因的结果对象，不包装、不重新抛出异常，适合认证过滤器等热路径。
+     * </p>
+     *
+     * @param token JWT 字符串
+     * @return 校验结果
+     */
+    public static JwtVerifyResult verify(String token) {
+        // 1. 结构预检：不是 header.payload.signature 形式的字符串无需进入解析器
+        if (token == null || token.isEmpty()) {
+            return JwtVerifyResult.failure(JwtVerifyResult.Status.MALFORMED, "Token 为空");
+        }
+        int firstDot = token.indexOf('.');
+        if (firstDot <= 0 || token.indexOf('.', firstDot + 1) < 0) {
+            return JwtVerifyResult.failure(JwtVerifyResult.Status.MALFORMED, "Token 格式不正确");
+        }
+
+        // 2. 验证签名和有效期
+        try {
+            Claims claims = PARSER.parseSignedClaims(token).getPayload();
+            return JwtVerifyResult.success(toJwtClaims(claims));
+        } catch (ExpiredJwtException e) {
+            return JwtVerifyResult.failure(JwtVerifyResult.Status.EXPIRED, "Token 已过期");
+        } catch (SecurityException e) {
+            return JwtVerifyResult.failure(JwtVerifyResult.Status.INVALID_SIGNATURE, "Token 签名无效");
+        } catch (MalformedJwtException | UnsupportedJwtException | IllegalArgumentException e) {
+            return JwtVerifyResult.failure(JwtVerifyResult.Status.MALFORMED, "Token 格式不正确");
+        } catch (JwtException e) {
+            return JwtVerifyResult.failure(JwtVerifyResult.Status.INVALID, "Token 无效");
+        }
+    }
+
     /**
      * 从当前 HTTP 请求的 Authorization 头中解析并获取当前用户 ID。
      *
@@ -73,32 +203,14 @@ public class JwtUtils {
      * @throws RuntimeException 当请求缺少有效 Token 或 Token 解析失败时抛出
      */
     public static Long getCurrentUserId() {
-        // 1. 获取当前请求的 ServletRequestAttributes
-        ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
-        HttpServletRequest request = attributes.getRequest();
-
-        // 2. 从请求头获取 Authorization 字段
-        String token = request.getHeader("Authorization");
-
-        // 3. 验证 Token 格式是否正确
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-            try {
-                // 4. 解析 Token，验证签名和有效期
-                String subject = Jwts.parser()
-                        .verifyWith(SECRET_KEY)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody()
-                        .getSubject();
-
-                // 5. 返回解析得到的用户ID（转换为 Long）
-                return Long.parseLong(subject);
-            } catch (Exception e) {
-                throw new RuntimeException("Token 解析失败或无效: " + e.getMessage(), e);
-            }
+        // 1. 过滤器已解析过 Token 时直接读取
+        JwtPrincipal principal = getCurrentPrincipal();
+        if (principal != null) {
+            return principal.getUserId();
         }
-        throw new RuntimeException("请求头中缺少 Authorization Token 或格式不正确。");
+
+        // 2. 否则解析请求头中的 Token
+        return getCurrentRequestClaims().getUserId();
     }
 
     /**
@@ -108,31 +220,14 @@ public class JwtUtils {
      * @throws RuntimeException 当请求缺少有效 Token 或 Token 解析失败时抛出
      */
     public static String getCurrentUsername() {
-        // 1. 获取当前请求的 ServletRequestAttributes
-        ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
-        HttpServletRequest request = attributes.getRequest();
-
-        // 2. 从请求头获取 Authorization 字段
-        String token = request.getHeader("Authorization");
-
-        // 3. 验证 Token 格式是否正确
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-            try {
-                // 4. 解析 Token，验证签名和有效期
-                Claims claims = Jwts.parser()
-                        .verifyWith(SECRET_KEY)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
-
-                // 5. 返回解析得到的用户名
-                return claims.get("username").toString();
-            } catch (Exception e) {
-                throw new RuntimeException("Token 解析失败或无效: " + e.getMessage(), e);
-            }
+        // 1. 过滤器已解析过 Token 时直接读取
+        JwtPrincipal principal = getCurrentPrincipal();
+        if (principal != null) {
+            return principal.getUsername();
         }
-        throw new RuntimeException("请求头中缺少 Authorization Token 或格式不正确。");
+
+        // 2. 否则解析请求头中的 Token
+        return getCurrentRequestClaims().getUsername();
     }
 
     /**
@@ -142,31 +237,27 @@ public class JwtUtils {
      * @throws RuntimeException 当请求缺少有效 Token 或 Token 解析失败时抛出
      */
     public static List<String> getCurrentUserRoles() {
-        // 1. 获取当前请求的 ServletRequestAttributes
-        ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
-        HttpServletRequest request = attributes.getRequest();
+        // 1. 过滤器已解析过 Token 时直接读取
+        JwtPrincipal principal = getCurrentPrincipal();
+        if (principal != null) {
+            return principal.getRoles();
+        }
 
-        // 2. 从请求头获取 Authorization 字段
-        String token = request.getHeader("Authorization");
+        // 2. 否则解析请求头中的 Token
+        return getCurrentRequestClaims().getRoles();
+    }
 
-        // 3. 验证 Token 格式是否正确
-        if (token != null && token.startsWith("Bearer ")) {
-            token = token.substring(7);
-            try {
-                // 4. 解析 Token，验证签名和有效期
-                Claims claims = Jwts.parser()
-                        .verifyWith(SECRET_KEY)
-                        .build()
-                        .parseClaimsJws(token)
-                        .getBody();
-
-                // 5. 返回解析得到的用户角色
-                return getRolesFromClaims(claims);
-            } catch (Exception e) {
-                throw new RuntimeException("Token 解析失败或无效: " + e.getMessage(), e);
-            }
+    /**
+     * 获取当前请求上由认证过滤器写入的认证主体。
+     *
+     * @return 认证主体；非 Web 请求线程或请求未经 Token 认证时返回 null
+     */
+    public static JwtPrincipal getCurrentPrincipal() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes == null) {
+            return null;
         }
-        throw new RuntimeException("请求头中缺少 Authorization Token 或格式不正确。");
+        return (JwtPrincipal) attributes.getAttribute(PRINCIPAL_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
     }
 
     /**
@@ -177,23 +268,14 @@ public class JwtUtils {
      * @throws RuntimeException Token 解析失败时抛出
      */
     public static String getUserIdFromToken(String token) {
-        try {
-            return Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody()
-                    .getSubject();
-        } catch (Exception e) {
-            throw new RuntimeException("Token 解析失败或无效: " + e.getMessage(), e);
-        }
+        return getClaimsFromToken(token).getSubject();
     }
 
     /**
-     * 从 Token 的 Claims 中提取名。
+     * 从 Token 的 Claims 中提取用户名。
      *
      * @param token JWT 字符串
-     * @return 角色字符串列表（确保带 "ROLE_" 前缀）
+     * @return 用户名
      */
     public static String getUsernameFromToken(String token) {
         Claims claims = getClaimsFromToken(token);
@@ -219,17 +301,51 @@ public class JwtUtils {
      * @return true 表示有效，false 表示无效或过期
      */
     public static boolean validateToken(String token) {
+        return verify(token).isValid();
+    }
+
+    /**
+     * 计算 Token 指纹：SHA-256 摘要的前 16 字节，Base64URL 编码（22 个字符）。
+     * 用作缓存键或存储比对值，避免在内存和 Redis 中保存完整 JWT。
+     *
+     * @param token JWT 字符串
+     * @return Token 指纹
+     */
+    public static String fingerprint(String token) {
         try {
-            Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token);
-            return true;
-        } catch (Exception e) {
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256")
+                    .digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(Arrays.copyOf(digest, 16));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
         }
     }
 
+    /**
+     * 解析当前请求 Authorization 头中的 Token。
+     *
+     * @return 类型化声明
+     * @throws RuntimeException 当请求缺少有效 Token 或 Token 解析失败时抛出
+     */
+    private static JwtClaims getCurrentRequestClaims() {
+        // 1. 获取当前请求的 ServletRequestAttributes
+        ServletRequestAttributes attributes = (ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes());
+        HttpServletRequest request = attributes.getRequest();
+
+        // 2. 从请求头获取 Authorization 字段并验证格式
+        String token = request.getHeader("Authorization");
+        if (token == null || !token.startsWith("Bearer ")) {
+            throw new RuntimeException("请求头中缺少 Authorization Token 或格式不正确。");
+        }
+
+        // 3. 解析 Token，验证签名和有效期
+        JwtVerifyResult result = verify(token.substring(7));
+        if (!result.isValid()) {
+            throw new RuntimeException("Token 解析失败或无效: " + result.getMessage());
+        }
+        return result.getClaims();
+    }
+
     /**
      * 从 Token 中获取所有 Claims。
      *
@@ -239,30 +355,73 @@ public class JwtUtils {
      */
     private static Claims getClaimsFromToken(String token) {
         try {
-            return Jwts.parser()
-                    .verifyWith(SECRET_KEY)
-                    .build()
-                    .parseClaimsJws(token)
-                    .getBody();
+            return PARSER.parseSignedClaims(token).getPayload();
         } catch (Exception e) {
             throw new RuntimeException("无法从 Token 获取 Claims: " + e.getMessage(), e);
         }
     }
 
     /**
-     * 从 Claims 中获取用户角色列表。
+     * 将 jjwt 的 Claims 转换为类型化声明。
+     *
+     * @param claims JWT Claims
+     * @return 类型化声明
+     */
+    private static JwtClaims toJwtClaims(Claims claims) {
+        Date issuedAt = claims.getIssuedAt();
+        Date expiration = claims.getExpiration();
+        return new JwtClaims(
+                Long.parseLong(claims.getSubject()),
+                claims.getId(),
+                claims.get("username", String.class),
+                getRolesFromClaims(claims),
+                claims.get(CLAIM_TOKEN_TYPE, String.class),
+                getLongClaim(claims, CLAIM_TOKEN_VERSION),
+                getLongClaim(claims, CLAIM_GLOBAL_VERSION),
+                issuedAt == null ? 0L : issuedAt.getTime(),
+                expiration == null ? Long.MAX_VALUE : expiration.getTime()
+        );
+    }
+
+    /**
+     * 读取数值型声明，缺失时返回 0。
+     *
+     * @param claims JWT Claims
+     * @param name   声明名
+     * @return 声明值
+     */
+    private static long getLongClaim(Claims claims, String name) {
+        Object value = claims.get(name);
+        return value instanceof Number number ? number.longValue() : 0L;
+    }
+
+    /**
+     * 从 Claims 中获取用户角色列表（命中缓存时直接返回共享的不可变列表）。
      *
      * @param claims JWT Claims
      * @return List<String> 用户角色列表
      */
     private static List<String> getRolesFromClaims(Claims claims) {
-        String rolesString = claims.get("roles").toString();
-        if (rolesString != null && !rolesString.isEmpty()) {
-            return Arrays.stream(rolesString.split(","))
-                    .map(String::trim)
-                    .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
-                    .collect(Collectors.toList());
+        Object roles = claims.get("roles");
+        if (roles == null) {
+            return Collections.emptyList();
+        }
+        return ROLES_CACHE.get(roles.toString(), JwtUtils::parseRoles);
+    }
+
+    /**
+     * 解析逗号分隔的角色字符串，确保每个角色带 "ROLE_" 前缀。
+     *
+     * @param rolesString 角色字符串
+     * @return 不可变角色列表
+     */
+    private static List<String> parseRoles(String rolesString) {
+        if (rolesString.isEmpty()) {
+            return Collections.emptyList();
         }
-        return Collections.emptyList();
+        return Arrays.stream(rolesString.split(","))
+                .map(String::trim)
+                .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
+                .toList();
     }
 }
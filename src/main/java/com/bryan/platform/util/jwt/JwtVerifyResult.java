@@ -0,0 +1,50 @@
+package com.bryan.platform.util.jwt;
+
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Token 校验结果。
+ * <p>
+ * 校验失败不再以异常形式向上抛出，调用方根据 {@link #getStatus()} 判断原因，
+ * 避免在认证热路径上创建和填充异常栈。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+@Getter
+@AllArgsConstructor(access = AccessLevel.PRIVATE)
+public class JwtVerifyResult {
+
+    /**
+     * 校验状态
+     */
+    public enum Status {
+        VALID,
+        EXPIRED,
+        INVALID_SIGNATURE,
+        MALFORMED,
+        INVALID
+    }
+
+    private final Status status;
+
+    /** 校验通过时的声明，失败时为 null */
+    private final JwtClaims claims;
+
+    /** 失败原因描述，校验通过时为 null */
+    private final String message;
+
+    public static JwtVerifyResult success(JwtClaims claims) {
+        return new JwtVerifyResult(Status.VALID, claims, null);
+    }
+
+    public static JwtVerifyResult failure(Status status, String message) {
+        return new JwtVerifyResult(status, null, message);
+    }
+
+    public boolean isValid() {
+        return status == Status.VALID;
+    }
+}
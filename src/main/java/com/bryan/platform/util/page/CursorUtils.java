@@ -0,0 +1,205 @@
+package com.bryan.platform.util.page;
+
+import com.bryan.platform.domain.response.CursorPageResult;
+import com.bryan.platform.exception.BusinessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Base64;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 游标分页工具类。
+ * <p>
+ * 游标由排序键（创建时间 + 文档 ID）编码而成，对客户端不透明：Base64URL("毫秒时间戳:ID")。
+ * 下一页查询条件为 (createdAt, id) 严格小于游标（倒序），配合复合索引无需 skip，翻页代价与页码无关。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public class CursorUtils {
+
+    /** 排序键中的时间属性名（各实体的 Java 属性名，查询时映射为存储字段名） */
+    private static final String CREATED_AT = "createdAt";
+
+    /** 单页条数上限 */
+    public static final int MAX_PAGE_SIZE = 100;
+
+    /**
+     * 游标解码结果
+     *
+     * @param createdAt  上一页最后一条记录的创建时间
+     * @param id         上一页最后一条记录的 ID
+     * @param epochMilli 游标中编码的毫秒时间戳（未经本地时间换算，按时间戳排序的场景直接使用）
+     */
+    public record Cursor(LocalDateTime createdAt, String id, long epochMilli) {
+    }
+
+    /**
+     * 创建时间换算为毫秒时间戳（系统默认时区），游标编码与按时间戳排序的存储（如 Redis ZSet 得分）统一使用该换算。
+     *
+     * @param createdAt 创建时间
+     * @return 毫秒时间戳
+     */
+    public static long toEpochMilli(LocalDateTime createdAt) {
+        return createdAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    /**
+     * 编码游标。
+     *
+     * @param createdAt 最后一条记录的创建时间
+     * @param id        最后一条记录的 ID
+     * @return 游标字符串
+     */
+    public static String encode(LocalDateTime createdAt, String id) {
+        return encode(toEpochMilli(createdAt), id);
+    }
+
+    /**
+     * 以毫秒时间戳编码游标，排序键本身即为时间戳时使用，避免经本地时间往返换算。
+     *
+     * @param epochMilli 最后一条记录的毫秒时间戳
+     * @param id         最后一条记录的 ID
+     * @return 游标字符串
+     */
+    public static String encode(long epochMilli, String id) {
+        String raw = epochMilli + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码游标。
+     *
+     * @param cursor 游标字符串，为空表示第一页
+     * @return 解码结果，第一页返回 null
+     * @throws BusinessException 游标格式不正确
+     */
+    public static Cursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            long millis = Long.parseLong(raw.substring(0, separator));
+            LocalDateTime createdAt = LocalDateTime.ofInstant(Instant.ofEpochMilli(millis), ZoneId.systemDefault());
+            return new Cursor(createdAt, raw.substring(separator + 1), millis);
+        } catch (RuntimeException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 编码偏移量游标，用于无法按排序键定位的场景（如按相关度排序的搜索结果）。
+     *
+     * @param offset 下一页起始偏移量
+     * @return 游标字符串
+     */
+    public static String encodeOffset(int offset) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(("o:" + offset).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * 解码偏移量游标。
+     *
+     * @param cursor 游标字符串，为空表示第一页
+     * @return 偏移量，第一页返回 0
+     * @throws BusinessException 游标格式不正确
+     */
+    public static int decodeOffset(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return 0;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("o:")) {
+                throw new IllegalArgumentException(raw);
+            }
+            int offset = Integer.parseInt(raw.substring(2));
+            if (offset < 0) {
+                throw new IllegalArgumentException(raw);
+            }
+            return offset;
+        } catch (RuntimeException e) {
+            throw new BusinessException("无效的分页游标");
+        }
+    }
+
+    /**
+     * 将多取一条的偏移量分页结果截断为一页，并生成下一页偏移量游标。
+     *
+     * @param rows      查询结果（limit 为 size + 1）
+     * @param offset    本页起始偏移量
+     * @param size      每页条数
+     * @param maxOffset 允许的最大偏移量，超出后不再返回下一页
+     * @return 游标分页结果
+     */
+    public static <T> CursorPageResult<T> offsetPage(List<T> rows, int offset, int size, int maxOffset) {
+        int limit = limitOf(size);
+        if (rows.size() <= limit || offset + limit > maxOffset) {
+            return CursorPageResult.of(rows.size() > limit ? rows.subList(0, limit) : rows, null);
+        }
+        return CursorPageResult.of(rows.subList(0, limit), encodeOffset(offset + limit));
+    }
+
+    /**
+     * 构造游标分页查询：在基础条件上追加 (createdAt, _id) 严格小于游标的条件，
+     * 按 (createdAt, _id) 倒序排列，并多取一条用于判断是否还有下一页。
+     *
+     * @param criteria 基础查询条件（不能包含 $or）
+     * @param cursor   上一页返回的游标，第一页传 null
+     * @param size     每页条数
+     * @return 查询对象
+     * @throws BusinessException 游标格式不正确
+     */
+    public static Query seek(Criteria criteria, String cursor, int size) {
+        Cursor decoded = decode(cursor);
+        if (decoded != null) {
+            criteria = criteria.orOperator(
+                    Criteria.where(CREATED_AT).lt(decoded.createdAt()),
+                    Criteria.where(CREATED_AT).is(decoded.createdAt()).and("_id").lt(decoded.id())
+            );
+        }
+        return Query.query(criteria)
+                .with(Sort.by(Sort.Direction.DESC, CREATED_AT, "_id"))
+                .limit(limitOf(size) + 1);
+    }
+
+    /**
+     * 将多取一条的查询结果截断为一页，并以最后一条记录生成下一页游标。
+     *
+     * @param rows      {@link #seek} 查询结果
+     * @param size      每页条数
+     * @param createdAt 创建时间取值函数
+     * @param id        ID 取值函数
+     * @return 游标分页结果
+     */
+    public static <T> CursorPageResult<T> page(List<T> rows, int size,
+                                               Function<T, LocalDateTime> createdAt, Function<T, String> id) {
+        int limit = limitOf(size);
+        if (rows.size() <= limit) {
+            return CursorPageResult.of(rows, null);
+        }
+        List<T> page = rows.subList(0, limit);
+        T last = page.get(limit - 1);
+        return CursorPageResult.of(page, encode(createdAt.apply(last), id.apply(last)));
+    }
+
+    /**
+     * 将每页条数限制在 [1, MAX_PAGE_SIZE] 内。
+     *
+     * @param size 请求的每页条数
+     * @return 实际每页条数
+     */
+    public static int limitOf(int size) {
+        return Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+    }
+}
@@ -0,0 +1,117 @@
+package com.bryan.platform.util.text;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 面向中英文混排文本的分词器。
+ * <p>
+ * 连续的中日韩字符按二元组（bigram）切分，单独出现的一个汉字保留为一元词；
+ * 连续的字母数字作为一个词（统一小写）；其余字符视为分隔符。二元组之间的重叠使中文查询无需词典也能精确命中。
+ * </p>
+ * <p>
+ * 检索场景下索引与查询使用配套的两套规则：{@link #tokenizeForIndex} 为每个中日韩字符额外产出一元词，
+ * 并保留单字母词，使单字查询（如“猫”“c”）也能命中；{@link #tokenizeForQuery} 只在单字片段上产出一元词，
+ * 多字查询仍按二元组匹配，不会被一元词稀释相关度。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public class CjkTokenizer {
+
+    /** 单个字母数字词的最大长度，超长部分截断 */
+    private static final int MAX_WORD_LENGTH = 32;
+
+    /**
+     * 分词（字母数字词长度不少于 2，用于相似度计算等无需单字命中的场景）。
+     *
+     * @param text 文本
+     * @return 词项列表（保留重复，用于统计词频）
+     */
+    public static List<String> tokenize(String text) {
+        return tokenize(text, false, 2);
+    }
+
+    /**
+     * 索引分词：二元组之外为每个中日韩字符产出一元词，字母数字词不限最短长度。
+     *
+     * @param text 文本
+     * @return 词项列表（保留重复，用于统计词频）
+     */
+    public static List<String> tokenizeForIndex(String text) {
+        return tokenize(text, true, 1);
+    }
+
+    /**
+     * 查询分词：与 {@link #tokenizeForIndex} 建立的索引配套，字母数字词不限最短长度。
+     *
+     * @param text 查询文本
+     * @return 词项列表，文本不含任何可检索字词时为空
+     */
+    public static List<String> tokenizeForQuery(String text) {
+        return tokenize(text, false, 1);
+    }
+
+    private static List<String> tokenize(String text, boolean unigrams, int minWordLength) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null || text.isEmpty()) {
+            return tokens;
+        }
+
+        StringBuilder word = new StringBuilder();
+        int prevCjk = -1;
+        int cjkRun = 0;
+        for (int i = 0; i < text.length(); ) {
+            int cp = Character.toLowerCase(text.codePointAt(i));
+            i += Character.charCount(cp);
+
+            if (isCjk(cp)) {
+                flushWord(word, minWordLength, tokens);
+                if (unigrams) {
+                    tokens.add(new String(Character.toChars(cp)));
+                }
+                if (prevCjk != -1) {
+                    tokens.add(new StringBuilder(4).appendCodePoint(prevCjk).appendCodePoint(cp).toString());
+                }
+                prevCjk = cp;
+                cjkRun++;
+            } else {
+                flushCjk(prevCjk, cjkRun, unigrams, tokens);
+                prevCjk = -1;
+                cjkRun = 0;
+                if (Character.isLetterOrDigit(cp)) {
+                    if (word.length() < MAX_WORD_LENGTH) {
+                        word.appendCodePoint(cp);
+                    }
+                } else {
+                    flushWord(word, minWordLength, tokens);
+                }
+            }
+        }
+        flushCjk(prevCjk, cjkRun, unigrams, tokens);
+        flushWord(word, minWordLength, tokens);
+        return tokens;
+    }
+
+    private static boolean isCjk(int cp) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(cp);
+        return script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL;
+    }
+
+    private static void flushCjk(int prevCjk, int cjkRun, boolean unigrams, List<String> tokens) {
+        // 只有一个字的片段没有二元组，保留为一元词（已逐字产出一元词时无需重复）
+        if (cjkRun == 1 && !unigrams) {
+            tokens.add(new String(Character.toChars(prevCjk)));
+        }
+    }
+
+    private static void flushWord(StringBuilder word, int minWordLength, List<String> tokens) {
+        if (word.length() >= minWordLength) {
+            tokens.add(word.toString());
+        }
+        word.setLength(0);
+    }
+}
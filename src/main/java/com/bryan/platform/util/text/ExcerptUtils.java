@@ -0,0 +1,59 @@
+package com.bryan.platform.util.text;
+
+import java.util.regex.Pattern;
+
+/**
+ * 摘要生成工具类。
+ * <p>
+ * 将 Markdown/HTML 正文去除标记后截取前若干字符作为列表页摘要，在写入博文时预先计算并存储，
+ * 列表查询只需投影摘要字段，不再传输整篇正文。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public class ExcerptUtils {
+
+    /** 默认摘要长度（按 Unicode 码点计） */
+    public static final int DEFAULT_LENGTH = 200;
+
+    private static final Pattern CODE_BLOCK = Pattern.compile("```[\\s\\S]*?```");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern IMAGE = Pattern.compile("!\\[[^]]*]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^]]*)]\\([^)]*\\)");
+    private static final Pattern MARKUP = Pattern.compile("(?m)^\\s{0,3}(#{1,6}|>+|[-*+]|\\d+\\.)\\s+|[*_`~]+");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    /**
+     * 按默认长度生成摘要。
+     *
+     * @param content 博文正文
+     * @return 纯文本摘要，正文为空时返回空字符串
+     */
+    public static String of(String content) {
+        return of(content, DEFAULT_LENGTH);
+    }
+
+    /**
+     * 生成指定长度的摘要，超出部分以省略号结尾。
+     *
+     * @param content   博文正文
+     * @param maxLength 最大长度（码点数）
+     * @return 纯文本摘要，正文为空时返回空字符串
+     */
+    public static String of(String content, int maxLength) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String text = CODE_BLOCK.matcher(content).replaceAll(" ");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = IMAGE.matcher(text).replaceAll(" ");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = MARKUP.matcher(text).replaceAll("");
+        text = WHITESPACE.matcher(text).replaceAll(" ").trim();
+
+        if (text.codePointCount(0, text.length()) <= maxLength) {
+            return text;
+        }
+        return text.substring(0, text.offsetByCodePoints(0, maxLength)) + "…";
+    }
+}
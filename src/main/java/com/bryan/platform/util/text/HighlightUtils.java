@@ -0,0 +1,78 @@
+package com.bryan.platform.util.text;
+
+import org.springframework.web.util.HtmlUtils;
+
+import java.util.Arrays;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * 搜索结果高亮工具类。
+ * <p>
+ * 在文本中截取首个命中词附近的片段，HTML 转义后以 &lt;em&gt; 包裹命中词，前端可直接按 HTML 渲染。
+ * </p>
+ *
+ * @author Bryan Long
+ */
+public class HighlightUtils {
+
+    private static final Pattern TERM_SEPARATOR = Pattern.compile("[\\s\"]+");
+
+    /**
+     * 由搜索关键词构造匹配模式：按空白切分，忽略排除词（以 - 开头）。
+     *
+     * @param keyword 搜索关键词
+     * @return 不区分大小写的匹配模式，没有有效词时返回 null
+     */
+    public static Pattern compile(String keyword) {
+        String alternation = Arrays.stream(TERM_SEPARATOR.split(keyword == null ? "" : keyword))
+                .filter(term -> !term.isEmpty() && !term.startsWith("-"))
+                .map(Pattern::quote)
+                .collect(Collectors.joining("|"));
+        return alternation.isEmpty() ? null : Pattern.compile(alternation, Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+    }
+
+    /**
+     * 生成高亮片段。
+     *
+     * @param text      原文
+     * @param terms     {@link #compile(String)} 返回的匹配模式
+     * @param maxLength 片段最大长度（字符数）
+     * @return 高亮片段；原文为空时返回空字符串
+     */
+    public static String highlight(String text, Pattern terms, int maxLength) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+
+        // 1. 以首个命中词为锚点截取片段，命中词前保留约四分之一长度的上下文
+        Matcher matcher = terms == null ? null : terms.matcher(text);
+        int anchor = matcher != null && matcher.find() ? matcher.start() : 0;
+        int start = Math.max(0, Math.min(anchor - maxLength / 4, text.length() - maxLength));
+        int end = Math.min(text.length(), start + maxLength);
+        String snippet = text.substring(start, end);
+
+        // 2. 转义并包裹命中词
+        StringBuilder sb = new StringBuilder(snippet.length() + 32);
+        if (start > 0) {
+            sb.append('…');
+        }
+        int last = 0;
+        if (terms != null) {
+            Matcher m = terms.matcher(snippet);
+            while (m.find()) {
+                sb.append(HtmlUtils.htmlEscape(snippet.substring(last, m.start())))
+                        .append("<em>")
+                        .append(HtmlUtils.htmlEscape(m.group()))
+                        .append("</em>");
+                last = m.end();
+            }
+        }
+        sb.append(HtmlUtils.htmlEscape(snippet.substring(last)));
+        if (end < text.length()) {
+            sb.append('…');
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,12 @@
+-- 登录前检查是否允许尝试
+-- KEYS[1] 用户名锁定标记，KEYS[2] IP 失败窗口 ZSET
+-- ARGV[1] 当前时间（毫秒），ARGV[2] 窗口长度（毫秒），ARGV[3] IP 失败上限
+-- 返回 0 允许，1 用户名已锁定，2 IP 失败次数过多
+if redis.call('EXISTS', KEYS[1]) == 1 then
+    return 1
+end
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', tonumber(ARGV[1]) - tonumber(ARGV[2]))
+if redis.call('ZCARD', KEYS[2]) >= tonumber(ARGV[3]) then
+    return 2
+end
+return 0
@@ -0,0 +1,27 @@
+-- 记录一次登录失败（滑动窗口），并在用户名失败次数达到上限时加锁
+-- KEYS[1] 用户名失败窗口 ZSET，KEYS[2] IP 失败窗口 ZSET，KEYS[3] 用户名锁定标记
+-- ARGV[1] 当前时间（毫秒），ARGV[2] 窗口长度（毫秒），ARGV[3] 本次失败的唯一成员
+-- ARGV[4] 用户名失败上限，ARGV[5] 锁定时长（秒）
+-- 返回 {窗口内用户名失败次数, 窗口内 IP 失败次数, 本次是否触发锁定(1/0)}
+local now = tonumber(ARGV[1])
+local window = tonumber(ARGV[2])
+local floor = now - window
+
+redis.call('ZREMRANGEBYSCORE', KEYS[1], '-inf', floor)
+redis.call('ZADD', KEYS[1], now, ARGV[3])
+redis.call('PEXPIRE', KEYS[1], window)
+local userCount = redis.call('ZCARD', KEYS[1])
+
+redis.call('ZREMRANGEBYSCORE', KEYS[2], '-inf', floor)
+redis.call('ZADD', KEYS[2], now, ARGV[3])
+redis.call('PEXPIRE', KEYS[2], window)
+local ipCount = redis.call('ZCARD', KEYS[2])
+
+local locked = 0
+if userCount >= tonumber(ARGV[4]) then
+    if redis.call('SET', KEYS[3], '1', 'NX', 'EX', ARGV[5]) then
+        locked = 1
+    end
+    redis.call('DEL', KEYS[1])
+end
+return {userCount, ipCount, locked}
@@ -165,4 +165,28 @@ ALTER TABLE user_follow ADD CONSTRAINT fk_user_follows_following
 -- 创建索引
 CREATE INDEX idx_follower_id ON user_follow (follower_id);
 CREATE INDEX idx_following_id ON user_follow (following_id);
+-- 按被关注者分批读取粉丝 ID（时间线推送）
+CREATE INDEX idx_following_follower ON user_follow (following_id, follower_id);
+
+
+-- login_history
+CREATE TABLE login_history (
+                               id BIGSERIAL PRIMARY KEY,
+                               user_id BIGINT NOT NULL,
+                               username VARCHAR(255) NOT NULL,
+                               ip VARCHAR(255),
+                               os VARCHAR(32),
+                               browser VARCHAR(32),
+                               login_at TIMESTAMP NOT NULL
+);
+
+COMMENT ON TABLE login_history IS '用户登录历史表（异步批量写入）';
+COMMENT ON COLUMN login_history.id IS '主键ID';
+COMMENT ON COLUMN login_history.user_id IS '用户ID';
+COMMENT ON COLUMN login_history.username IS '用户名';
+COMMENT ON COLUMN login_history.ip IS '登录IP';
+COMMENT ON COLUMN login_history.os IS '操作系统';
+COMMENT ON COLUMN login_history.browser IS '浏览器';
+COMMENT ON COLUMN login_history.login_at IS '登录时间';
 
+CREATE INDEX idx_login_history_user_login_at ON login_history (user_id, login_at DESC);
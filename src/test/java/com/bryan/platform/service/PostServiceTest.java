@@ -2,13 +2,16 @@ package com.bryan.platform.service;
 
 import com.bryan.platform.repository.PostRepository;
 import com.bryan.platform.domain.entity.post.Post;
+import com.bryan.platform.domain.entity.post.PostSummary;
+import com.bryan.platform.domain.enums.PostStatusEnum;
+import com.bryan.platform.domain.response.CursorPageResult;
+import com.bryan.platform.domain.vo.SearchHitVO;
+import com.bryan.platform.service.post.PostSearchService;
 import com.bryan.platform.service.post.PostService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 
-import java.util.List;
-
 import static com.mongodb.assertions.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 
@@ -26,6 +29,9 @@ public class PostServiceTest {
     @Autowired
     private PostService postService;
 
+    @Autowired
+    private PostSearchService postSearchService;
+
     @Autowired
     private PostRepository postRepository;
 
@@ -38,7 +44,7 @@ public class PostServiceTest {
         Post savedPost = postService.createPost(post, 1L, "admin");
 
         assertNotNull(savedPost.getId());
-        assertEquals(Post.PostStatus.DRAFT, savedPost.getStatus());
+        assertEquals(PostStatusEnum.DRAFT, savedPost.getStatus());
     }
 
     @Test
@@ -47,16 +53,17 @@ public class PostServiceTest {
         Post post1 = new Post();
         post1.setTitle("Spring Boot Tutorial");
         post1.setContent("Learn how to use Spring Boot with MongoDB");
-        post1.setStatus(Post.PostStatus.PUBLISHED);
+        post1.setStatus(PostStatusEnum.PUBLISHED);
         postRepository.save(post1);
 
         Post post2 = new Post();
         post2.setTitle("MongoDB Basics");
         post2.setContent("Introduction to MongoDB for beginners");
-        post2.setStatus(Post.PostStatus.PUBLISHED);
+        post2.setStatus(PostStatusEnum.PUBLISHED);
         postRepository.save(post2);
 
         // 测试搜索
-        List<Post> results = postService.fullTextSearch("Spring MongoDB");
+        CursorPageResult<SearchHitVO<PostSummary>> results = postSearchService.search("Spring MongoDB", null, 10);
+        assertNotNull(results.getRows());
     }
 }
\ No newline at end of file
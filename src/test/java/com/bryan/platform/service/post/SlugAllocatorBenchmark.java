@@ -0,0 +1,122 @@
+package com.bryan.platform.service.post;
+
+import com.mongodb.client.MongoClient;
+import com.mongodb.client.MongoClients;
+import org.bson.Document;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * SlugAllocatorBenchmark
+ * Description: 对比旧的逐个后缀查询（N 次往返）与 {@link SlugAllocator#allocate(String, String)}
+ * （一次 findAndModify）在同一标题已有 collisions 篇博文时的单次分配耗时，以及标题规整化的开销。
+ * 运行方式：启动本地 MongoDB（或通过 -Dbench.mongo.uri 指定），mvn test-compile 后执行本类 main 方法。
+ * 基准数据写入独立的 slug_bench 库，结束后删除。
+ *
+ * @author Bryan Long
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SlugAllocatorBenchmark {
+
+    private static final String TITLE = "Hello World 你好世界";
+
+    @Param({"1", "10", "100"})
+    private int collisions;
+
+    private MongoClient client;
+
+    private MongoTemplate mongoTemplate;
+
+    private SlugAllocator allocator;
+
+    private String baseSlug;
+
+    @Setup
+    public void setup() {
+        client = MongoClients.create(System.getProperty("bench.mongo.uri", "mongodb://localhost:27017"));
+        mongoTemplate = new MongoTemplate(client, "slug_bench");
+        mongoTemplate.getDb().drop();
+        mongoTemplate.indexOps("posts").createIndex(new Index().on("slug", Sort.Direction.ASC).unique());
+        allocator = new SlugAllocator(mongoTemplate);
+
+        // 预置 base、base-1 … base-(collisions-1)，模拟热门标题
+        baseSlug = SlugAllocator.toBaseSlug(TITLE);
+        List<Document> posts = new ArrayList<>(collisions);
+        for (int i = 0; i < collisions; i++) {
+            posts.add(new Document("slug", i == 0 ? baseSlug : baseSlug + "-" + i));
+        }
+        mongoTemplate.insert(posts, "posts");
+        allocator.reseed(baseSlug);
+    }
+
+    @TearDown
+    public void tearDown() {
+        mongoTemplate.getDb().drop();
+        client.close();
+    }
+
+    /**
+     * 旧路径：从基础 slug 开始逐个后缀查询，直到找到未占用的 slug
+     */
+    @Benchmark
+    public String legacyLoop() {
+        String candidate = legacyBaseSlug(TITLE);
+        String base = candidate;
+        int counter = 0;
+        while (mongoTemplate.exists(Query.query(Criteria.where("slug").is(candidate)), "posts")) {
+            counter++;
+            candidate = base + "-" + counter;
+        }
+        return candidate;
+    }
+
+    @Benchmark
+    public String allocate() {
+        return allocator.allocate(SlugAllocator.toBaseSlug(TITLE), null);
+    }
+
+    @Benchmark
+    public String legacyNormalize() {
+        return legacyBaseSlug(TITLE);
+    }
+
+    @Benchmark
+    public String precompiledNormalize() {
+        return SlugAllocator.toBaseSlug(TITLE);
+    }
+
+    private static String legacyBaseSlug(String title) {
+        String baseSlug = title.toLowerCase()
+                .replaceAll("[^a-zA-Z0-9\\u4e00-\\u9fa5\\s-]", "")
+                .replaceAll("\\s+", "-")
+                .replaceAll("-+", "-")
+                .trim();
+        if (baseSlug.startsWith("-")) baseSlug = baseSlug.substring(1);
+        if (baseSlug.endsWith("-")) baseSlug = baseSlug.substring(0, baseSlug.length() - 1);
+        return baseSlug.isEmpty() ? "untitled-post" : baseSlug;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(SlugAllocatorBenchmark.class.getSimpleName())
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,100 @@
+package com.bryan.platform.service.search;
+
+import com.bryan.platform.util.text.CjkTokenizer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * InvertedIndexTest
+ * Description: 进程内倒排索引与中文分词的单元测试（不依赖 Spring 容器与外部存储）
+ *
+ * @author Bryan Long
+ */
+public class InvertedIndexTest {
+
+    @Test
+    public void tokenizeMixedText() {
+        assertEquals(List.of("spring", "boot", "微服", "服务", "架构"),
+                CjkTokenizer.tokenize("Spring Boot 微服务，架构"));
+        assertEquals(List.of("学"), CjkTokenizer.tokenize("学"));
+    }
+
+    @Test
+    public void rankByBm25() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("a", CjkTokenizer.tokenize("微服务架构设计与实践，微服务拆分"));
+        index.put("b", CjkTokenizer.tokenize("单体架构的优缺点"));
+        index.put("c", CjkTokenizer.tokenize("今天天气不错"));
+
+        List<InvertedIndex.Hit> hits = index.search(CjkTokenizer.tokenize("微服务"), 10);
+        assertEquals(1, hits.size());
+        assertEquals("a", hits.get(0).id());
+
+        hits = index.search(CjkTokenizer.tokenize("架构"), 10);
+        assertEquals(2, hits.size());
+        assertTrue(hits.get(0).score() >= hits.get(1).score());
+    }
+
+    @Test
+    public void matchSingleCharacterQuery() {
+        assertEquals(List.of("猫", "咪", "猫咪", "c"), CjkTokenizer.tokenizeForIndex("猫咪 C"));
+        assertEquals(List.of("猫", "c"), CjkTokenizer.tokenizeForQuery("猫，C"));
+        assertTrue(CjkTokenizer.tokenizeForQuery("!!! ...").isEmpty());
+
+        InvertedIndex index = new InvertedIndex();
+        index.put("a", CjkTokenizer.tokenizeForIndex("我家的猫咪很可爱"));
+        index.put("b", CjkTokenizer.tokenizeForIndex("C 语言入门"));
+        index.put("c", CjkTokenizer.tokenizeForIndex("今天天气不错"));
+
+        List<InvertedIndex.Hit> hits = index.search(CjkTokenizer.tokenizeForQuery("猫"), 10);
+        assertEquals(1, hits.size());
+        assertEquals("a", hits.get(0).id());
+
+        hits = index.search(CjkTokenizer.tokenizeForQuery("c"), 10);
+        assertEquals(1, hits.size());
+        assertEquals("b", hits.get(0).id());
+
+        // 多字查询仍按二元组匹配，不因一元词误命中
+        assertTrue(index.search(CjkTokenizer.tokenizeForQuery("天猫"), 10).isEmpty());
+    }
+
+    @Test
+    public void updateAndRemove() {
+        InvertedIndex index = new InvertedIndex();
+        index.put("a", CjkTokenizer.tokenize("旧的标题"));
+        index.put("a", CjkTokenizer.tokenize("新的标题"));
+
+        assertTrue(index.search(CjkTokenizer.tokenize("旧的"), 10).isEmpty());
+        assertEquals(1, index.search(CjkTokenizer.tokenize("新的"), 10).size());
+
+        assertTrue(index.remove("a"));
+        assertFalse(index.contains("a"));
+        assertTrue(index.search(CjkTokenizer.tokenize("标题"), 10).isEmpty());
+    }
+
+    @Test
+    public void snapshotRoundTrip() throws IOException {
+        InvertedIndex index = new InvertedIndex();
+        index.put("a", CjkTokenizer.tokenize("倒排索引快照"));
+        index.put("b", CjkTokenizer.tokenize("索引重建"));
+        index.remove("b");
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        InvertedIndex loaded = new InvertedIndex();
+        loaded.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals(1, loaded.size());
+        assertEquals(index.search(CjkTokenizer.tokenize("索引"), 10), loaded.search(CjkTokenizer.tokenize("索引"), 10));
+    }
+}
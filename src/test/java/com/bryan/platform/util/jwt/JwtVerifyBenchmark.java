@@ -0,0 +1,113 @@
+package com.bryan.platform.util.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * JwtVerifyBenchmark
+ * Description: 对比认证过滤器旧的 Token 解析路径（每次新建解析器、一次请求解析三次、失败包装异常）
+ * 与 {@link JwtUtils#verify(String)}（复用解析器、一次解析、失败返回结果对象）的吞吐量和分配速率。
+ * 运行方式：mvn test-compile 后执行本类 main 方法，GC 分配数据见 gc.alloc.rate.norm 列。
+ *
+ * @author Bryan Long
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerifyBenchmark {
+
+    private String validToken;
+
+    private String tamperedToken;
+
+    @Setup
+    public void setup() {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put("username", "benchmark_user");
+        claims.put("roles", "ROLE_USER,ROLE_ADMIN");
+        validToken = JwtUtils.generateToken("10001", claims);
+
+        // 篡改签名段中间的一个字符，得到签名校验失败的 Token
+        char[] chars = validToken.toCharArray();
+        int index = chars.length - 10;
+        chars[index] = chars[index] == 'A' ? 'B' : 'A';
+        tamperedToken = new String(chars);
+    }
+
+    /**
+     * 旧路径：用户名、角色、用户 ID 各解析一次
+     */
+    @Benchmark
+    public void legacyValid(Blackhole bh) {
+        bh.consume(legacyClaims(validToken).get("username"));
+        bh.consume(legacyRoles(legacyClaims(validToken)));
+        bh.consume(Long.parseLong(legacyClaims(validToken).getSubject()));
+    }
+
+    @Benchmark
+    public void verifyValid(Blackhole bh) {
+        JwtClaims claims = JwtUtils.verify(validToken).getClaims();
+        bh.consume(claims.getUsername());
+        bh.consume(claims.getRoles());
+        bh.consume(claims.getUserId());
+    }
+
+    @Benchmark
+    public Object legacyInvalid() {
+        try {
+            return legacyClaims(tamperedToken);
+        } catch (RuntimeException e) {
+            return e;
+        }
+    }
+
+    @Benchmark
+    public Object verifyInvalid() {
+        return JwtUtils.verify(tamperedToken);
+    }
+
+    private static Claims legacyClaims(String token) {
+        try {
+            return Jwts.parser()
+                    .verifyWith(JwtUtils.SECRET_KEY)
+                    .build()
+                    .parseClaimsJws(token)
+                    .getBody();
+        } catch (Exception e) {
+            throw new RuntimeException("无法从 Token 获取 Claims: " + e.getMessage(), e);
+        }
+    }
+
+    private static List<String> legacyRoles(Claims claims) {
+        String rolesString = claims.get("roles").toString();
+        if (rolesString != null && !rolesString.isEmpty()) {
+            return Arrays.stream(rolesString.split(","))
+                    .map(String::trim)
+                    .map(role -> role.startsWith("ROLE_") ? role : "ROLE_" + role)
+                    .collect(Collectors.toList());
+        }
+        return Collections.emptyList();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(JwtVerifyBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}